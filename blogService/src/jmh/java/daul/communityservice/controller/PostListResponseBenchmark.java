@@ -0,0 +1,101 @@
+package daul.communityservice.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import daul.communityservice.dto.PostResDTO;
+import daul.communityservice.dto.PostSummaryDTO;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 게시글 목록 응답 경로: PostSummaryDTO -> PostResDTO 변환과 Page<PostResDTO> JSON 직렬화
+ *
+ * ObjectMapper 는 스프링 부트와 같은 빌더/설정(JavaTimeModule, 날짜 문자열)으로 만든다.
+ * 할당량은 -prof gc 로 본다. (./gradlew :blogService:jmh -Pjmh.profilers=gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PostListResponseBenchmark {
+
+  // 목록 기본 크기(10)와 큰 페이지
+  @Param({"10", "100"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private Page<PostSummaryDTO> summaries;
+  private Page<PostResDTO> responses;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+    List<PostSummaryDTO> content = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      long postId = 100_000L - i;
+      LocalDateTime createdAt = now.minusMinutes(i * 37L);
+      PostSummaryDTO summary = new PostSummaryDTO(postId, "user" + random.nextInt(500),
+          "게시글 제목 " + postId + " - Spring Boot 와 JPA 성능 정리",
+          excerpt(random),
+          "http://localhost:8080/images/" + Long.toHexString(random.nextLong()) + ".jpg?w=320",
+          true, random.nextInt(10_000), createdAt, createdAt.plusMinutes(random.nextInt(120)));
+      summary.setTags(List.of("spring", "jpa", "tag" + random.nextInt(50)));
+      content.add(summary);
+    }
+    summaries = new PageImpl<>(content, PageRequest.of(3, pageSize), 5_000);
+    responses = summaries.map(BlogController::convertToResponseDTO);
+  }
+
+  @Benchmark
+  public Page<PostResDTO> map() {
+    return summaries.map(BlogController::convertToResponseDTO);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(responses);
+  }
+
+  // 컨트롤러가 실제로 하는 일 (변환 + 메시지 컨버터 직렬화)
+  @Benchmark
+  public byte[] mapAndSerialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(summaries.map(BlogController::convertToResponseDTO));
+  }
+
+  // 작성 시 저장하는 excerpt 와 비슷한 길이 (한글/영문 섞인 150자 안팎)
+  private static String excerpt(Random random) {
+    StringBuilder builder = new StringBuilder();
+    while (builder.length() < 150) {
+      builder.append(random.nextBoolean() ? "캐시와 인덱스를 적용한 뒤 " : "latency improved by ")
+          .append(random.nextInt(100)).append(' ');
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,98 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dto.CommentDTO;
+import daul.communityservice.entity.CommentEntity;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 댓글 트리 조립 (CommentServiceImpl.assembleTree) - DB 조회 이후 단계만 측정
+ *
+ * 작성순 댓글 목록을 합성한다. 약 30% 가 최상위 댓글이고, 대댓글은 주로 최근 댓글에 달리며
+ * 일부는 깊은 스레드를 만든다. 5000 은 blog.comments.max-load 기본값.
+ * DB 가 돌려주는 것처럼 최상위 댓글 페이지와 그 하위 대댓글을 나눠서 넘긴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CommentTreeBenchmark {
+
+  private static final int MAX_DEPTH = 10;
+
+  @Param({"100", "1000", "5000"})
+  private int commentCount;
+
+  private List<CommentEntity> roots;
+  private List<CommentEntity> descendants;
+  private List<CommentEntity> firstPageRoots;
+  private List<CommentEntity> firstPageDescendants;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+    List<CommentEntity> comments = new ArrayList<>(commentCount);
+    for (int i = 0; i < commentCount; i++) {
+      CommentEntity comment = new CommentEntity();
+      comment.setCommentId((long) i + 1);
+      comment.setPostId(1L);
+      comment.setUserId("user" + random.nextInt(200));
+      comment.setContent("댓글 내용 " + i + " - 좋은 글 감사합니다. 질문이 하나 있는데요");
+      comment.setCreatedAt(start.plusSeconds(i * 30L));
+      comment.setIsDeleted(random.nextInt(50) == 0);
+      if (i > 0 && random.nextInt(10) >= 3) {
+        // 최근 20개 중 하나에 답글 (가끔은 직전 댓글에 이어 달아 깊은 스레드)
+        int parentIndex = random.nextInt(4) == 0 ? i - 1 : Math.max(0, i - 1 - random.nextInt(20));
+        CommentEntity parent = comments.get(parentIndex);
+        comment.setParentComment(parent);
+        comment.setParentId(parent.getCommentId());
+      }
+      comments.add(comment);
+    }
+
+    roots = comments.stream().filter(comment -> comment.getParentId() == null).toList();
+    descendants = comments.stream().filter(comment -> comment.getParentId() != null).toList();
+    firstPageRoots = roots.subList(0, Math.min(20, roots.size()));
+    // 작성순이라 부모가 항상 먼저 나온다
+    HashSet<Long> inPage = new HashSet<>();
+    firstPageRoots.forEach(root -> inPage.add(root.getCommentId()));
+    firstPageDescendants = new ArrayList<>();
+    for (CommentEntity reply : descendants) {
+      if (inPage.contains(reply.getParentId())) {
+        inPage.add(reply.getCommentId());
+        firstPageDescendants.add(reply);
+      }
+    }
+  }
+
+  // 댓글 API 기본 페이지 (최상위 20개)
+  @Benchmark
+  public List<CommentDTO> firstPage() {
+    return CommentServiceImpl.assembleTree(firstPageRoots, firstPageDescendants, MAX_DEPTH);
+  }
+
+  // 페이지 없이 전체 (getCommentsByPostId(postId))
+  @Benchmark
+  public List<CommentDTO> allComments() {
+    return CommentServiceImpl.assembleTree(roots, descendants, MAX_DEPTH);
+  }
+}
@@ -0,0 +1,115 @@
+package daul.communityservice.service;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 파생 이미지 생성 처리량 (원본 한 장당 320/640/1280 생성)
+ *
+ * -Dimages.dir 에 샘플 이미지 폴더를 주면 그 이미지들을, 없으면 합성 이미지를 사용한다.
+ * 매 호출마다 빈 출력 디렉토리에 생성하므로 "이미 있으면 건너뜀" 경로는 측정되지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ImageDerivativeBenchmark {
+
+  private static final int[] WIDTHS = {320, 640, 1280};
+
+  private final List<Path> originals = new ArrayList<>();
+  private Path workDir;
+  private Path sampleDir;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void loadSamples() throws IOException {
+    workDir = Files.createTempDirectory("image-derivative-bench");
+    String imagesDir = System.getProperty("images.dir");
+    if (imagesDir != null) {
+      try (Stream<Path> files = Files.list(Paths.get(imagesDir))) {
+        files.filter(Files::isRegularFile)
+            .filter(file -> ImageResizer.isSupported(file.getFileName().toString()))
+            .sorted()
+            .forEach(originals::add);
+      }
+    }
+    if (originals.isEmpty()) {
+      sampleDir = Files.createDirectories(workDir.resolve("samples"));
+      originals.add(synthetic(sampleDir, "sample-photo.jpg", "jpg", 3000, 2000));
+      originals.add(synthetic(sampleDir, "sample-screenshot.png", "png", 1920, 1080));
+    }
+  }
+
+  @Benchmark
+  public List<Path> generate() throws IOException {
+    Path original = originals.get(next++ % originals.size());
+    Path outputDir = Files.createTempDirectory(workDir, "out-");
+    try {
+      return ImageResizer.generate(original, outputDir, WIDTHS);
+    } finally {
+      deleteRecursively(outputDir);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void cleanUp() throws IOException {
+    deleteRecursively(workDir);
+  }
+
+  private static Path synthetic(Path dir, String name, String format, int width, int height)
+      throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    try {
+      graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+      graphics.fillRect(0, 0, width, height);
+      graphics.setColor(Color.WHITE);
+      for (int x = 0; x < width; x += 40) {
+        graphics.drawLine(x, 0, width - x, height);
+      }
+    } finally {
+      graphics.dispose();
+    }
+    Path file = dir.resolve(name);
+    ImageIO.write(image, format, file.toFile());
+    return file;
+  }
+
+  private static void deleteRecursively(Path dir) throws IOException {
+    if (dir == null || !Files.exists(dir)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+}
@@ -14,10 +14,12 @@ public class RequestLoggingFilter implements Filter {
 
     HttpServletRequest httpServletRequest = (HttpServletRequest) request;
 
-    // 💡 이미지 요청 경로만 필터링하여 출력
-    String requestUri = httpServletRequest.getRequestURI();
-    if (requestUri.contains("/images/")) {
-      log.warn("🚨 [IMAGE REQUEST LOG] Full URI: {}", requestUri);
+    // 💡 이미지 요청 경로만 필터링하여 출력 (요청마다 로그 I/O 가 생기지 않도록 debug 에서만)
+    if (log.isDebugEnabled()) {
+      String requestUri = httpServletRequest.getRequestURI();
+      if (requestUri.contains("/images/")) {
+        log.debug("[IMAGE REQUEST LOG] Full URI: {}", requestUri);
+      }
     }
 
     chain.doFilter(request, response);
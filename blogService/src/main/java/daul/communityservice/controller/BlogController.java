@@ -1,9 +1,16 @@
 package daul.communityservice.controller;
 
+import daul.communityservice.dto.CursorPageResDTO;
 import daul.communityservice.dto.PostCreationRequestDTO;
+import daul.communityservice.dto.PostDraftDTO;
 import daul.communityservice.dto.PostResDTO;
+import daul.communityservice.dto.PostSummaryDTO;
+import daul.communityservice.dto.TagCountDTO;
 import daul.communityservice.entity.PostEntity;
+import daul.communityservice.service.ImageStorage;
+import daul.communityservice.service.PostDraftService;
 import daul.communityservice.service.PostService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import java.io.IOException;
 import java.util.HashMap;
@@ -14,11 +21,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,7 +44,14 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class BlogController {
 
+  // 커서 목록 한 번에 내려줄 수 있는 최대 개수
+  private static final int MAX_CURSOR_PAGE_SIZE = 100;
+  // 검색 결과는 앞쪽 이 개수까지만 페이지로 넘길 수 있다
+  private static final int MAX_SEARCH_WINDOW = 1000;
+
   private final PostService postService;
+  private final PostDraftService postDraftService;
+  private final ImageStorage imageStorage;
 
   @PostMapping("/upload")
   public ResponseEntity<Map<String, String>> uploadImage(@RequestParam("file") MultipartFile file) {
@@ -47,12 +66,49 @@ public class BlogController {
       response.put("url", imageUrl);
 
       return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
     } catch (IOException e) {
-      e.printStackTrace();
-      return ResponseEntity.internalServerError().body(Map.of("message", "파일 업로드에 실패했습니다."));
+      return uploadFailure(e);
     }
   }
 
+  // 이미지 원본 바이트를 요청 본문으로 받아 바로 파일에 스트리밍 (멀티파트 임시 파일/버퍼 없음)
+  @PostMapping("/upload/stream")
+  public ResponseEntity<Map<String, String>> uploadImageStream(
+      HttpServletRequest request,
+      @RequestHeader(value = "X-File-Name", required = false) String fileName) {
+    if (request.getContentLengthLong() > imageStorage.getMaxBytes()) {
+      // Content-Length 로 알 수 있으면 본문을 읽기 전에 거절
+      return uploadFailure(new ImageStorage.TooLargeException(imageStorage.getMaxBytes()));
+    }
+
+    try {
+      String imageUrl = postService.uploadImage(request.getInputStream(), fileName,
+          request.getContentType());
+      return ResponseEntity.ok(Map.of("url", imageUrl));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    } catch (IOException e) {
+      return uploadFailure(e);
+    }
+  }
+
+  private ResponseEntity<Map<String, String>> uploadFailure(IOException e) {
+    if (e instanceof ImageStorage.TooLargeException) {
+      return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+          .body(Map.of("message", e.getMessage()));
+    }
+    if (e instanceof ImageStorage.BusyException) {
+      // 동시 업로드 상한 (back-pressure)
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body(Map.of("message", e.getMessage()));
+    }
+    log.error("파일 업로드 실패", e);
+    return ResponseEntity.internalServerError().body(Map.of("message", "파일 업로드에 실패했습니다."));
+  }
+
   // 게시물 작성
   @PostMapping("/write")
   public ResponseEntity<PostEntity> writeFeed(
@@ -73,6 +129,68 @@ public class BlogController {
     return ResponseEntity.ok(updatedPost);
   }
 
+  // 초안 자동 저장 (바뀐 구간만 저장, 게시글은 건드리지 않음)
+  @PutMapping("/drafts/{postId}")
+  public ResponseEntity<String> saveDraft(
+      @RequestHeader("userSignId") String authenticatedUserSignId,
+      @PathVariable Long postId,
+      @RequestBody PostCreationRequestDTO draft) {
+    try {
+      postDraftService.saveDraft(authenticatedUserSignId, postId, draft);
+      return ResponseEntity.noContent().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+  }
+
+  // 저장된 초안 (없으면 404 -> 편집기는 발행된 게시글로 시작)
+  @GetMapping("/drafts/{postId}")
+  public ResponseEntity<PostDraftDTO> getDraft(
+      @RequestHeader("userSignId") String authenticatedUserSignId,
+      @PathVariable Long postId) {
+    try {
+      return postDraftService.getDraft(authenticatedUserSignId, postId)
+          .map(ResponseEntity::ok)
+          .orElseGet(() -> ResponseEntity.notFound().build());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.notFound().build();
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+  }
+
+  // 초안 발행 (게시글을 수정하는 유일한 자동 저장 경로)
+  @PostMapping("/drafts/{postId}/publish")
+  public ResponseEntity<?> publishDraft(
+      @RequestHeader("userSignId") String authenticatedUserSignId,
+      @PathVariable Long postId) {
+    try {
+      return ResponseEntity.ok(postDraftService.publishDraft(authenticatedUserSignId, postId));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+  }
+
+  @DeleteMapping("/drafts/{postId}")
+  public ResponseEntity<String> discardDraft(
+      @RequestHeader("userSignId") String authenticatedUserSignId,
+      @PathVariable Long postId) {
+    try {
+      postDraftService.discardDraft(authenticatedUserSignId, postId);
+      return ResponseEntity.noContent().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+  }
+
   // 게시물 삭제(완전)
   @Transactional
   @DeleteMapping("/delete/post")
@@ -86,14 +204,12 @@ public class BlogController {
   }
 
 
+  // 캐시된 JSON 바이트를 그대로 내려준다 (PostDetailCache)
   @GetMapping("/{postId}")
-  public ResponseEntity<PostEntity> getPosts(@PathVariable Long postId) {
-    PostEntity post = postService.readPost(postId);
-    if (post != null) {
-      return ResponseEntity.ok(post);
-    } else {
-      return ResponseEntity.notFound().build();
-    }
+  public ResponseEntity<byte[]> getPosts(@PathVariable Long postId) {
+    return postService.readPostDetail(postId)
+        .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+        .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
   // 태그 가져오기
@@ -107,6 +223,28 @@ public class BlogController {
     }
   }
 
+  // 태그별 게시글 (최신순 커서 페이지네이션)
+  @GetMapping("/tags/{tagName}/posts")
+  public ResponseEntity<CursorPageResDTO<PostResDTO>> getPostsByTag(
+      @PathVariable String tagName,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+    try {
+      CursorPageResDTO<PostSummaryDTO> posts =
+          postService.getPostsByTag(tagName, cursor, cursorPageSize(size));
+      return ResponseEntity.ok(posts.map(BlogController::convertToResponseDTO));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  // 인기 태그
+  @GetMapping("/tags/popular")
+  public ResponseEntity<List<TagCountDTO>> getPopularTags(
+      @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(postService.getPopularTags(cursorPageSize(size)));
+  }
+
   // 태그 단일 추가
   @PostMapping("/tag/add")
   public ResponseEntity<String> addTagToPost(
@@ -164,8 +302,8 @@ public class BlogController {
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size) {
     Pageable pageable = PageRequest.of(page, size);
-    Page<PostEntity> postPage = postService.getRecentPosts(pageable);
-    Page<PostResDTO> dtoPage = postPage.map(this::convertToResponseDTO);
+    Page<PostSummaryDTO> postPage = postService.getRecentPosts(pageable);
+    Page<PostResDTO> dtoPage = postPage.map(BlogController::convertToResponseDTO);
     return ResponseEntity.ok(dtoPage);
   }
 
@@ -176,9 +314,9 @@ public class BlogController {
       @RequestParam(defaultValue = "10") int size) {
 
     Pageable pageable = PageRequest.of(page, size);
-    Page<PostEntity> postPage = postService.getTrendingPosts(pageable);
+    Page<PostSummaryDTO> postPage = postService.getTrendingPosts(pageable);
 
-    Page<PostResDTO> dtoPage = postPage.map(this::convertToResponseDTO);
+    Page<PostResDTO> dtoPage = postPage.map(BlogController::convertToResponseDTO);
 
     return ResponseEntity.ok(dtoPage);
   }
@@ -189,12 +327,70 @@ public class BlogController {
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size) {
     Pageable pageable = PageRequest.of(page, size);
-    Page<PostEntity> postPage = postService.getFeedPosts(currentUserId, pageable);
-    Page<PostResDTO> dtoPage = postPage.map(this::convertToResponseDTO);
+    Page<PostSummaryDTO> postPage = postService.getFeedPosts(currentUserId, pageable);
+    Page<PostResDTO> dtoPage = postPage.map(BlogController::convertToResponseDTO);
     return ResponseEntity.ok(dtoPage);
 
   }
 
+  // 전문 검색 (제목/본문/태그)
+  @GetMapping("/search")
+  public ResponseEntity<Page<PostResDTO>> searchPosts(
+      @RequestParam("q") String query,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size) {
+    if (query.isBlank() || page < 0 || size < 1 || size > MAX_CURSOR_PAGE_SIZE
+        || (long) (page + 1) * size > MAX_SEARCH_WINDOW) {
+      return ResponseEntity.badRequest().build();
+    }
+    Page<PostSummaryDTO> postPage = postService.searchPosts(query, PageRequest.of(page, size));
+    return ResponseEntity.ok(postPage.map(BlogController::convertToResponseDTO));
+  }
+
+  // ===== 커서(keyset) 페이지네이션: 응답의 nextCursor 를 다음 요청의 cursor 로 넘긴다 =====
+
+  @GetMapping("/recent/cursor")
+  public ResponseEntity<CursorPageResDTO<PostResDTO>> getRecentPostsByCursor(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+    try {
+      CursorPageResDTO<PostSummaryDTO> posts = postService.getRecentPosts(cursor, cursorPageSize(size));
+      return ResponseEntity.ok(posts.map(BlogController::convertToResponseDTO));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/trending/cursor")
+  public ResponseEntity<CursorPageResDTO<PostResDTO>> getTrendingPostsByCursor(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+    try {
+      CursorPageResDTO<PostSummaryDTO> posts = postService.getTrendingPosts(cursor, cursorPageSize(size));
+      return ResponseEntity.ok(posts.map(BlogController::convertToResponseDTO));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @PostMapping("/feed/cursor")
+  public ResponseEntity<CursorPageResDTO<PostResDTO>> getFeedPostsByCursor(
+      @RequestHeader("userSignId") String currentUserId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+    try {
+      CursorPageResDTO<PostSummaryDTO> posts =
+          postService.getFeedPosts(currentUserId, cursor, cursorPageSize(size));
+      return ResponseEntity.ok(posts.map(BlogController::convertToResponseDTO));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  private static int cursorPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+  }
+
   // 💡 6. 게시글 삭제 (DELETE)
   @DeleteMapping("/{postId}")
   public ResponseEntity<Void> deletePost(@PathVariable Long postId) {
@@ -202,18 +398,19 @@ public class BlogController {
     return ResponseEntity.noContent().build();
   }
 
-  private PostResDTO convertToResponseDTO(PostEntity entity) {
+  // 목록 응답은 본문(content) 없이 요약(excerpt)만 내려준다 (벤치마크에서도 직접 호출)
+  static PostResDTO convertToResponseDTO(PostSummaryDTO summary) {
     return PostResDTO.builder()
-        .postId(entity.getPostId())
-        .authorId(entity.getAuthorId())
-        .title(entity.getTitle())
-        .content(entity.getContent())
-        .thumbnail(entity.getThumbnail())
-        .isPublished(entity.getIsPublished())
-        .viewCount(entity.getViewCount())
-        .createdAt(entity.getCreatedAt())
-        .updatedAt(entity.getUpdatedAt())
-        .tags(List.of())
+        .postId(summary.getPostId())
+        .authorId(summary.getAuthorId())
+        .title(summary.getTitle())
+        .excerpt(summary.getExcerpt())
+        .thumbnail(summary.getThumbnail())
+        .isPublished(summary.getIsPublished())
+        .viewCount(summary.getViewCount())
+        .createdAt(summary.getCreatedAt())
+        .updatedAt(summary.getUpdatedAt())
+        .tags(summary.getTags())
         .build();
   }
 }
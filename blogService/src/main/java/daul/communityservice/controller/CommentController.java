@@ -39,8 +39,17 @@ public class CommentController {
 
   // 게시글의 댓글 목록 조회
   @GetMapping
-  public ResponseEntity<List<CommentDTO>> getComments(@RequestParam Long postId) {
-    List<CommentDTO> comments = commentService.getCommentsByPostId(postId);
+  public ResponseEntity<List<CommentDTO>> getComments(
+      @RequestParam Long postId,
+      @RequestParam(required = false) Integer page,
+      @RequestParam(defaultValue = "20") int size) {
+    if (page == null) {
+      return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    }
+    if (page < 0 || size < 1) {
+      return ResponseEntity.badRequest().build();
+    }
+    List<CommentDTO> comments = commentService.getCommentsByPostId(postId, page, size);
     return ResponseEntity.ok(comments);
   }
 
@@ -0,0 +1,213 @@
+package daul.communityservice.controller;
+
+import daul.communityservice.service.ImageDerivatives;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 업로드 이미지 서빙 (/images/**)
+ *
+ * 톰캣 sendfile 이 가능하면 파일 전송을 커넥터에 넘기고(서블릿 스레드는 바로 반환), 아니면 FileChannel.transferTo 로 보낸다.
+ * 업로드 파일은 내용 해시로 이름이 정해지고 덮어쓰지 않으므로 파일명 기반 strong ETag 와 immutable 캐시를 쓴다.
+ * ?w=너비 를 주면 해당 크기 이상인 가장 작은 파생 이미지를 내려준다 (아직 없으면 원본 + 짧은 캐시).
+ */
+@Slf4j
+@RestController
+public class ImageController {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+  // 파생 이미지 생성 전 원본으로 대신 응답할 때 (생성 후 다시 받아가도록)
+  private static final String FALLBACK_CACHE_CONTROL = "public, max-age=60";
+  // 경로 조작을 막기 위해 업로드가 만드는 형태의 파일명만 허용
+  private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]{1,5})?");
+  private static final Pattern HASH_STEM = Pattern.compile("[0-9a-f]{64}(_w\\d+)?");
+  private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+  // 브라우저에서 바로 보여줄 형식. 업로드 제한 전에 올라온 SVG/HTML 등은 다운로드로만 내려준다 (stored XSS 방지)
+  private static final Set<MediaType> INLINE_TYPES = Set.of(MediaType.IMAGE_JPEG,
+      MediaType.IMAGE_PNG, MediaType.IMAGE_GIF, MediaType.parseMediaType("image/webp"));
+
+  private final Path uploadPath;
+  private final ImageDerivatives imageDerivatives;
+
+  public ImageController(@Value("${file.upload-dir}") String uploadDir,
+      ImageDerivatives imageDerivatives) {
+    this.uploadPath = Paths.get(uploadDir);
+    this.imageDerivatives = imageDerivatives;
+  }
+
+  @RequestMapping(value = "/images/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+  public void serve(@PathVariable String fileName,
+      @RequestParam(value = "w", required = false) Integer width,
+      HttpServletRequest request, HttpServletResponse response) throws IOException {
+    if (!FILE_NAME.matcher(fileName).matches()) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    Path file = uploadPath.resolve(fileName);
+    if (!Files.isRegularFile(file)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    String cacheControl = CACHE_CONTROL;
+    if (width != null && width > 0) {
+      Optional<Path> variant = imageDerivatives.findVariant(fileName, width);
+      if (variant.isPresent()) {
+        file = variant.get();
+      } else {
+        // 원본이 요청 너비보다 작거나 아직 생성 전 -> 원본으로 응답하고 생성 예약
+        imageDerivatives.schedule(fileName);
+        cacheControl = FALLBACK_CACHE_CONTROL;
+      }
+    }
+
+    long length = Files.size(file);
+    String etag = etagOf(file.getFileName().toString(), file, length);
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    MediaType mediaType = MediaTypeFactory.getMediaType(fileName)
+        .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    response.setContentType(mediaType.toString());
+    response.setHeader("X-Content-Type-Options", "nosniff");
+    if (!INLINE_TYPES.contains(mediaType)) {
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+      response.setHeader("Content-Security-Policy", "default-src 'none'; script-src 'none'; sandbox");
+    }
+
+    long start = 0;
+    long end = length - 1;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (range != null && (ifRange == null || ifRange.equals(etag))) {
+      Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+      if (matcher.matches()) {
+        long[] bounds = resolveRange(matcher.group(1), matcher.group(2), length);
+        if (bounds == null) {
+          response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+          response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+          return;
+        }
+        start = bounds[0];
+        end = bounds[1];
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+      }
+      // 여러 구간 요청은 지원하지 않고 전체를 200 으로 보낸다
+    }
+
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+    if (RequestMethod.HEAD.name().equals(request.getMethod()) || count == 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      // 실제 전송은 응답 커밋 후 톰캣이 sendfile 로 처리
+      request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = count;
+      while (remaining > 0) {
+        long sent = channel.transferTo(position, remaining, target);
+        if (sent <= 0) {
+          break;
+        }
+        position += sent;
+        remaining -= sent;
+      }
+    }
+  }
+
+  // 해시 파일명은 그대로, 예전 UUID 파일은 크기+수정시각으로
+  private static String etagOf(String fileName, Path file, long length) throws IOException {
+    int dot = fileName.lastIndexOf('.');
+    String stem = dot >= 0 ? fileName.substring(0, dot) : fileName;
+    if (HASH_STEM.matcher(stem).matches()) {
+      return "\"" + stem + "\"";
+    }
+    return "\"" + Long.toHexString(length) + "-"
+        + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+  }
+
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String value = candidate.trim();
+      if (value.startsWith("W/")) {
+        value = value.substring(2);
+      }
+      if (value.equals("*") || value.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * "a-b", "a-", "-n" 형태의 구간을 [start, end] 로. 만족할 수 없으면 null
+   */
+  private static long[] resolveRange(String first, String last, long length) {
+    try {
+      if (first.isEmpty()) {
+        if (last.isEmpty()) {
+          return null;
+        }
+        long suffix = Long.parseLong(last);
+        if (suffix == 0 || length == 0) {
+          return null;
+        }
+        return new long[]{Math.max(0, length - suffix), length - 1};
+      }
+      long start = Long.parseLong(first);
+      long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+      if (start >= length || start > end) {
+        return null;
+      }
+      return new long[]{start, end};
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -23,7 +23,11 @@ public class LikeController {
       @PathVariable Long postId,
       @RequestHeader("userSignId") String authenticatedUserSignId // String 타입 그대로 사용
   ) {
-    LikeToggleResponseDTO responseDTO = likeService.toggleLike(postId, authenticatedUserSignId);
-    return ResponseEntity.ok(responseDTO);
+    try {
+      LikeToggleResponseDTO responseDTO = likeService.toggleLike(postId, authenticatedUserSignId);
+      return ResponseEntity.ok(responseDTO);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 }
@@ -1,6 +1,7 @@
 package daul.communityservice.dao;
 
 import daul.communityservice.entity.CommentEntity;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +10,12 @@ public interface CommentDao {
    Optional<CommentEntity> findById(Long commentId);
    List<CommentEntity> findTopLevelCommentsByPostId(Long postId);
    List<CommentEntity> findRepliesByParentId(Long parentId) ;
+   // 게시글의 최상위 댓글 page 번째 묶음 (작성순)
+   List<CommentEntity> findRootsByPostId(Long postId, int page, int size);
+   // 주어진 댓글들의 하위 대댓글 전체를 작성순으로 최대 limit 개
+   List<CommentEntity> findDescendants(Collection<Long> parentIds, int limit);
    void deleteById(Long commentId) ;
    Long countByPostId(Long postId);
+   // 삭제된 게시글 정리용: 댓글을 최대 limit 개 지우고 지운 수를 반환 (대댓글부터 지워지도록 최신 댓글부터)
+   int deleteChunkByPostId(Long postId, int limit);
 }
@@ -2,15 +2,19 @@ package daul.communityservice.dao;
 
 import daul.communityservice.entity.CommentEntity;
 import daul.communityservice.repository.CommentRepository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @RequiredArgsConstructor
 public class CommentDaoImpl implements CommentDao{
   private final CommentRepository commentRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public CommentEntity save(CommentEntity comment) {
@@ -32,6 +36,19 @@ public class CommentDaoImpl implements CommentDao{
     return commentRepository.findByParentComment_CommentIdOrderByCreatedAtAsc(parentId);
   }
 
+  @Override
+  public List<CommentEntity> findRootsByPostId(Long postId, int page, int size) {
+    return commentRepository.findRootsByPostIdOrdered(postId, PageRequest.of(page, size));
+  }
+
+  @Override
+  public List<CommentEntity> findDescendants(Collection<Long> parentIds, int limit) {
+    if (parentIds.isEmpty()) {
+      return List.of();
+    }
+    return commentRepository.findDescendantsOrdered(parentIds, limit);
+  }
+
   @Override
   public void deleteById(Long commentId) {
     commentRepository.deleteById(commentId);
@@ -42,4 +59,13 @@ public class CommentDaoImpl implements CommentDao{
     return commentRepository.countByPostIdAndIsDeletedFalse(postId);
   }
 
+  @Override
+  public int deleteChunkByPostId(Long postId, int limit) {
+    // 대댓글은 항상 부모보다 commentId 가 크므로, 큰 것부터 지우면 parent_id FK 에 걸리지 않는다
+    return jdbcTemplate.update(
+        "DELETE FROM comments WHERE comment_id IN ("
+            + "SELECT comment_id FROM comments WHERE post_id = ? ORDER BY comment_id DESC LIMIT ?)",
+        postId, limit);
+  }
+
 }
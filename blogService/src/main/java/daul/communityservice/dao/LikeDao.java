@@ -17,5 +17,24 @@ public interface LikeDao {
 
   boolean existsByPostIdAndUserId(Long postId, String userId);
 
+  /**
+   * 좋아요 토글을 한 문장으로 처리 (있으면 DELETE, 없으면 INSERT ON CONFLICT DO NOTHING, posts.like_count 증감)
+   *
+   * @return 게시글이 없으면 empty
+   */
+  Optional<ToggleResult> toggle(Long postId, String userSignId);
+
+  // 삭제된 게시글 정리용: 좋아요를 최대 limit 개 지우고 지운 수를 반환
+  int deleteChunkByPostId(Long postId, int limit);
+
+  /**
+   * @param liked     토글 후 좋아요 상태
+   * @param delta     실제로 반영된 좋아요 수 변화 (-1, 0, 1)
+   * @param likeCount 토글 후 게시글 좋아요 수
+   */
+  record ToggleResult(boolean liked, int delta, long likeCount) {
+
+  }
+
 
 }
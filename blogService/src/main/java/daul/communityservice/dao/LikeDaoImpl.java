@@ -4,13 +4,34 @@ import daul.communityservice.entity.LikeEntity;
 import daul.communityservice.repository.LikeRepository;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @RequiredArgsConstructor
 public class LikeDaoImpl implements LikeDao {
 
+  // deleted / inserted 중 하나만 행을 돌려주고, 동시에 같은 사용자가 누르면 ON CONFLICT 로 한쪽이 무시된다.
+  // 좋아요 수는 실제로 지워지거나 들어간 행만큼만 바뀐다.
+  private static final String TOGGLE_SQL =
+      "WITH deleted AS ("
+          + "  DELETE FROM likes WHERE post_id = ? AND user_sign_id = ? RETURNING like_id"
+          + "), inserted AS ("
+          + "  INSERT INTO likes (post_id, user_sign_id, created_at)"
+          + "  SELECT ?, ?, now() WHERE NOT EXISTS (SELECT 1 FROM deleted)"
+          + "    AND EXISTS (SELECT 1 FROM posts WHERE post_id = ? AND is_deleted = false)"
+          + "  ON CONFLICT (post_id, user_sign_id) DO NOTHING RETURNING like_id"
+          + "), counted AS ("
+          + "  UPDATE posts SET like_count = GREATEST(0, like_count"
+          + "    + (SELECT COUNT(*) FROM inserted) - (SELECT COUNT(*) FROM deleted))"
+          + "  WHERE post_id = ? AND is_deleted = false RETURNING like_count"
+          + ") "
+          + "SELECT NOT EXISTS (SELECT 1 FROM deleted) AS liked, "
+          + "(SELECT COUNT(*) FROM inserted) - (SELECT COUNT(*) FROM deleted) AS delta, "
+          + "(SELECT like_count FROM counted) AS like_count";
+
   private final LikeRepository likeRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public LikeEntity save(LikeEntity likeEntity) {
@@ -36,4 +57,26 @@ public class LikeDaoImpl implements LikeDao {
   public boolean existsByPostIdAndUserId(Long postId, String userId) {
     return likeRepository.existsByPostIdAndUserSignId(postId, userId);
   }
+
+  @Override
+  public Optional<ToggleResult> toggle(Long postId, String userSignId) {
+    ToggleResult result = jdbcTemplate.queryForObject(TOGGLE_SQL,
+        (rs, rowNum) -> {
+          long likeCount = rs.getLong("like_count");
+          if (rs.wasNull()) {
+            return null; // posts 에 해당 게시글이 없음 (또는 삭제 표시됨)
+          }
+          return new ToggleResult(rs.getBoolean("liked"), rs.getInt("delta"), likeCount);
+        },
+        postId, userSignId, postId, userSignId, postId, postId);
+    return Optional.ofNullable(result);
+  }
+
+  @Override
+  public int deleteChunkByPostId(Long postId, int limit) {
+    return jdbcTemplate.update(
+        "DELETE FROM likes WHERE like_id IN ("
+            + "SELECT like_id FROM likes WHERE post_id = ? LIMIT ?)",
+        postId, limit);
+  }
 }
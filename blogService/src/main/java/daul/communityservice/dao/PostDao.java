@@ -1,9 +1,13 @@
 package daul.communityservice.dao;
 
+import daul.communityservice.dto.PostSummaryDTO;
+import daul.communityservice.dto.TrendingCandidateDTO;
 import daul.communityservice.entity.PostEntity;
 import java.time.LocalDateTime;
 import org.springframework.data.domain.Pageable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 
@@ -13,18 +17,80 @@ public interface PostDao {
 
   PostEntity readPost(Long id);
 
-  void deletePost(Long postId);
+  // 삭제 표시 (tombstone), 게시글이 없거나 이미 삭제됐으면 false
+  boolean markDeleted(Long postId);
+
+  // before 이전에 삭제 표시된 게시글 (오래된 순)
+  List<DeletedPost> findDeletedPosts(LocalDateTime before, int limit);
+
+  // 삭제 표시된 게시글 행 삭제 (댓글/좋아요/태그를 먼저 지운 뒤)
+  boolean purgePost(Long postId);
 
   Optional<PostEntity> findById(Long id);
 
+  List<PostEntity> findAllByIds(Collection<Long> postIds);
+
+  // 검색 색인 따라잡기용: postId 순으로 afterPostId 다음부터, since 이후 작성/수정된 글 (since 가 null 이면 전체)
+  List<PostEntity> findPostsChangedSince(LocalDateTime since, Long afterPostId, int limit);
+
   int incrementViewCount(Long postId);
 
-  Page<PostEntity> getRecentPosts(Pageable pageable);
+  // 현재 DB 조회수만 읽는다 (게시글이 없으면 null)
+  Long findViewCount(Long postId);
+
+  // 누적된 조회수를 한 번의 배치 UPDATE 로 반영
+  void addViewCounts(List<Map.Entry<Long, Long>> deltas);
+
+  // 댓글 수 원자적 증감, 게시글이 없으면 false (좋아요 수는 LikeDao.toggle 에서 함께 갱신)
+  boolean addCommentCount(Long postId, long delta);
+
+  long getCommentCount(Long postId);
+
+  // postId 가 [fromId, toId] 인 게시글 행을 잠그고 좋아요/댓글 수를 실제 개수로 맞춘 뒤, 고친 행 수를 반환
+  int reconcileLikeCounts(long fromId, long toId);
+
+  int reconcileCommentCounts(long fromId, long toId);
+
+  // 게시글 id 범위 (게시글이 없으면 null)
+  Long findMaxPostId();
+
+  Page<PostSummaryDTO> getRecentPosts(Pageable pageable);
+
+  // 최신순 keyset 조회, createdAt/postId 가 null 이면 첫 페이지
+  List<PostSummaryDTO> getRecentPostsBefore(LocalDateTime createdAt, Long postId, int limit);
+
+  // 태그별 게시글 keyset 조회 (postId 내림차순), postId 가 null 이면 첫 페이지
+  List<PostSummaryDTO> getTaggedPostsBefore(Long tagId, Long postId, int limit);
 
   // 트랜드 조회
-  Page<PostEntity> findTrendingPosts(LocalDateTime seven, Pageable pageable);
+  Page<PostSummaryDTO> findTrendingPosts(LocalDateTime seven, Pageable pageable);
+
+  // 조회수 순 keyset 조회 (커서가 없으면 처음부터). 트렌딩 랭킹 초기화 전 커서 조회용
+  List<PostSummaryDTO> findTrendingPostsByViewsBefore(LocalDateTime since, Integer viewCount,
+      LocalDateTime createdAt, Long postId, int limit);
+
+  // 트렌딩 랭킹 초기화용 후보
+  List<TrendingCandidateDTO> findTrendingCandidates(LocalDateTime since);
+
+  // 공개 게시글 요약 (순서 보장 없음)
+  List<PostSummaryDTO> findPublishedSummariesByIds(List<Long> postIds);
+
+  // excerpt 가 비어 있는 게시글의 postId -> content
+  Map<Long, String> findContentsWithoutExcerpt(int limit);
+
+  void updateExcerpts(Map<Long, String> excerpts);
 
   // 친구들 게시글 조회
   Page<PostEntity> findFeedPostsByAuthorIds(List<String> authorIds, Pageable pageable);
 
+  // 친구들 최신 게시글 id (피드 타임라인 seed 용)
+  List<Long> findFeedPostIdsByAuthorIds(List<String> authorIds, int limit);
+
+  /**
+   * 정리 대기 중인 삭제 게시글 (이미지 정리를 위해 본문/썸네일 포함)
+   */
+  record DeletedPost(Long postId, String content, String thumbnail) {
+
+  }
+
 }
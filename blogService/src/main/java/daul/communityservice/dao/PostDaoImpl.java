@@ -1,14 +1,23 @@
 package daul.communityservice.dao;
 
 import java.time.LocalDateTime;
+import daul.communityservice.dto.PostSummaryDTO;
+import daul.communityservice.dto.TrendingCandidateDTO;
 import org.springframework.data.domain.Pageable;
 import daul.communityservice.entity.PostEntity;
 import daul.communityservice.repository.PostRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Repository
@@ -16,21 +25,71 @@ import org.springframework.stereotype.Repository;
 public class PostDaoImpl implements PostDao {
 
   private final PostRepository postRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public int incrementViewCount(Long postId) {
     return postRepository.incrementViewCount(postId);
   }
 
+  @Override
+  public Long findViewCount(Long postId) {
+    List<Long> counts = jdbcTemplate.queryForList(
+        "SELECT view_count FROM posts WHERE post_id = ?", Long.class, postId);
+    return counts.isEmpty() ? null : counts.get(0);
+  }
+
+  @Override
+  public void addViewCounts(List<Map.Entry<Long, Long>> deltas) {
+    jdbcTemplate.batchUpdate(
+        "UPDATE posts SET view_count = view_count + ? WHERE post_id = ?",
+        deltas,
+        deltas.size(),
+        (ps, delta) -> {
+          ps.setLong(1, delta.getValue());
+          ps.setLong(2, delta.getKey());
+        });
+  }
+
   @Override
   public Optional<PostEntity> findById(Long id) {
     return postRepository.findById(id);
   }
 
+  @Override
+  public List<PostEntity> findAllByIds(Collection<Long> postIds) {
+    return postRepository.findAllById(postIds);
+  }
+
+  @Override
+  public List<PostEntity> findPostsChangedSince(LocalDateTime since, Long afterPostId, int limit) {
+    PageRequest firstSlice = PageRequest.of(0, limit);
+    if (since == null) {
+      return postRepository.findPostsAfter(afterPostId, firstSlice);
+    }
+    return postRepository.findPostsChangedSinceAfter(since, afterPostId, firstSlice);
+  }
+
+
+  @Override
+  public boolean markDeleted(Long postId) {
+    return postRepository.markDeleted(postId, LocalDateTime.now()) > 0;
+  }
+
+  @Override
+  public List<DeletedPost> findDeletedPosts(LocalDateTime before, int limit) {
+    return jdbcTemplate.query(
+        "SELECT post_id, content, thumbnail FROM posts "
+            + "WHERE is_deleted = true AND deleted_at < ? ORDER BY deleted_at LIMIT ?",
+        (rs, rowNum) -> new DeletedPost(rs.getLong("post_id"), rs.getString("content"),
+            rs.getString("thumbnail")),
+        before, limit);
+  }
 
   @Override
-  public void deletePost(Long postId) {
-    postRepository.deleteById(postId);
+  public boolean purgePost(Long postId) {
+    return jdbcTemplate.update("DELETE FROM posts WHERE post_id = ? AND is_deleted = true",
+        postId) > 0;
   }
 
   @Override
@@ -44,15 +103,134 @@ public class PostDaoImpl implements PostDao {
   }
 
   @Override
-  public Page<PostEntity> getRecentPosts(Pageable pageable) {
-    return postRepository.findAllByIsPublishedTrueOrderByCreatedAtDesc(pageable);
+  public List<Long> findFeedPostIdsByAuthorIds(List<String> authorIds, int limit) {
+    return postRepository.findFeedPostIdsByAuthorIds(authorIds, PageRequest.of(0, limit));
+  }
+
+  @Override
+  public boolean addCommentCount(Long postId, long delta) {
+    return postRepository.addCommentCount(postId, delta) > 0;
   }
 
   @Override
-  public Page<PostEntity> findTrendingPosts(LocalDateTime sevenDaysAgo,Pageable pageable) {
+  public long getCommentCount(Long postId) {
+    return postRepository.findCommentCount(postId).orElse(0L);
+  }
+
+  @Override
+  @Transactional
+  public int reconcileLikeCounts(long fromId, long toId) {
+    lockPostRange(fromId, toId);
+    return jdbcTemplate.update(
+        "UPDATE posts p SET like_count = c.cnt "
+            + "FROM (SELECT p2.post_id, COALESCE(l.cnt, 0) AS cnt FROM posts p2 "
+            + "LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM likes "
+            + "WHERE post_id BETWEEN ? AND ? GROUP BY post_id) l ON l.post_id = p2.post_id "
+            + "WHERE p2.post_id BETWEEN ? AND ?) c "
+            + "WHERE p.post_id = c.post_id AND p.like_count <> c.cnt",
+        fromId, toId, fromId, toId);
+  }
+
+  @Override
+  @Transactional
+  public int reconcileCommentCounts(long fromId, long toId) {
+    lockPostRange(fromId, toId);
+    return jdbcTemplate.update(
+        "UPDATE posts p SET comment_count = c.cnt "
+            + "FROM (SELECT p2.post_id, COALESCE(cm.cnt, 0) AS cnt FROM posts p2 "
+            + "LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM comments "
+            + "WHERE post_id BETWEEN ? AND ? AND is_deleted = false GROUP BY post_id) cm "
+            + "ON cm.post_id = p2.post_id "
+            + "WHERE p2.post_id BETWEEN ? AND ?) c "
+            + "WHERE p.post_id = c.post_id AND p.comment_count <> c.cnt",
+        fromId, toId, fromId, toId);
+  }
+
+  // 좋아요 토글·댓글 쓰기는 개수를 바꾸는 트랜잭션 안에서 posts 행을 갱신한다.
+  // 그 행들을 먼저 잠가 두면 커밋 전인 변경은 아직 posts 를 못 바꾼 채 기다리고, 다음 문장(새 스냅샷)의 개수에는
+  // 이미 커밋된 변경만 들어가므로 보정 값을 기다리던 증감이 그대로 이어서 반영한다.
+  private void lockPostRange(long fromId, long toId) {
+    jdbcTemplate.queryForList(
+        "SELECT post_id FROM posts WHERE post_id BETWEEN ? AND ? ORDER BY post_id FOR UPDATE",
+        Long.class, fromId, toId);
+  }
+
+  @Override
+  public Long findMaxPostId() {
+    return jdbcTemplate.queryForObject("SELECT MAX(post_id) FROM posts", Long.class);
+  }
+
+  @Override
+  public Page<PostSummaryDTO> getRecentPosts(Pageable pageable) {
+    return postRepository.findRecentSummaries(pageable);
+  }
+
+  @Override
+  public List<PostSummaryDTO> getRecentPostsBefore(LocalDateTime createdAt, Long postId, int limit) {
+    PageRequest firstSlice = PageRequest.of(0, limit);
+    if (createdAt == null || postId == null) {
+      return postRepository.findRecentPosts(firstSlice);
+    }
+    return postRepository.findRecentPostsBefore(createdAt, postId, firstSlice);
+  }
+
+  @Override
+  public List<PostSummaryDTO> getTaggedPostsBefore(Long tagId, Long postId, int limit) {
+    PageRequest firstSlice = PageRequest.of(0, limit);
+    if (postId == null) {
+      return postRepository.findTaggedPosts(tagId, firstSlice);
+    }
+    return postRepository.findTaggedPostsBefore(tagId, postId, firstSlice);
+  }
+
+  @Override
+  public Page<PostSummaryDTO> findTrendingPosts(LocalDateTime sevenDaysAgo,Pageable pageable) {
     return postRepository.findTrendingPosts(sevenDaysAgo,pageable);
   }
 
+  @Override
+  public List<PostSummaryDTO> findTrendingPostsByViewsBefore(LocalDateTime since,
+      Integer viewCount, LocalDateTime createdAt, Long postId, int limit) {
+    PageRequest firstSlice = PageRequest.of(0, limit);
+    if (viewCount == null || createdAt == null || postId == null) {
+      return postRepository.findTrendingPostsByViews(since, firstSlice);
+    }
+    return postRepository.findTrendingPostsByViewsBefore(since, viewCount, createdAt, postId,
+        firstSlice);
+  }
+
+  @Override
+  public List<TrendingCandidateDTO> findTrendingCandidates(LocalDateTime since) {
+    return postRepository.findTrendingCandidates(since);
+  }
+
+  @Override
+  public List<PostSummaryDTO> findPublishedSummariesByIds(List<Long> postIds) {
+    return postRepository.findPublishedSummariesByIds(postIds);
+  }
+
+  @Override
+  public Map<Long, String> findContentsWithoutExcerpt(int limit) {
+    Map<Long, String> contents = new LinkedHashMap<>();
+    for (Object[] row : postRepository.findContentsWithoutExcerpt(PageRequest.of(0, limit))) {
+      contents.put((Long) row[0], (String) row[1]);
+    }
+    return contents;
+  }
+
+  @Override
+  public void updateExcerpts(Map<Long, String> excerpts) {
+    List<Map.Entry<Long, String>> entries = new ArrayList<>(excerpts.entrySet());
+    jdbcTemplate.batchUpdate(
+        "UPDATE posts SET excerpt = ? WHERE post_id = ?",
+        entries,
+        entries.size(),
+        (ps, entry) -> {
+          ps.setString(1, entry.getValue());
+          ps.setLong(2, entry.getKey());
+        });
+  }
+
   @Override
   public PostEntity readPost(Long id) {
     return postRepository.findById(id).orElse(null);
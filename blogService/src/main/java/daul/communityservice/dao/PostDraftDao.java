@@ -0,0 +1,38 @@
+package daul.communityservice.dao;
+
+import daul.communityservice.entity.PostDraftDeltaEntity;
+import daul.communityservice.entity.PostDraftEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostDraftDao {
+
+  Optional<PostDraftEntity> findById(Long postId);
+
+  // 초안이 없으면 빈 초안(delta 없음)을 만들고, 있으면 아무것도 하지 않는다
+  // 동시에 처음 저장해도 한 쪽은 다른 쪽 커밋을 기다렸다가 넘어간다 (PK 충돌 없음). 잠금은 findByIdForUpdate 로
+  void createIfAbsent(Long postId, String authorId, String title, String thumbnail,
+      LocalDateTime baseUpdatedAt);
+
+  // 행 잠금 (트랜잭션 안에서)
+  Optional<PostDraftEntity> findByIdForUpdate(Long postId);
+
+  PostDraftEntity save(PostDraftEntity draft);
+
+  // seq 오름차순
+  List<PostDraftDeltaEntity> findDeltas(Long postId);
+
+  void appendDelta(PostDraftDeltaEntity delta);
+
+  // seq 이하 delta 를 지우고 그 상태를 한 번에 만드는 delta 하나로 바꾼다
+  void replaceDeltas(Long postId, int upToSeq, PostDraftDeltaEntity compacted);
+
+  void deleteDeltas(Long postId);
+
+  // 초안과 delta 삭제
+  void delete(Long postId);
+
+  // 합치지 않은 delta 가 minDeltas 개 이상인 초안
+  List<Long> findCompactionCandidates(int minDeltas, int limit);
+}
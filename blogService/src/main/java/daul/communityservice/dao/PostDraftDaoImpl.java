@@ -0,0 +1,88 @@
+package daul.communityservice.dao;
+
+import daul.communityservice.entity.PostDraftDeltaEntity;
+import daul.communityservice.entity.PostDraftEntity;
+import daul.communityservice.repository.PostDraftDeltaRepository;
+import daul.communityservice.repository.PostDraftRepository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class PostDraftDaoImpl implements PostDraftDao {
+
+  private final PostDraftRepository postDraftRepository;
+  private final PostDraftDeltaRepository postDraftDeltaRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public Optional<PostDraftEntity> findById(Long postId) {
+    return postDraftRepository.findById(postId);
+  }
+
+  @Override
+  public void createIfAbsent(Long postId, String authorId, String title, String thumbnail,
+      LocalDateTime baseUpdatedAt) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO post_drafts (post_id, author_id, title, thumbnail, base_updated_at, "
+            + "last_seq, compacted_seq, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, 0, 0, ?, ?) "
+            + "ON CONFLICT (post_id) DO NOTHING",
+        postId, authorId, title, thumbnail,
+        baseUpdatedAt != null ? Timestamp.valueOf(baseUpdatedAt) : null, now, now);
+  }
+
+  @Override
+  public Optional<PostDraftEntity> findByIdForUpdate(Long postId) {
+    return postDraftRepository.findByIdForUpdate(postId);
+  }
+
+  @Override
+  public PostDraftEntity save(PostDraftEntity draft) {
+    return postDraftRepository.save(draft);
+  }
+
+  @Override
+  public List<PostDraftDeltaEntity> findDeltas(Long postId) {
+    return postDraftDeltaRepository.findByPostIdOrderBySeq(postId);
+  }
+
+  @Override
+  public void appendDelta(PostDraftDeltaEntity delta) {
+    postDraftDeltaRepository.save(delta);
+  }
+
+  @Override
+  @Transactional
+  public void replaceDeltas(Long postId, int upToSeq, PostDraftDeltaEntity compacted) {
+    // 벌크 DELETE 가 바로 실행되므로 같은 seq 로 다시 넣어도 유니크 제약에 걸리지 않는다
+    postDraftDeltaRepository.deleteUpTo(postId, upToSeq);
+    postDraftDeltaRepository.save(compacted);
+  }
+
+  @Override
+  @Transactional
+  public void deleteDeltas(Long postId) {
+    postDraftDeltaRepository.deleteByPostId(postId);
+  }
+
+  @Override
+  @Transactional
+  public void delete(Long postId) {
+    postDraftDeltaRepository.deleteByPostId(postId);
+    postDraftRepository.deleteById(postId);
+  }
+
+  @Override
+  public List<Long> findCompactionCandidates(int minDeltas, int limit) {
+    return postDraftRepository.findCompactionCandidates(minDeltas, PageRequest.of(0, limit));
+  }
+}
@@ -0,0 +1,17 @@
+package daul.communityservice.dao;
+
+import java.util.Collection;
+
+public interface PostImageDao {
+
+  // 이미 기록된 파일명은 무시 (초안 저장처럼 참조가 늘기만 하는 경우)
+  void addAll(Long postId, Collection<String> fileNames);
+
+  // 게시글의 참조를 fileNames 로 바꾼다 (빠진 파일명은 지우고 새 파일명은 추가)
+  void replaceAll(Long postId, Collection<String> fileNames);
+
+  void deleteByPostId(Long postId);
+
+  // 삭제되지 않은 게시글(또는 편집 중인 초안)이 해당 이미지 파일명을 참조하는지
+  boolean isReferenced(String fileName);
+}
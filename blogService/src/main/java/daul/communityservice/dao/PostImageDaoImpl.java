@@ -0,0 +1,63 @@
+package daul.communityservice.dao;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class PostImageDaoImpl implements PostImageDao {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO post_images (post_id, file_name) SELECT ?, unnest(?::varchar[]) "
+          + "ON CONFLICT DO NOTHING";
+
+  private static final String DELETE_OTHERS_SQL =
+      "DELETE FROM post_images WHERE post_id = ? AND NOT (file_name = ANY(?))";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void addAll(Long postId, Collection<String> fileNames) {
+    if (!fileNames.isEmpty()) {
+      updateWithFileNames(INSERT_SQL, postId, fileNames);
+    }
+  }
+
+  @Override
+  @Transactional
+  public void replaceAll(Long postId, Collection<String> fileNames) {
+    if (fileNames.isEmpty()) {
+      deleteByPostId(postId);
+      return;
+    }
+    updateWithFileNames(DELETE_OTHERS_SQL, postId, fileNames);
+    updateWithFileNames(INSERT_SQL, postId, fileNames);
+  }
+
+  @Override
+  public void deleteByPostId(Long postId) {
+    jdbcTemplate.update("DELETE FROM post_images WHERE post_id = ?", postId);
+  }
+
+  @Override
+  public boolean isReferenced(String fileName) {
+    Boolean referenced = jdbcTemplate.queryForObject(
+        "SELECT EXISTS (SELECT 1 FROM post_images i JOIN posts p ON p.post_id = i.post_id "
+            + "WHERE i.file_name = ? AND p.is_deleted = false)",
+        Boolean.class, fileName);
+    return Boolean.TRUE.equals(referenced);
+  }
+
+  private void updateWithFileNames(String sql, Long postId, Collection<String> fileNames) {
+    jdbcTemplate.update(connection -> {
+      PreparedStatement ps = connection.prepareStatement(sql);
+      ps.setLong(1, postId);
+      ps.setArray(2, connection.createArrayOf("varchar", fileNames.toArray()));
+      return ps;
+    });
+  }
+}
@@ -1,19 +1,38 @@
 package daul.communityservice.dao;
 
 import daul.communityservice.entity.PostTagEntity;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PostTagDao {
 
   List<PostTagEntity> findByPostId(Long postId);
 
+  // postId -> 연결된 tagId 목록 (태그가 없는 게시글은 키가 없음)
+  Map<Long, List<Long>> findTagIdsByPostIds(Collection<Long> postIds);
+
   boolean existsByPostIdAndTagId(Long postId, Long tagId);
 
   void save(PostTagEntity postTag);
 
+  // 이미 연결되어 있으면 false
+  boolean insert(Long postId, Long tagId);
+
+  // 한 문장으로 연결 (이미 연결된 태그는 무시), 새로 연결된 태그 수를 반환
+  int insertAll(Long postId, Collection<Long> tagIds);
+
+  void deleteByPostIdAndTagIds(Long postId, Collection<Long> tagIds);
+
   void deleteByPostIdAndTagId(Long postId, Long tagId);
 
   void deleteByPostId(Long postId);
 
+  // 주어진 태그의 post_count 를 공개·미삭제 게시글 수로 다시 세고 고친 행 수를 반환
+  int recountPostCounts(Collection<Long> tagIds);
+
+  // 전체 태그의 post_count 를 공개·미삭제 게시글 수와 맞추고 고친 행 수를 반환
+  int reconcilePostCounts();
+
 
 }
@@ -3,8 +3,14 @@ package daul.communityservice.dao;
 
 import daul.communityservice.entity.PostTagEntity;
 import daul.communityservice.repository.PostTagRepository;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,13 +18,42 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PostTagDaoImpl implements PostTagDao {
 
+  // tags.post_count 는 여기서 건드리지 않는다 (TagPostCounts 가 커밋 후 다시 센다).
+  // 반환값이 곧 새로 연결된 태그 수
+  private static final String INSERT_SQL =
+      "INSERT INTO post_tags (post_id, tag_id) SELECT ?, unnest(?::bigint[]) "
+          + "ON CONFLICT DO NOTHING";
+
+  private static final String DELETE_TAGS_SQL =
+      "DELETE FROM post_tags WHERE post_id = ? AND tag_id = ANY(?)";
+
+  // 목록(공개, 삭제되지 않은 글)과 같은 기준으로 센 태그별 게시글 수
+  private static final String VISIBLE_COUNTS_SQL =
+      "SELECT t2.tag_id, COUNT(p.post_id) AS cnt FROM tags t2 "
+          + "LEFT JOIN post_tags pt ON pt.tag_id = t2.tag_id "
+          + "LEFT JOIN posts p ON p.post_id = pt.post_id "
+          + "AND p.is_published = true AND p.is_deleted = false ";
+
   private final PostTagRepository postTagRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public List<PostTagEntity> findByPostId(Long postId) {
     return postTagRepository.findByPostTagId_PostId(postId);
   }
 
+  @Override
+  public Map<Long, List<Long>> findTagIdsByPostIds(Collection<Long> postIds) {
+    Map<Long, List<Long>> tagIds = new HashMap<>();
+    if (postIds.isEmpty()) {
+      return tagIds;
+    }
+    for (Object[] row : postTagRepository.findTagIdsByPostIds(postIds)) {
+      tagIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+    }
+    return tagIds;
+  }
+
   @Override
   public boolean existsByPostIdAndTagId(Long postId, Long tagId) {
     return postTagRepository.existsByPostTagId_PostIdAndPostTagId_TagId(postId, tagId);
@@ -29,15 +64,69 @@ public class PostTagDaoImpl implements PostTagDao {
     postTagRepository.save(postTag);
   }
 
+  @Override
+  public boolean insert(Long postId, Long tagId) {
+    return insertAll(postId, List.of(tagId)) > 0;
+  }
+
+  @Override
+  public int insertAll(Long postId, Collection<Long> tagIds) {
+    if (tagIds.isEmpty()) {
+      return 0;
+    }
+    return updateWithTagIds(INSERT_SQL, postId, tagIds);
+  }
+
+  @Override
+  @Transactional
+  public void deleteByPostIdAndTagIds(Long postId, Collection<Long> tagIds) {
+    if (!tagIds.isEmpty()) {
+      updateWithTagIds(DELETE_TAGS_SQL, postId, tagIds);
+    }
+  }
+
   @Override
   @Transactional
   public void deleteByPostIdAndTagId(Long postId, Long tagId) {
-    postTagRepository.deleteByPostTagId_PostIdAndPostTagId_TagId(postId, tagId);
+    deleteByPostIdAndTagIds(postId, List.of(tagId));
   }
 
   @Override
   @Transactional
   public void deleteByPostId(Long postId) {
-    postTagRepository.deleteByPostTagId_PostId(postId);
+    jdbcTemplate.update("DELETE FROM post_tags WHERE post_id = ?", postId);
+  }
+
+  @Override
+  public int recountPostCounts(Collection<Long> tagIds) {
+    if (tagIds.isEmpty()) {
+      return 0;
+    }
+    return jdbcTemplate.update(connection -> {
+      PreparedStatement ps = connection.prepareStatement(
+          "UPDATE tags t SET post_count = c.cnt "
+              + "FROM (" + VISIBLE_COUNTS_SQL + "WHERE t2.tag_id = ANY(?) GROUP BY t2.tag_id) c "
+              + "WHERE t.tag_id = c.tag_id AND t.post_count <> c.cnt");
+      ps.setArray(1, connection.createArrayOf("bigint", tagIds.toArray()));
+      return ps;
+    });
+  }
+
+  @Override
+  public int reconcilePostCounts() {
+    return jdbcTemplate.update(
+        "UPDATE tags t SET post_count = c.cnt "
+            + "FROM (" + VISIBLE_COUNTS_SQL + "GROUP BY t2.tag_id) c "
+            + "WHERE t.tag_id = c.tag_id AND t.post_count <> c.cnt");
+  }
+
+  // (post_id, tag_id 배열) 을 받는 문장 실행
+  private int updateWithTagIds(String sql, Long postId, Collection<Long> tagIds) {
+    return jdbcTemplate.update(connection -> {
+      PreparedStatement ps = connection.prepareStatement(sql);
+      ps.setLong(1, postId);
+      ps.setArray(2, connection.createArrayOf("bigint", tagIds.toArray()));
+      return ps;
+    });
   }
 }
@@ -1,6 +1,9 @@
 package daul.communityservice.dao;
 
+import daul.communityservice.dto.TagCountDTO;
 import daul.communityservice.entity.TagEntity;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagDao {
@@ -8,4 +11,15 @@ public interface TagDao {
 
   TagEntity save(TagEntity tag);
 
+  List<TagEntity> findAllById(Collection<Long> tagIds);
+
+  /**
+   * 태그 이름들을 한 번에 조회하고 없는 태그는 일괄 생성한다 (동시에 같은 태그가 생겨도 ON CONFLICT 로 무시)
+   *
+   * @return 새로 만든 태그를 포함한 이름별 태그
+   */
+  List<TagEntity> upsertAll(Collection<String> tagNames);
+
+  List<TagCountDTO> findPopularTags(int limit);
+
 }
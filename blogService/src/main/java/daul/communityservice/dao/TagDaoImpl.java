@@ -1,9 +1,17 @@
 package daul.communityservice.dao;
 
+import daul.communityservice.dto.TagCountDTO;
 import daul.communityservice.entity.TagEntity;
 import daul.communityservice.repository.TagRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,6 +19,7 @@ import org.springframework.stereotype.Repository;
 public class TagDaoImpl implements TagDao {
 
   private final TagRepository tagRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public Optional<TagEntity> findByTagName(String tagName) {
@@ -22,4 +31,38 @@ public class TagDaoImpl implements TagDao {
   public TagEntity save(TagEntity tag) {
     return tagRepository.save(tag);
   }
+
+  @Override
+  public List<TagEntity> findAllById(Collection<Long> tagIds) {
+    return tagRepository.findAllById(tagIds);
+  }
+
+  @Override
+  public List<TagCountDTO> findPopularTags(int limit) {
+    return tagRepository.findPopularTags(PageRequest.of(0, limit));
+  }
+
+  @Override
+  public List<TagEntity> upsertAll(Collection<String> tagNames) {
+    if (tagNames.isEmpty()) {
+      return new ArrayList<>();
+    }
+    List<TagEntity> tags = tagRepository.findAllByTagNameIn(tagNames);
+    if (tags.size() == tagNames.size()) {
+      return tags;
+    }
+
+    Set<String> existing = tags.stream().map(TagEntity::getTagName).collect(Collectors.toSet());
+    List<String> missing = tagNames.stream()
+        .filter(tagName -> !existing.contains(tagName))
+        .collect(Collectors.toList());
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO tags (tag_name) VALUES (?) ON CONFLICT (tag_name) DO NOTHING",
+        missing,
+        missing.size(),
+        (ps, tagName) -> ps.setString(1, tagName));
+    // 다른 요청이 먼저 만든 태그도 함께 읽힌다
+    tags.addAll(tagRepository.findAllByTagNameIn(missing));
+    return tags;
+  }
 }
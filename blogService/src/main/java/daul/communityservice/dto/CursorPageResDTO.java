@@ -0,0 +1,26 @@
+package daul.communityservice.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * keyset 페이지 응답 (전체 개수를 세지 않음). hasNext 가 true 면 nextCursor 로 다음 페이지를 요청한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResDTO<T> {
+
+  private List<T> content;
+  private String nextCursor;
+  private boolean hasNext;
+
+  public <R> CursorPageResDTO<R> map(Function<? super T, ? extends R> mapper) {
+    List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+    return new CursorPageResDTO<>(mapped, nextCursor, hasNext);
+  }
+}
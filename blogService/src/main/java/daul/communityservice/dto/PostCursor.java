@@ -0,0 +1,94 @@
+package daul.communityservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 목록 keyset 페이지네이션 커서
+ *
+ * (createdAt, postId), (score, postId), (viewCount, createdAt, postId) 또는 postId 를 base64url 로 감싼
+ * 불투명 문자열로 주고받는다.
+ * 점수 커서에는 점수의 기준 시각(landmark)도 넣어, 랭킹 점수 스케일이 재조정돼도 이어서 볼 수 있게 한다.
+ * 조회수 커서는 트렌딩 랭킹 초기화 전에 DB 로 응답할 때 쓴다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostCursor {
+
+  private static final String TIME_PREFIX = "t";
+  private static final String SCORE_PREFIX = "s";
+  private static final String ID_PREFIX = "i";
+  private static final String VIEWS_PREFIX = "v";
+  private static final String DELIMITER = "|";
+  private static final String LANDMARK_DELIMITER = "@";
+
+  private final LocalDateTime createdAt;
+  private final Double score;
+  // 점수 기준 시각 (이전 형식의 점수 커서면 null)
+  private final Long landmark;
+  // 조회수 커서일 때만
+  private final Integer viewCount;
+  private final Long postId;
+
+  public static String encode(LocalDateTime createdAt, Long postId) {
+    return wrap(TIME_PREFIX + DELIMITER + createdAt + DELIMITER + postId);
+  }
+
+  public static String encode(double score, long landmark, Long postId) {
+    return wrap(SCORE_PREFIX + DELIMITER + score + LANDMARK_DELIMITER + landmark + DELIMITER + postId);
+  }
+
+  public static String encode(int viewCount, LocalDateTime createdAt, Long postId) {
+    return wrap(VIEWS_PREFIX + DELIMITER + viewCount + LANDMARK_DELIMITER + createdAt + DELIMITER
+        + postId);
+  }
+
+  public static String encode(Long postId) {
+    return wrap(ID_PREFIX + DELIMITER + DELIMITER + postId);
+  }
+
+  /**
+   * @throws IllegalArgumentException 형식이 잘못된 커서
+   */
+  public static PostCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("잘못된 커서입니다.");
+      }
+      Long postId = Long.parseLong(parts[2]);
+      if (TIME_PREFIX.equals(parts[0])) {
+        return new PostCursor(LocalDateTime.parse(parts[1]), null, null, null, postId);
+      }
+      if (SCORE_PREFIX.equals(parts[0])) {
+        int at = parts[1].indexOf(LANDMARK_DELIMITER);
+        if (at < 0) {
+          return new PostCursor(null, Double.parseDouble(parts[1]), null, null, postId);
+        }
+        return new PostCursor(null, Double.parseDouble(parts[1].substring(0, at)),
+            Long.parseLong(parts[1].substring(at + 1)), null, postId);
+      }
+      if (VIEWS_PREFIX.equals(parts[0])) {
+        int at = parts[1].indexOf(LANDMARK_DELIMITER);
+        return new PostCursor(LocalDateTime.parse(parts[1].substring(at + 1)), null, null,
+            Integer.parseInt(parts[1].substring(0, at)), postId);
+      }
+      if (ID_PREFIX.equals(parts[0])) {
+        return new PostCursor(null, null, null, null, postId);
+      }
+      throw new IllegalArgumentException("잘못된 커서입니다.");
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("잘못된 커서입니다.", e);
+    }
+  }
+
+  private static String wrap(String raw) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
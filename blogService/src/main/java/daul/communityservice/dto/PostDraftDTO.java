@@ -0,0 +1,27 @@
+package daul.communityservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 편집기에 내려주는 초안 (delta 를 적용한 본문)
+ */
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class PostDraftDTO {
+
+  private Long postId;
+  private String title;
+  private String content;
+  private String thumbnail;
+  private List<String> tags;
+  // 초안이 기준으로 삼은 게시글 수정 시각
+  private LocalDateTime baseUpdatedAt;
+  private LocalDateTime updatedAt;
+}
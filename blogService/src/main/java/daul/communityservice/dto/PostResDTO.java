@@ -16,6 +16,7 @@ public class PostResDTO {
   String authorId;
   String title;
   String content;
+  String excerpt;
   String thumbnail;
   Boolean isPublished;
   Integer viewCount;
@@ -0,0 +1,45 @@
+package daul.communityservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 목록(카드)용 게시글 요약 프로젝션
+ *
+ * 본문(content, TEXT) 대신 작성 시 저장해둔 excerpt 만 조회한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostSummaryDTO {
+
+  private Long postId;
+  private String authorId;
+  private String title;
+  private String excerpt;
+  private String thumbnail;
+  private Boolean isPublished;
+  private Integer viewCount;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+  // 조회 후 한 번에 채움 (프로젝션 대상 아님)
+  private List<String> tags = List.of();
+
+  // JPQL 생성자 프로젝션용
+  public PostSummaryDTO(Long postId, String authorId, String title, String excerpt,
+      String thumbnail, Boolean isPublished, Integer viewCount, LocalDateTime createdAt,
+      LocalDateTime updatedAt) {
+    this.postId = postId;
+    this.authorId = authorId;
+    this.title = title;
+    this.excerpt = excerpt;
+    this.thumbnail = thumbnail;
+    this.isPublished = isPublished;
+    this.viewCount = viewCount;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+  }
+}
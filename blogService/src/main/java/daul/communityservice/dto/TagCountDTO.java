@@ -0,0 +1,17 @@
+package daul.communityservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 태그 이름과 게시글 수 (인기 태그)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountDTO {
+
+  private String tagName;
+  private Long postCount;
+}
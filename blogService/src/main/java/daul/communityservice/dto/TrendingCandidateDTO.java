@@ -0,0 +1,19 @@
+package daul.communityservice.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 트렌딩 랭킹 초기화용 최소 컬럼 (본문 등 무거운 컬럼은 읽지 않음)
+ */
+@Getter
+@AllArgsConstructor
+public class TrendingCandidateDTO {
+
+  private Long postId;
+  private LocalDateTime createdAt;
+  private Integer viewCount;
+  private Long likeCount;
+  private Long commentCount;
+}
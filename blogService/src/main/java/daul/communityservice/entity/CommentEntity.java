@@ -12,7 +12,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    // 게시글 댓글 전체를 한 번에 읽는 쿼리용
+    @Index(name = "idx_comments_post_created", columnList = "post_id, created_at, comment_id"),
+    // 최상위 댓글의 대댓글을 재귀로 따라 내려가는 쿼리용
+    @Index(name = "idx_comments_parent", columnList = "parent_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +40,10 @@ public class CommentEntity {
   @JoinColumn(name = "parent_id", nullable = true) // DB 컬럼 이름
   private CommentEntity parentComment;
 
+  // 트리 조립 시 부모 프록시를 건드리지 않고 FK 값만 읽기 위한 읽기 전용 매핑
+  @Column(name = "parent_id", insertable = false, updatable = false)
+  private Long parentId;
+
   @OneToMany(mappedBy = "parentComment", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = false)
   private List<CommentEntity> childComments = new ArrayList<>();
 
@@ -12,7 +12,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Entity
 @Table(name = "likes", uniqueConstraints = {
     // 중복 좋아요 -> 두 컬럼의 조합이 유일해야 함. 그래서 둘다 외래키로 가지고 있음.
-    @UniqueConstraint(columnNames = {"post_id", "user_id"})
+    // 좋아요 토글의 INSERT ... ON CONFLICT 가 이 제약을 사용
+    @UniqueConstraint(name = "uk_likes_post_user", columnNames = {"post_id", "user_sign_id"})
 })
 @Getter
 @NoArgsConstructor
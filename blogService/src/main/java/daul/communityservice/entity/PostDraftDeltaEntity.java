@@ -0,0 +1,49 @@
+package daul.communityservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 초안 본문 변경분: 이전 상태의 앞 prefixLength 글자와 뒤 suffixLength 글자는 그대로 두고 그 사이를 text 로 바꾼다.
+ */
+@Entity
+@Table(name = "post_draft_deltas", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_post_draft_deltas_post_seq", columnNames = {"post_id", "seq"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostDraftDeltaEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long deltaId;
+
+  @Column(name = "post_id", nullable = false)
+  private Long postId;
+
+  @Column(nullable = false)
+  private Integer seq;
+
+  @Column(nullable = false)
+  private Integer prefixLength;
+
+  @Column(nullable = false)
+  private Integer suffixLength;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String text;
+
+  public PostDraftDeltaEntity(Long postId, int seq, int prefixLength, int suffixLength,
+      String text) {
+    this.postId = postId;
+    this.seq = seq;
+    this.prefixLength = prefixLength;
+    this.suffixLength = suffixLength;
+    this.text = text;
+  }
+}
@@ -0,0 +1,64 @@
+package daul.communityservice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * 편집 중인 게시글 초안 (게시글당 하나)
+ *
+ * 본문은 저장하지 않고 발행된 본문(posts.content)에 post_draft_deltas 를 seq 순서로 적용해 만든다.
+ * 자동 저장마다 바뀐 구간만 delta 로 쌓이고, PostDraftCompactor 가 주기적으로 하나로 합친다.
+ */
+@Entity
+@Table(name = "post_drafts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostDraftEntity {
+
+  @Id
+  private Long postId;
+
+  @Column(name = "author_id", nullable = false)
+  private String authorId;
+
+  @Column(nullable = false, length = 254)
+  private String title;
+
+  @Column(nullable = true)
+  private String thumbnail;
+
+  // null 이면 발행된 태그 그대로
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(nullable = true, columnDefinition = "text[]")
+  private List<String> tags;
+
+  // 초안을 시작할 때의 posts.updated_at. 다르면 그사이 게시글이 수정된 것이라 delta 를 적용할 수 없다
+  @Column(nullable = true)
+  private LocalDateTime baseUpdatedAt;
+
+  // 마지막으로 쌓인 delta 의 seq, 그리고 그 이하가 하나로 합쳐진 seq
+  @Column(nullable = false)
+  private Integer lastSeq = 0;
+
+  @Column(nullable = false)
+  private Integer compactedSeq = 0;
+
+  @Column(nullable = false, updatable = false)
+  @CreationTimestamp
+  private LocalDateTime createdAt;
+
+  @Column(nullable = true)
+  @UpdateTimestamp
+  private LocalDateTime updatedAt;
+}
@@ -6,11 +6,20 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    // 최신순 keyset 페이지네이션 (is_published, created_at DESC, post_id DESC)
+    @Index(name = "idx_posts_published_created", columnList = "is_published, created_at DESC, post_id DESC"),
+    // PostPurger 가 오래된 삭제 표시부터 찾는 쿼리용
+    @Index(name = "idx_posts_deleted_at", columnList = "is_deleted, deleted_at")
+})
+// 삭제 표시된 게시글은 엔티티 조회(findById, JPQL)에서 모두 빠진다. (네이티브/JdbcTemplate 쿼리는 직접 조건을 건다)
+@SQLRestriction("is_deleted = false")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,15 +40,30 @@ public class PostEntity {
   @Column(nullable = false, columnDefinition = "TEXT")
   private String content;
 
+  // 목록 카드용 본문 요약 (작성/수정 시 생성, 목록 조회는 content 대신 이 컬럼만 읽음)
+  @Column(nullable = true, length = 255)
+  private String excerpt;
+
   @Column(nullable = true)
   private String thumbnail;
 
   @Column(nullable = false)
   private Boolean isPublished = true;
 
-  @Column(nullable = false)
+  // 조회수는 ViewCountBuffer 가 배치 UPDATE 로만 갱신 (엔티티 저장 시 덮어쓰지 않도록 updatable = false)
+  @Column(nullable = false, updatable = false)
   private Integer viewCount = 0;
 
+  // 좋아요/댓글 수 역정규화. 좋아요·댓글 쓰기와 같은 트랜잭션에서 원자적 UPDATE 로만 갱신하고
+  // PostCounterReconciler 가 주기적으로 실제 개수와 맞춘다.
+  @ColumnDefault("0")
+  @Column(nullable = false, updatable = false)
+  private Long likeCount = 0L;
+
+  @ColumnDefault("0")
+  @Column(nullable = false, updatable = false)
+  private Long commentCount = 0L;
+
   @Column(nullable = false, updatable = false)
   @CreationTimestamp
   private LocalDateTime createdAt;
@@ -48,6 +72,15 @@ public class PostEntity {
   @UpdateTimestamp
   private LocalDateTime updatedAt;
 
+  // 삭제 표시 (tombstone). 댓글/좋아요/태그/이미지는 PostPurger 가 나눠 지운 뒤 행을 삭제한다.
+  // PostRepository.markDeleted 로만 바뀌도록 updatable = false (동시에 저장되는 수정이 되살리지 않게)
+  @ColumnDefault("false")
+  @Column(nullable = false, updatable = false)
+  private Boolean isDeleted = false;
+
+  @Column(nullable = true, updatable = false)
+  private LocalDateTime deletedAt;
+
   public void setPost(String authorId, String title,
       String content, Boolean isPublished, String thumbnail) {
     this.authorId = authorId;
@@ -0,0 +1,33 @@
+package daul.communityservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글(과 그 초안)이 참조하는 업로드 이미지 파일명. 작성/수정/초안 저장 때 기록하고,
+ * 게시글 정리(PostPurger)가 다른 글이 아직 쓰는 이미지인지 본문 검색 없이 확인하는 데 쓴다.
+ */
+@Entity
+@Table(name = "post_images", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_post_images_post_file", columnNames = {"post_id", "file_name"})
+}, indexes = {
+    // 파일명으로 참조 여부 조회 (유니크 제약은 post_id 로 시작)
+    @Index(name = "idx_post_images_file_name", columnList = "file_name")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImageEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long postImageId;
+
+  @Column(name = "post_id", nullable = false)
+  private Long postId;
+
+  @Column(name = "file_name", nullable = false, length = 100)
+  private String fileName;
+}
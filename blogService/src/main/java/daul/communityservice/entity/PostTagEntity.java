@@ -9,7 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 
 @Entity
 @Slf4j
-@Table(name = "post_tags")
+@Table(name = "post_tags", indexes = {
+    // 태그별 게시글 keyset 조회 (PK 는 post_id, tag_id 순서라 tag_id 로 시작하는 인덱스가 따로 필요)
+    @Index(name = "idx_post_tags_tag_post", columnList = "tag_id, post_id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -5,9 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", indexes = {
+    // 인기 태그 조회 (post_count DESC)
+    @Index(name = "idx_tags_post_count", columnList = "post_count DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,4 +24,9 @@ public class TagEntity {
 
   @Column(nullable = false, unique = true, length = 50)
   private String tagName;
+
+  // 이 태그가 달린 공개·미삭제 게시글 수. 커밋 후 TagPostCounts 가 다시 세고, 빠진 변경분은 PostCounterReconciler 가 보정
+  @ColumnDefault("0")
+  @Column(nullable = false, updatable = false)
+  private Long postCount = 0L;
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package daul.communityservice.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 요청(스레드) 단위 JDBC 실행 횟수와 읽은 행 수
+ *
+ * DataSource 를 감싸 Statement 실행(execute*)과 ResultSet.next() 를 센다. start() ~ stop() 사이에
+ * 같은 스레드에서 실행된 것만 세며, 세는 중이 아니면 ResultSet 은 감싸지 않는다.
+ * (배치 실행은 DB 왕복 기준으로 1회)
+ */
+public final class JdbcStatementCounter {
+
+  private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+  private JdbcStatementCounter() {
+  }
+
+  public static void start() {
+    CURRENT.set(new Counts());
+  }
+
+  /**
+   * 세기를 끝내고 결과를 반환한다. start() 없이 호출하면 null
+   */
+  public static Counts stop() {
+    Counts counts = CURRENT.get();
+    CURRENT.remove();
+    return counts;
+  }
+
+  public static DataSource wrap(DataSource dataSource) {
+    return dataSource instanceof CountingDataSource ? dataSource
+        : new CountingDataSource(dataSource);
+  }
+
+  public static final class Counts {
+
+    private int statements;
+    private long rows;
+
+    public int getStatements() {
+      return statements;
+    }
+
+    public long getRows() {
+      return rows;
+    }
+  }
+
+  static final class CountingDataSource extends DelegatingDataSource {
+
+    CountingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return proxy(Connection.class, super.getConnection(), JdbcStatementCounter::onConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return proxy(Connection.class, super.getConnection(username, password),
+          JdbcStatementCounter::onConnection);
+    }
+  }
+
+  // createStatement / prepareStatement / prepareCall 이 돌려준 Statement 를 감싼다
+  private static Object onConnection(Method method, Object result) {
+    if (result instanceof CallableStatement statement) {
+      return proxy(CallableStatement.class, statement, JdbcStatementCounter::onStatement);
+    }
+    if (result instanceof PreparedStatement statement) {
+      return proxy(PreparedStatement.class, statement, JdbcStatementCounter::onStatement);
+    }
+    if (result instanceof Statement statement) {
+      return proxy(Statement.class, statement, JdbcStatementCounter::onStatement);
+    }
+    return result;
+  }
+
+  private static Object onStatement(Method method, Object result) {
+    Counts counts = CURRENT.get();
+    if (counts == null) {
+      return result;
+    }
+    if (method.getName().startsWith("execute")) {
+      counts.statements++;
+    }
+    if (result instanceof ResultSet resultSet
+        && (method.getName().equals("executeQuery") || method.getName().equals("getResultSet"))) {
+      return proxy(ResultSet.class, resultSet, JdbcStatementCounter::onResultSet);
+    }
+    return result;
+  }
+
+  private static Object onResultSet(Method method, Object result) {
+    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+      Counts counts = CURRENT.get();
+      if (counts != null) {
+        counts.rows++;
+      }
+    }
+    return result;
+  }
+
+  @FunctionalInterface
+  private interface ResultHandler {
+
+    Object handle(Method method, Object result);
+  }
+
+  private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+    InvocationHandler invocation = (proxy, method, args) -> {
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+      return handler.handle(method, result);
+    };
+    return type.cast(Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(),
+        new Class<?>[]{type}, invocation));
+  }
+}
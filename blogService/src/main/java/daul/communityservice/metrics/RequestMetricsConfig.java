@@ -0,0 +1,42 @@
+package daul.communityservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 요청 지표 수집 설정 (컨트롤러 지연 시간 + 요청당 SQL 횟수)
+ */
+@Configuration
+public class RequestMetricsConfig implements WebMvcConfigurer {
+
+  private final MeterRegistry meterRegistry;
+  private final int statementWarnThreshold;
+
+  public RequestMetricsConfig(MeterRegistry meterRegistry,
+      @Value("${blog.metrics.statement-warn-threshold:50}") int statementWarnThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.statementWarnThreshold = statementWarnThreshold;
+  }
+
+  // DataSource 가 만들어지자마자 감싸도록 static (다른 빈보다 먼저 등록)
+  @Bean
+  public static BeanPostProcessor jdbcStatementCountingPostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? JdbcStatementCounter.wrap(dataSource) : bean;
+      }
+    };
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, statementWarnThreshold));
+  }
+}
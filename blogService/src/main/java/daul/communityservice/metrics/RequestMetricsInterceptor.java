@@ -0,0 +1,86 @@
+package daul.communityservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 컨트롤러 메서드별 지연 시간과 요청당 SQL 실행 횟수/읽은 행 수
+ *
+ * blog.http.handler (Timer), blog.http.handler.jdbc.statements / rows (DistributionSummary) 로
+ * controller, method 태그를 붙여 기록한다. 요청당 SQL 이 warnThreshold 이상이면 N+1 의심으로 경고 로그를 남긴다.
+ */
+@Slf4j
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+  private static final String SAMPLE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".sample";
+  private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+  private final MeterRegistry registry;
+  private final int statementWarnThreshold;
+
+  public RequestMetricsInterceptor(MeterRegistry registry, int statementWarnThreshold) {
+    this.registry = registry;
+    this.statementWarnThreshold = statementWarnThreshold;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    if (handler instanceof HandlerMethod) {
+      request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(registry));
+      JdbcStatementCounter.start();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    if (!(handler instanceof HandlerMethod handlerMethod)
+        || !(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample)) {
+      return;
+    }
+    JdbcStatementCounter.Counts counts = JdbcStatementCounter.stop();
+
+    String controller = handlerMethod.getBeanType().getSimpleName();
+    String method = handlerMethod.getMethod().getName();
+    Tags tags = Tags.of("controller", controller, "method", method);
+
+    sample.stop(Timer.builder("blog.http.handler")
+        .description("컨트롤러 메서드 처리 시간")
+        .tags(tags)
+        .tag("status", String.valueOf(response.getStatus()))
+        .tag("exception", ex != null ? ex.getClass().getSimpleName() : "none")
+        .publishPercentiles(PERCENTILES)
+        .publishPercentileHistogram()
+        .register(registry));
+
+    if (counts == null) {
+      return;
+    }
+    DistributionSummary.builder("blog.http.handler.jdbc.statements")
+        .description("요청당 JDBC 실행 횟수")
+        .tags(tags)
+        .publishPercentiles(PERCENTILES)
+        .register(registry)
+        .record(counts.getStatements());
+    DistributionSummary.builder("blog.http.handler.jdbc.rows")
+        .description("요청당 읽은 행 수")
+        .tags(tags)
+        .publishPercentiles(PERCENTILES)
+        .register(registry)
+        .record(counts.getRows());
+
+    if (counts.getStatements() >= statementWarnThreshold) {
+      log.warn("요청당 SQL {}회 ({}행) - {}.{} {}", counts.getStatements(), counts.getRows(),
+          controller, method, request.getRequestURI());
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package daul.communityservice.repository;
 
 import daul.communityservice.entity.CommentEntity;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
 
@@ -12,5 +15,20 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
 
   List<CommentEntity> findByParentComment_CommentIdOrderByCreatedAtAsc(Long parentId);
 
+  // 최상위 댓글 한 페이지 (작성순)
+  @Query("SELECT c FROM CommentEntity c WHERE c.postId = :postId AND c.parentId IS NULL "
+      + "ORDER BY c.createdAt ASC, c.commentId ASC")
+  List<CommentEntity> findRootsByPostIdOrdered(@Param("postId") Long postId, Pageable pageable);
+
+  // 주어진 댓글들의 하위 대댓글 전체 (작성순). 부모가 항상 먼저 작성되므로 limit 에서 잘려도 고아가 생기지 않는다
+  @Query(value = "WITH RECURSIVE thread AS ("
+      + "SELECT * FROM comments WHERE parent_id IN (:parentIds) "
+      + "UNION ALL "
+      + "SELECT c.* FROM comments c JOIN thread t ON c.parent_id = t.comment_id) "
+      + "SELECT * FROM thread ORDER BY created_at ASC, comment_id ASC LIMIT :limit",
+      nativeQuery = true)
+  List<CommentEntity> findDescendantsOrdered(@Param("parentIds") Collection<Long> parentIds,
+      @Param("limit") int limit);
+
   Long countByPostIdAndIsDeletedFalse(Long postId);
 }
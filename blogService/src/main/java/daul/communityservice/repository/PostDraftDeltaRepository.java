@@ -0,0 +1,21 @@
+package daul.communityservice.repository;
+
+import daul.communityservice.entity.PostDraftDeltaEntity;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PostDraftDeltaRepository extends JpaRepository<PostDraftDeltaEntity, Long> {
+
+  List<PostDraftDeltaEntity> findByPostIdOrderBySeq(Long postId);
+
+  @Modifying
+  @Query("DELETE FROM PostDraftDeltaEntity d WHERE d.postId = :postId AND d.seq <= :seq")
+  int deleteUpTo(@Param("postId") Long postId, @Param("seq") int seq);
+
+  @Modifying
+  @Query("DELETE FROM PostDraftDeltaEntity d WHERE d.postId = :postId")
+  int deleteByPostId(@Param("postId") Long postId);
+}
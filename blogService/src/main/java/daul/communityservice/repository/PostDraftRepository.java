@@ -0,0 +1,22 @@
+package daul.communityservice.repository;
+
+import daul.communityservice.entity.PostDraftEntity;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PostDraftRepository extends JpaRepository<PostDraftEntity, Long> {
+
+  // 같은 초안에 대한 자동 저장/발행/압축을 한 줄로 세운다 (SELECT ... FOR UPDATE)
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT d FROM PostDraftEntity d WHERE d.postId = :postId")
+  Optional<PostDraftEntity> findByIdForUpdate(@Param("postId") Long postId);
+
+  @Query("SELECT d.postId FROM PostDraftEntity d WHERE d.lastSeq - d.compactedSeq >= :minDeltas")
+  List<Long> findCompactionCandidates(@Param("minDeltas") int minDeltas, Pageable pageable);
+}
@@ -1,8 +1,11 @@
 package daul.communityservice.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import daul.communityservice.dto.PostSummaryDTO;
+import daul.communityservice.dto.TrendingCandidateDTO;
 import daul.communityservice.entity.PostEntity;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -13,6 +16,11 @@ import org.springframework.data.repository.query.Param;
 
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
+  // 목록용 요약 프로젝션 (content 컬럼은 읽지 않음)
+  String SUMMARY_SELECT = "SELECT new daul.communityservice.dto.PostSummaryDTO("
+      + "p.postId, p.authorId, p.title, p.excerpt, p.thumbnail, p.isPublished, p.viewCount, "
+      + "p.createdAt, p.updatedAt) FROM PostEntity p ";
+
   PostEntity save(PostEntity post);
 
   Optional<PostEntity> findById(Long id);
@@ -21,16 +29,103 @@ public interface PostRepository extends JpaRepository<PostEntity, Long> {
   @Query("UPDATE PostEntity p SET p.viewCount = p.viewCount + 1 WHERE p.postId = :postId")
   int incrementViewCount(@Param("postId") Long postId);
 
+  // 댓글 수 원자적 증감 (음수로 내려가지 않도록)
+  @Modifying
+  @Query("UPDATE PostEntity p SET p.commentCount = CASE WHEN p.commentCount + :delta < 0 THEN 0 "
+      + "ELSE p.commentCount + :delta END WHERE p.postId = :postId")
+  int addCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+  // 삭제 표시 (이미 삭제됐거나 없으면 0)
+  @Modifying
+  @Query("UPDATE PostEntity p SET p.isDeleted = true, p.deletedAt = :deletedAt "
+      + "WHERE p.postId = :postId AND p.isDeleted = false")
+  int markDeleted(@Param("postId") Long postId, @Param("deletedAt") LocalDateTime deletedAt);
+
+  @Query("SELECT p.commentCount FROM PostEntity p WHERE p.postId = :postId")
+  Optional<Long> findCommentCount(@Param("postId") Long postId);
+
   // 최신순 조회
-  Page<PostEntity> findAllByIsPublishedTrueOrderByCreatedAtDesc(Pageable pageable);
+  @Query(value = SUMMARY_SELECT + "WHERE p.isPublished = true "
+      + "ORDER BY p.createdAt DESC, p.postId DESC",
+      countQuery = "SELECT COUNT(p) FROM PostEntity p WHERE p.isPublished = true")
+  Page<PostSummaryDTO> findRecentSummaries(Pageable pageable);
 
-  @Query("SELECT p FROM PostEntity p " +
+  // 최신순 keyset 조회 (count 쿼리 없음)
+  @Query(SUMMARY_SELECT + "WHERE p.isPublished = true "
+      + "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<PostSummaryDTO> findRecentPosts(Pageable pageable);
+
+  // 행 값 비교라 (is_published, created_at, post_id) 인덱스 범위 탐색으로 바로 이어 읽는다 (OR 로 풀면 필터가 됨)
+  @Query(SUMMARY_SELECT + "WHERE p.isPublished = true "
+      + "AND (p.createdAt, p.postId) < (:createdAt, :postId) "
+      + "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<PostSummaryDTO> findRecentPostsBefore(@Param("createdAt") LocalDateTime createdAt,
+      @Param("postId") Long postId, Pageable pageable);
+
+  @Query(value = SUMMARY_SELECT +
       "WHERE p.isPublished = true " +
       "AND p.createdAt >= :sevenDaysAgo " + // 생성일이 7일 전 시간보다 크거나 같음
-      "ORDER BY p.viewCount DESC, p.createdAt DESC")
-  Page<PostEntity> findTrendingPosts(LocalDateTime sevenDaysAgo,Pageable pageable);
+      "ORDER BY p.viewCount DESC, p.createdAt DESC",
+      countQuery = "SELECT COUNT(p) FROM PostEntity p "
+          + "WHERE p.isPublished = true AND p.createdAt >= :sevenDaysAgo")
+  Page<PostSummaryDTO> findTrendingPosts(@Param("sevenDaysAgo") LocalDateTime sevenDaysAgo,
+      Pageable pageable);
+
+  // 트렌딩 랭킹 초기화 전 커서 조회 (조회수 순, keyset)
+  @Query(SUMMARY_SELECT + "WHERE p.isPublished = true AND p.createdAt >= :since "
+      + "ORDER BY p.viewCount DESC, p.createdAt DESC, p.postId DESC")
+  List<PostSummaryDTO> findTrendingPostsByViews(@Param("since") LocalDateTime since,
+      Pageable pageable);
+
+  @Query(SUMMARY_SELECT + "WHERE p.isPublished = true AND p.createdAt >= :since "
+      + "AND (p.viewCount, p.createdAt, p.postId) < (:viewCount, :createdAt, :postId) "
+      + "ORDER BY p.viewCount DESC, p.createdAt DESC, p.postId DESC")
+  List<PostSummaryDTO> findTrendingPostsByViewsBefore(@Param("since") LocalDateTime since,
+      @Param("viewCount") Integer viewCount, @Param("createdAt") LocalDateTime createdAt,
+      @Param("postId") Long postId, Pageable pageable);
+
+  // 태그별 게시글 keyset 조회 (postId 내림차순). post_tags(tag_id, post_id) 인덱스를 역순으로 따라가며 posts 는 PK 로 조인
+  String TAGGED_SUMMARY_SELECT = "SELECT new daul.communityservice.dto.PostSummaryDTO("
+      + "p.postId, p.authorId, p.title, p.excerpt, p.thumbnail, p.isPublished, p.viewCount, "
+      + "p.createdAt, p.updatedAt) FROM PostTagEntity pt JOIN pt.post p "
+      + "WHERE pt.postTagId.tagId = :tagId AND p.isPublished = true AND p.isDeleted = false ";
+
+  @Query(TAGGED_SUMMARY_SELECT + "ORDER BY pt.postTagId.postId DESC")
+  List<PostSummaryDTO> findTaggedPosts(@Param("tagId") Long tagId, Pageable pageable);
+
+  @Query(TAGGED_SUMMARY_SELECT + "AND pt.postTagId.postId < :postId ORDER BY pt.postTagId.postId DESC")
+  List<PostSummaryDTO> findTaggedPostsBefore(@Param("tagId") Long tagId,
+      @Param("postId") Long postId, Pageable pageable);
+
+  // 랭킹/타임라인에서 고른 postId 들의 요약 (공개 게시글만)
+  @Query(SUMMARY_SELECT + "WHERE p.isPublished = true AND p.postId IN :postIds")
+  List<PostSummaryDTO> findPublishedSummariesByIds(@Param("postIds") Collection<Long> postIds);
+
+  // excerpt 채우기용
+  @Query("SELECT p.postId, p.content FROM PostEntity p WHERE p.excerpt IS NULL ORDER BY p.postId")
+  List<Object[]> findContentsWithoutExcerpt(Pageable pageable);
+
+  // 검색 색인 (전체 / watermark 이후 변경분) - postId keyset
+  @Query("SELECT p FROM PostEntity p WHERE p.postId > :afterId ORDER BY p.postId")
+  List<PostEntity> findPostsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  @Query("SELECT p FROM PostEntity p WHERE p.postId > :afterId "
+      + "AND (p.createdAt >= :since OR p.updatedAt >= :since) ORDER BY p.postId")
+  List<PostEntity> findPostsChangedSinceAfter(@Param("since") LocalDateTime since,
+      @Param("afterId") Long afterId, Pageable pageable);
+
+  // 트렌딩 랭킹 초기화용 (필요한 컬럼만 조회)
+  @Query("SELECT new daul.communityservice.dto.TrendingCandidateDTO("
+      + "p.postId, p.createdAt, p.viewCount, p.likeCount, p.commentCount) FROM PostEntity p WHERE p.isPublished = true AND p.createdAt >= :since")
+  List<TrendingCandidateDTO> findTrendingCandidates(@Param("since") LocalDateTime since);
 
   @Query("SELECT p FROM PostEntity p WHERE p.isPublished = true AND p.authorId IN :authorIds ORDER BY p.createdAt DESC")
   Page<PostEntity> findFeedPostsByAuthorIds(@Param("authorIds") List<String> authorIds,
       Pageable pageable);
+
+  // 피드 타임라인 seed 용 (count 쿼리 없이 postId 만)
+  @Query("SELECT p.postId FROM PostEntity p WHERE p.isPublished = true AND p.authorId IN :authorIds "
+      + "ORDER BY p.createdAt DESC, p.postId DESC")
+  List<Long> findFeedPostIdsByAuthorIds(@Param("authorIds") List<String> authorIds,
+      Pageable pageable);
 }
@@ -2,15 +2,23 @@ package daul.communityservice.repository;
 
 import daul.communityservice.entity.PostTagEntity;
 import daul.communityservice.entity.PostTagId;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface PostTagRepository extends JpaRepository <PostTagEntity, PostTagId>{
 
   List<PostTagEntity> findByPostTagId_PostId(Long postId);
 
+  // 게시글들의 (postId, tagId) 쌍을 한 번에 (태그 이름은 TagNameCache 에서)
+  @Query("SELECT pt.postTagId.postId, pt.postTagId.tagId FROM PostTagEntity pt "
+      + "WHERE pt.postTagId.postId IN :postIds ORDER BY pt.postTagId.postId, pt.postTagId.tagId")
+  List<Object[]> findTagIdsByPostIds(@Param("postIds") Collection<Long> postIds);
+
   boolean existsByPostTagId_PostIdAndPostTagId_TagId(Long postId, Long tagId);
 
   @Modifying
@@ -19,4 +27,5 @@ public interface PostTagRepository extends JpaRepository <PostTagEntity, PostTag
   @Modifying
   @Transactional
   void deleteByPostTagId_PostId(Long postId);
+
 }
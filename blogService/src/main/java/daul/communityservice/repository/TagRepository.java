@@ -1,12 +1,24 @@
 package daul.communityservice.repository;
 
+import daul.communityservice.dto.TagCountDTO;
 import daul.communityservice.entity.TagEntity;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface TagRepository extends JpaRepository<TagEntity, Long> {
   Optional<TagEntity> findByTagName(String tagName);
 
+  List<TagEntity> findAllByTagNameIn(Collection<String> tagNames);
+
+  // post_count 인덱스를 따라 상위 N개만 읽는다 (post_tags 는 보지 않음)
+  @Query("SELECT new daul.communityservice.dto.TagCountDTO(t.tagName, t.postCount) FROM TagEntity t "
+      + "WHERE t.postCount > 0 ORDER BY t.postCount DESC, t.tagId")
+  List<TagCountDTO> findPopularTags(Pageable pageable);
+
   TagEntity save(TagEntity post);
 
 }
@@ -0,0 +1,27 @@
+package daul.communityservice.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션이 커밋된 뒤에만 메모리 인덱스·캐시를 갱신하기 위한 도우미 (롤백된 변경이 반영되지 않도록)
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {
+  }
+
+  // 트랜잭션이 있으면 커밋된 뒤에, 없으면 바로 실행
+  public static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
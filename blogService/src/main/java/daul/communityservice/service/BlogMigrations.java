@@ -0,0 +1,117 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostImageDao;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 데이터 이관 (서비스 시작 시 한 번)
+ *
+ * 완료한 이관은 blog_migrations 테이블에 이름으로 기록해 두고 다시 실행하지 않는다.
+ * 중간에 실패하면 기록되지 않으므로 다음 시작 때 처음부터 다시 실행된다 (각 이관은 여러 번 실행해도 안전하다).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlogMigrations {
+
+  public static final String POST_IMAGES = "post_images_backfill";
+
+  private static final int BACKFILL_BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PostImageDao postImageDao;
+  private final ImageStorage imageStorage;
+
+  @Order(0)
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrate() {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS blog_migrations ("
+        + "name VARCHAR(100) PRIMARY KEY, applied_at TIMESTAMP NOT NULL DEFAULT now())");
+    run("likes_unique_post_user", this::addLikesUniqueConstraint);
+    run(POST_IMAGES, this::backfillPostImages);
+  }
+
+  public boolean isApplied(String name) {
+    return !jdbcTemplate.queryForList(
+        "SELECT 1 FROM blog_migrations WHERE name = ?", Integer.class, name).isEmpty();
+  }
+
+  private void run(String name, Runnable migration) {
+    if (isApplied(name)) {
+      return;
+    }
+    log.info("데이터 이관 시작 - {}", name);
+    try {
+      migration.run();
+    } catch (Exception e) {
+      log.error("데이터 이관 실패 - {}", name, e);
+      return;
+    }
+    jdbcTemplate.update("INSERT INTO blog_migrations (name) VALUES (?) ON CONFLICT DO NOTHING", name);
+    log.info("데이터 이관 완료 - {}", name);
+  }
+
+  /**
+   * 좋아요 토글(INSERT ... ON CONFLICT)이 기대는 (post_id, user_sign_id) 유니크 제약.
+   * 새 DB 는 LikeEntity 의 @UniqueConstraint 로 만들어지지만, 예전 경합으로 중복이 남은 DB 에서는 ddl-auto 가
+   * 제약을 못 붙이므로 중복을 지운 뒤 직접 추가한다. 좋아요 수는 이후 PostCounterReconciler 가 맞춘다.
+   */
+  private void addLikesUniqueConstraint() {
+    int removed = jdbcTemplate.update("DELETE FROM likes a USING likes b "
+        + "WHERE a.post_id = b.post_id AND a.user_sign_id = b.user_sign_id AND a.like_id > b.like_id");
+    List<Integer> existing = jdbcTemplate.queryForList(
+        "SELECT 1 FROM pg_constraint WHERE conname = 'uk_likes_post_user'", Integer.class);
+    if (existing.isEmpty()) {
+      jdbcTemplate.execute("ALTER TABLE likes "
+          + "ADD CONSTRAINT uk_likes_post_user UNIQUE (post_id, user_sign_id)");
+    }
+    log.info("중복 좋아요 삭제: {}건", removed);
+  }
+
+  /**
+   * 이미지 참조 기록(post_images) 이전에 작성된 게시글/초안의 참조를 본문에서 찾아 채운다.
+   * 이 이관이 끝나기 전에는 PostPurger 가 게시글 정리를 미룬다.
+   */
+  private void backfillPostImages() {
+    long after = 0;
+    int posts = 0;
+    List<ImageText> batch;
+    do {
+      batch = jdbcTemplate.query("SELECT post_id, content, thumbnail FROM posts "
+              + "WHERE post_id > ? AND is_deleted = false ORDER BY post_id LIMIT ?",
+          (rs, rowNum) -> new ImageText(rs.getLong("post_id"), rs.getString("content"),
+              rs.getString("thumbnail")),
+          after, BACKFILL_BATCH_SIZE);
+      batch.forEach(this::recordImages);
+      posts += batch.size();
+      if (!batch.isEmpty()) {
+        after = batch.get(batch.size() - 1).postId();
+      }
+    } while (batch.size() == BACKFILL_BATCH_SIZE);
+
+    // 초안은 게시글당 하나(와 압축된 delta 몇 개)뿐이라 한 번에 읽는다
+    jdbcTemplate.query("SELECT post_id, thumbnail FROM post_drafts",
+            (rs, rowNum) -> new ImageText(rs.getLong("post_id"), null, rs.getString("thumbnail")))
+        .forEach(this::recordImages);
+    jdbcTemplate.query("SELECT post_id, text FROM post_draft_deltas",
+            (rs, rowNum) -> new ImageText(rs.getLong("post_id"), rs.getString("text"), null))
+        .forEach(this::recordImages);
+    log.info("게시글 이미지 참조 기록: 게시글 {}건", posts);
+  }
+
+  private void recordImages(ImageText text) {
+    postImageDao.addAll(text.postId(),
+        imageStorage.findFileNames(text.content(), text.thumbnail()));
+  }
+
+  private record ImageText(long postId, String content, String thumbnail) {
+
+  }
+}
@@ -10,6 +10,8 @@ public interface CommentService {
   CommentDTO updateComment(Long commentId, String userId, CommentUpdateRequestDTO dto);
   void deleteComment(Long commentId, String userId);
   List<CommentDTO> getCommentsByPostId(Long postId);
+  // 최상위 댓글 기준 페이지 (대댓글은 각 스레드에 포함)
+  List<CommentDTO> getCommentsByPostId(Long postId, int page, int size);
   CommentDTO getCommentById(Long commentId);
   Long getCommentCount(Long postId);
 
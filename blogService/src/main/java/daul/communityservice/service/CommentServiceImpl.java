@@ -7,18 +7,33 @@ import daul.communityservice.dto.CommentDTO;
 import daul.communityservice.dto.CommentUpdateRequestDTO;
 import daul.communityservice.entity.CommentEntity;
 import daul.communityservice.entity.PostEntity;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class CommentServiceImpl implements CommentService {
 
   private final CommentDao commentDao;
   private final PostDao postDao;
+  private final TrendingRanking trendingRanking;
+
+  // 한 번에 읽는 최대 최상위 댓글 수(페이지 없이 조회할 때)와 그 아래 대댓글 수
+  @Value("${blog.comments.max-load:5000}")
+  private int maxLoad;
+  // 이보다 깊은 대댓글은 maxDepth 단계 댓글 아래로 평탄화
+  @Value("${blog.comments.max-depth:10}")
+  private int maxDepth;
 
   @Override
   @Transactional
@@ -41,6 +56,8 @@ public class CommentServiceImpl implements CommentService {
     }
 
     CommentEntity savedComment = commentDao.save(comment);
+    postDao.addCommentCount(savedComment.getPostId(), 1);
+    AfterCommit.run(() -> trendingRanking.recordComment(savedComment.getPostId(), 1));
     return convertToDTO(savedComment);
   }
 
@@ -76,6 +93,11 @@ public class CommentServiceImpl implements CommentService {
       throw new IllegalStateException("댓글 삭제 권한이 없습니다.");
     }
 
+    // 이미 소프트 삭제된 댓글은 개수를 다시 줄이지 않음
+    if (comment.getIsDeleted()) {
+      return;
+    }
+
     // 소프트 삭제 (대댓글이 있는 경우 내용만 변경)
     if (!comment.getChildComments().isEmpty()) {
       comment.setContent("삭제된 댓글입니다.");
@@ -85,16 +107,28 @@ public class CommentServiceImpl implements CommentService {
       // 대댓글이 없으면 실제 삭제
       commentDao.deleteById(commentId);
     }
+    postDao.addCommentCount(comment.getPostId(), -1);
+    AfterCommit.run(() -> trendingRanking.recordComment(comment.getPostId(), -1));
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<CommentDTO> getCommentsByPostId(Long postId) {
-    List<CommentEntity> topLevelComments = commentDao.findTopLevelCommentsByPostId(postId);
+    return getCommentsByPostId(postId, 0, maxLoad);
+  }
 
-    return topLevelComments.stream()
-        .map(this::convertToDTOWithChildren)
-        .collect(Collectors.toList());
+  @Override
+  @Transactional(readOnly = true)
+  public List<CommentDTO> getCommentsByPostId(Long postId, int page, int size) {
+    // 1. 최상위 댓글은 DB 에서 페이지 단위로 자른다
+    List<CommentEntity> roots = commentDao.findRootsByPostId(postId, page, size);
+
+    // 2. 그 댓글들의 대댓글만 한 번에 조회 (childComments 지연 로딩을 타지 않음)
+    List<CommentEntity> descendants = loadDescendants(
+        roots.stream().map(CommentEntity::getCommentId).toList());
+
+    // 3. 트리 조립
+    return assembleTree(roots, descendants, maxDepth);
   }
 
   @Override
@@ -102,26 +136,67 @@ public class CommentServiceImpl implements CommentService {
   public CommentDTO getCommentById(Long commentId) {
     CommentEntity comment = commentDao.findById(commentId)
         .orElseThrow(() -> new IllegalArgumentException("댓글이 존재하지 않습니다."));
-    return convertToDTOWithChildren(comment);
+    Map<Long, List<CommentEntity>> repliesMap =
+        groupByParent(loadDescendants(List.of(comment.getCommentId())));
+    return convertToDTOWithChildren(comment, repliesMap, 1, maxDepth);
   }
 
   @Override
   @Transactional(readOnly = true)
   public Long getCommentCount(Long postId) {
-    return commentDao.countByPostId(postId);
+    return postDao.getCommentCount(postId);
   }
 
-  private CommentDTO convertToDTOWithChildren(CommentEntity entity) {
-    List<CommentDTO> children = entity.getChildComments().stream()
-        .map(this::convertToDTOWithChildren)
+  private List<CommentEntity> loadDescendants(List<Long> parentIds) {
+    List<CommentEntity> descendants = commentDao.findDescendants(parentIds, maxLoad);
+    if (descendants.size() >= maxLoad) {
+      log.warn("대댓글 수가 상한({})에 도달해 최근 대댓글 일부가 빠집니다. 최상위 댓글 {}개",
+          maxLoad, parentIds.size());
+    }
+    return descendants;
+  }
+
+  /**
+   * 최상위 댓글들과 그 하위 대댓글(작성순)로 트리를 만든다. (벤치마크에서도 직접 호출)
+   */
+  static List<CommentDTO> assembleTree(List<CommentEntity> roots, List<CommentEntity> descendants,
+      int maxDepth) {
+    // 대댓글을 부모 ID로 그룹화
+    Map<Long, List<CommentEntity>> repliesMap = groupByParent(descendants);
+    return roots.stream()
+        .map(rootComment -> convertToDTOWithChildren(rootComment, repliesMap, 1, maxDepth))
         .collect(Collectors.toList());
+  }
+
+  // 작성순으로 읽었으므로 그룹 안의 순서도 작성순
+  private static Map<Long, List<CommentEntity>> groupByParent(List<CommentEntity> comments) {
+    return comments.stream()
+        .filter(comment -> comment.getParentId() != null)
+        .collect(Collectors.groupingBy(CommentEntity::getParentId));
+  }
+
+  /**
+   * repliesMap 으로 하위 트리를 조립한다. depth 가 maxDepth 에 닿으면 그 아래 대댓글은 모두 평탄화해서 붙인다.
+   */
+  private static CommentDTO convertToDTOWithChildren(CommentEntity entity,
+      Map<Long, List<CommentEntity>> repliesMap, int depth, int maxDepth) {
+    List<CommentEntity> childEntities = repliesMap.getOrDefault(entity.getCommentId(), List.of());
+    List<CommentDTO> children;
+    if (depth < maxDepth) {
+      children = childEntities.stream()
+          .map(child -> convertToDTOWithChildren(child, repliesMap, depth + 1, maxDepth))
+          .collect(Collectors.toList());
+    } else {
+      children = flattenDescendants(entity, repliesMap).stream()
+          .map(CommentServiceImpl::convertToDTO)
+          .collect(Collectors.toList());
+    }
 
     return CommentDTO.builder()
         .commentId(entity.getCommentId())
         .postId(entity.getPostId())
         .userId(entity.getUserId())
-        .parentId(
-            entity.getParentComment() != null ? entity.getParentComment().getCommentId() : null)
+        .parentId(entity.getParentId())
         .content(entity.getContent())
         .isDeleted(entity.getIsDeleted())
         .createdAt(entity.getCreatedAt())
@@ -131,7 +206,27 @@ public class CommentServiceImpl implements CommentService {
         .build();
   }
 
-  private CommentDTO convertToDTO(CommentEntity entity) {
+  // 하위 대댓글 전체를 깊이 우선(작성순) 순서로
+  private static List<CommentEntity> flattenDescendants(CommentEntity root,
+      Map<Long, List<CommentEntity>> repliesMap) {
+    List<CommentEntity> descendants = new ArrayList<>();
+    Deque<CommentEntity> stack = new ArrayDeque<>();
+    pushChildren(stack, repliesMap.getOrDefault(root.getCommentId(), List.of()));
+    while (!stack.isEmpty()) {
+      CommentEntity comment = stack.pop();
+      descendants.add(comment);
+      pushChildren(stack, repliesMap.getOrDefault(comment.getCommentId(), List.of()));
+    }
+    return descendants;
+  }
+
+  private static void pushChildren(Deque<CommentEntity> stack, List<CommentEntity> children) {
+    for (int i = children.size() - 1; i >= 0; i--) {
+      stack.push(children.get(i));
+    }
+  }
+
+  private static CommentDTO convertToDTO(CommentEntity entity) {
     return CommentDTO.builder()
         .commentId(entity.getCommentId())
         .postId(entity.getPostId())
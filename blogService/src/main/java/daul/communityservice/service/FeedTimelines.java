@@ -0,0 +1,363 @@
+package daul.communityservice.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 피드 타임라인 (fan-out-on-write, Redis)
+ *
+ * 글 작성 시 작성자의 친구들 타임라인(postId 를 점수로 한 ZSET)에 postId 를 밀어 넣어두고, 피드 조회는 타임라인에서 바로 읽는다.
+ * 친구가 celebrityThreshold 명 이상인 작성자는 친구 전원에게 쓰지 않고 작성자 타임라인에만 기록한 뒤
+ * 조회 시점에 합친다 (fan-out-on-read).
+ *
+ * 타임라인은 모든 인스턴스가 같은 Redis 를 보므로 배포가 어느 인스턴스에서 일어나든 반영되고 재시작에도 남는다.
+ * 마지막 조회 후 ttl 동안 조회가 없으면 만료되며, 없으면 호출 측에서 DB 로 한 번 채운다(seed).
+ * 친구 목록 조회(Feign)와 배포는 fan-out 전용 스레드에서 한다 (요청 스레드와 DB 커넥션을 잡지 않도록).
+ */
+@Slf4j
+@Component
+public class FeedTimelines {
+
+  private static final String TIMELINE_PREFIX = "blog:feed:timeline:";
+  // 사용자별 구독 중인 셀럽 작성자 (타임라인과 같은 ttl)
+  private static final String FOLLOWS_PREFIX = "blog:feed:follows:";
+  private static final String CELEBRITY_PREFIX = "blog:feed:celebrity:";
+  private static final String CELEBRITIES = "blog:feed:celebrities";
+  // 글이 하나도 없어도 타임라인이 있다는 표시 (점수 0, 조회 범위에서 빠짐)
+  private static final String SEEDED = "seed";
+  // 한 번의 스크립트 호출로 처리할 친구 수
+  private static final int KEYS_PER_CALL = 500;
+
+  // ARGV: ttl, capacity, 친구 수 n, 친구 n명, postId...
+  // 친구 중 셀럽 작성자는 구독 목록에 넣는다. 이미 있는 타임라인과는 합친다.
+  private static final RedisScript<Long> SEED = new DefaultRedisScript<>(
+      "redis.call('ZADD', KEYS[1], 0, '" + SEEDED + "')\n"
+          + "local n = tonumber(ARGV[3])\n"
+          + "for i = 4, 3 + n do\n"
+          + "  if redis.call('SISMEMBER', KEYS[3], ARGV[i]) == 1 then\n"
+          + "    redis.call('SADD', KEYS[2], ARGV[i])\n"
+          + "  end\n"
+          + "end\n"
+          + "for i = 4 + n, #ARGV do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i]) end\n"
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 1, -(tonumber(ARGV[2]) + 1))\n"
+          + "redis.call('PEXPIRE', KEYS[1], ARGV[1])\n"
+          + "redis.call('PEXPIRE', KEYS[2], ARGV[1])\n"
+          + "return 1", Long.class);
+  // 타임라인이 있는 친구에게만 추가 (없는 친구는 다음 조회 때 seed 로 채워진다)
+  private static final RedisScript<Long> FAN_OUT = new DefaultRedisScript<>(
+      "for _, key in ipairs(KEYS) do\n"
+          + "  if redis.call('EXISTS', key) == 1 then\n"
+          + "    redis.call('ZADD', key, ARGV[1], ARGV[1])\n"
+          + "    redis.call('ZREMRANGEBYRANK', key, 1, -(tonumber(ARGV[2]) + 1))\n"
+          + "  end\n"
+          + "end\n"
+          + "return 1", Long.class);
+  // 셀럽 작성자 글 기록, 처음 셀럽으로 분류되면 1
+  private static final RedisScript<Long> CELEBRITY_POST = new DefaultRedisScript<>(
+      "local first = redis.call('SADD', KEYS[1], ARGV[1])\n"
+          + "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[2])\n"
+          + "redis.call('ZREMRANGEBYRANK', KEYS[2], 0, -(tonumber(ARGV[3]) + 1))\n"
+          + "return first", Long.class);
+  // KEYS: (타임라인, 구독 목록) 쌍. 타임라인이 있는 친구만 구독 목록에 작성자를 추가
+  private static final RedisScript<Long> FOLLOW = new DefaultRedisScript<>(
+      "for i = 1, #KEYS, 2 do\n"
+          + "  local ttl = redis.call('PTTL', KEYS[i])\n"
+          + "  if ttl > 0 then\n"
+          + "    redis.call('SADD', KEYS[i + 1], ARGV[1])\n"
+          + "    redis.call('PEXPIRE', KEYS[i + 1], ttl)\n"
+          + "  end\n"
+          + "end\n"
+          + "return 1", Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final int capacity;
+  private final int celebrityThreshold;
+  private final Duration ttl;
+  private final ThreadPoolExecutor fanOutExecutor;
+
+  public FeedTimelines(StringRedisTemplate redisTemplate,
+      @Value("${blog.feed.timeline-size:500}") int capacity,
+      @Value("${blog.feed.celebrity-threshold:1000}") int celebrityThreshold,
+      @Value("${blog.feed.timeline-ttl-minutes:60}") long ttlMinutes,
+      @Value("${blog.feed.fan-out-threads:2}") int fanOutThreads,
+      @Value("${blog.feed.fan-out-queue-size:1000}") int fanOutQueueSize) {
+    this.redisTemplate = redisTemplate;
+    this.capacity = capacity;
+    this.celebrityThreshold = celebrityThreshold;
+    this.ttl = Duration.ofMinutes(ttlMinutes);
+
+    AtomicInteger sequence = new AtomicInteger();
+    this.fanOutExecutor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads,
+        0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(fanOutQueueSize),
+        runnable -> {
+          Thread thread = new Thread(runnable, "feed-fan-out-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * 최신순으로 beforePostId 보다 작은 postId 중 offset 부터 limit 개 (beforePostId 가 null 이면 처음부터)
+   * 읽을 때마다 타임라인 ttl 을 다시 늘린다.
+   *
+   * @return 타임라인이 없거나(만료 포함) Redis 장애면 empty
+   */
+  public Optional<Slice> page(String userId, Long beforePostId, long offset, int limit) {
+    String timelineKey = TIMELINE_PREFIX + userId;
+    String followsKey = FOLLOWS_PREFIX + userId;
+    double upperBound = beforePostId != null ? beforePostId - 1 : Double.POSITIVE_INFINITY;
+    long maxCount = offset + limit;
+    try {
+      List<Object> home = redisTemplate.executePipelined(new SessionCallback<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> Object execute(RedisOperations<K, V> operations) {
+          RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+          ops.expire(timelineKey, ttl);
+          ops.expire(followsKey, ttl);
+          ops.opsForSet().members(followsKey);
+          ops.opsForZSet().reverseRangeByScore(timelineKey, 1, upperBound, 0, maxCount);
+          ops.opsForZSet().zCard(timelineKey);
+          return null;
+        }
+      });
+      if (!Boolean.TRUE.equals(home.get(0))) {
+        return Optional.empty();
+      }
+      @SuppressWarnings("unchecked")
+      Set<String> celebrities = (Set<String>) home.get(2);
+      @SuppressWarnings("unchecked")
+      Set<String> homePostIds = (Set<String>) home.get(3);
+      long total = (Long) home.get(4) - 1; // seed 표시 제외
+
+      // 홈 타임라인 + 구독 중인 셀럽 타임라인을 postId 내림차순으로 병합 (각각 offset + limit 개까지만)
+      PriorityQueue<Cursor> queue = new PriorityQueue<>((a, b) -> Long.compare(b.current, a.current));
+      addCursor(queue, homePostIds);
+      if (!celebrities.isEmpty()) {
+        List<String> celebrityIds = new ArrayList<>(celebrities);
+        List<Object> celebrityPosts = redisTemplate.executePipelined(new SessionCallback<>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public <K, V> Object execute(RedisOperations<K, V> operations) {
+            RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+            for (String celebrityId : celebrityIds) {
+              String key = CELEBRITY_PREFIX + celebrityId;
+              ops.opsForZSet().reverseRangeByScore(key, 1, upperBound, 0, maxCount);
+              ops.opsForZSet().zCard(key);
+            }
+            return null;
+          }
+        });
+        for (int i = 0; i < celebrityPosts.size(); i += 2) {
+          @SuppressWarnings("unchecked")
+          Set<String> postIds = (Set<String>) celebrityPosts.get(i);
+          addCursor(queue, postIds);
+          total += (Long) celebrityPosts.get(i + 1);
+        }
+      }
+      return Optional.of(new Slice(merge(queue, offset, limit), total, celebrities));
+    } catch (DataAccessException e) {
+      log.warn("피드 타임라인 조회 실패 - userId: {}", userId, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * DB 에서 읽어온 최근 게시글(최신순)로 타임라인을 채운다. 실패해도 다음 조회 때 다시 채우므로 로그만 남긴다.
+   */
+  public void seed(String userId, List<Long> recentPostIds, Collection<String> friendIds) {
+    List<String> args = new ArrayList<>(3 + friendIds.size() + recentPostIds.size());
+    args.add(String.valueOf(ttl.toMillis()));
+    args.add(String.valueOf(capacity));
+    args.add(String.valueOf(friendIds.size()));
+    args.addAll(friendIds);
+    recentPostIds.forEach(postId -> args.add(String.valueOf(postId)));
+    try {
+      redisTemplate.execute(SEED,
+          List.of(TIMELINE_PREFIX + userId, FOLLOWS_PREFIX + userId, CELEBRITIES),
+          args.toArray());
+    } catch (DataAccessException e) {
+      log.warn("피드 타임라인 생성 실패 - userId: {}", userId, e);
+    }
+  }
+
+  /**
+   * seed 할 수 없을 때(Redis 장애) DB 에서 읽은 최근 게시글(최신순)에서 바로 한 페이지를 자른다.
+   * seed 목록에는 셀럽 친구의 글도 들어 있으므로 따로 합치지 않는다.
+   */
+  public static Slice sliceOf(List<Long> recentPostIds, Long beforePostId, long offset,
+      int limit) {
+    long upperBound = beforePostId != null ? beforePostId : Long.MAX_VALUE;
+    List<Long> result = recentPostIds.stream()
+        .filter(postId -> postId < upperBound)
+        .skip(offset)
+        .limit(limit)
+        .toList();
+    return new Slice(result, recentPostIds.size(), Set.of());
+  }
+
+  /**
+   * 새 글 배포를 예약한다. friendIds 는 fan-out 스레드에서 호출된다 (요청 스레드/트랜잭션 밖).
+   * 큐가 가득 차면 배포를 건너뛰며, 그 글은 친구들의 타임라인이 다시 만들어질 때 들어간다.
+   */
+  public void fanOutLater(String authorId, Long postId, Supplier<Collection<String>> friendIds) {
+    try {
+      fanOutExecutor.execute(() -> {
+        try {
+          fanOut(authorId, postId, friendIds.get());
+        } catch (Exception e) {
+          log.warn("피드 타임라인 배포 실패 - postId: {}", postId, e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      log.warn("피드 배포 큐가 가득 차 건너뜁니다 - postId: {}", postId);
+    }
+  }
+
+  private void fanOut(String authorId, Long postId, Collection<String> friendIds) {
+    String member = String.valueOf(postId);
+    if (friendIds.size() >= celebrityThreshold) {
+      Long first = redisTemplate.execute(CELEBRITY_POST,
+          List.of(CELEBRITIES, CELEBRITY_PREFIX + authorId),
+          authorId, member, String.valueOf(capacity));
+      if (Long.valueOf(1).equals(first)) {
+        // 셀럽으로 처음 분류될 때 한 번만 친구들의 타임라인에 구독 정보를 남긴다
+        log.info("셀럽 작성자로 분류 (fan-out-on-read): {}, 친구 수 {}", authorId, friendIds.size());
+        forEachChunk(friendIds, chunk -> {
+          List<String> keys = new ArrayList<>(chunk.size() * 2);
+          chunk.forEach(friendId -> {
+            keys.add(TIMELINE_PREFIX + friendId);
+            keys.add(FOLLOWS_PREFIX + friendId);
+          });
+          redisTemplate.execute(FOLLOW, keys, authorId);
+        });
+      }
+      return;
+    }
+    forEachChunk(friendIds, chunk -> redisTemplate.execute(FAN_OUT,
+        chunk.stream().map(friendId -> TIMELINE_PREFIX + friendId).toList(),
+        member, String.valueOf(capacity)));
+  }
+
+  /**
+   * 조회 중 삭제/비공개로 확인된 글을 타임라인에서 뺀다. (다음 페이지가 비지 않도록)
+   */
+  public void prune(String userId, Set<String> celebrities, Collection<Long> postIds) {
+    Object[] members = postIds.stream().map(String::valueOf).toArray();
+    try {
+      redisTemplate.executePipelined(new SessionCallback<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> Object execute(RedisOperations<K, V> operations) {
+          RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+          ops.opsForZSet().remove(TIMELINE_PREFIX + userId, members);
+          celebrities.forEach(celebrityId ->
+              ops.opsForZSet().remove(CELEBRITY_PREFIX + celebrityId, members));
+          return null;
+        }
+      });
+    } catch (DataAccessException e) {
+      log.debug("피드 타임라인 정리 실패 - userId: {}", userId, e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    fanOutExecutor.shutdown();
+  }
+
+  private static void forEachChunk(Collection<String> ids,
+      Consumer<List<String>> action) {
+    List<String> all = new ArrayList<>(new LinkedHashSet<>(ids));
+    for (int from = 0; from < all.size(); from += KEYS_PER_CALL) {
+      action.accept(all.subList(from, Math.min(from + KEYS_PER_CALL, all.size())));
+    }
+  }
+
+  private static List<Long> merge(PriorityQueue<Cursor> queue, long offset, int limit) {
+    List<Long> result = new ArrayList<>(limit);
+    long skipped = 0;
+    long last = Long.MAX_VALUE;
+    while (!queue.isEmpty() && result.size() < limit) {
+      Cursor cursor = queue.poll();
+      long postId = cursor.current;
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+      if (postId == last) {
+        continue; // seed 와 셀럽 타임라인에 같은 글이 있을 수 있음
+      }
+      last = postId;
+      if (skipped < offset) {
+        skipped++;
+        continue;
+      }
+      result.add(postId);
+    }
+    return result;
+  }
+
+  // Redis 가 최신순으로 돌려준 postId
+  private static void addCursor(PriorityQueue<Cursor> queue, Set<String> descending) {
+    if (descending != null && !descending.isEmpty()) {
+      queue.add(new Cursor(descending.stream().mapToLong(Long::parseLong).toArray()));
+    }
+  }
+
+  /**
+   * @param postIds     최신순 postId
+   * @param total       타임라인 전체 글 수 (구독 중인 셀럽 글 포함)
+   * @param celebrities 구독 중인 셀럽 작성자
+   */
+  public record Slice(List<Long> postIds, long total, Set<String> celebrities) {
+
+  }
+
+  private static final class Cursor {
+
+    private final long[] values;
+    private int index;
+    private long current;
+
+    private Cursor(long[] values) {
+      this.values = values;
+      this.current = values[0];
+    }
+
+    private boolean advance() {
+      if (++index >= values.length) {
+        return false;
+      }
+      current = values[index];
+      return true;
+    }
+  }
+}
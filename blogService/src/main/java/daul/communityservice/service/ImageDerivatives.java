@@ -0,0 +1,139 @@
+package daul.communityservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 업로드 이미지의 너비별 파생 이미지(썸네일) 생성
+ *
+ * 업로드 응답을 늦추지 않도록 전용 워커 풀에서 비동기로 만든다. 큐가 가득 차면 버리고,
+ * 나중에 해당 크기가 요청될 때(ImageController) 다시 예약된다.
+ * URL 은 "/images/원본?w=너비" 형태이며, 파생 이미지가 아직 없으면 원본을 내려준다.
+ */
+@Slf4j
+@Component
+public class ImageDerivatives {
+
+  private final Path uploadPath;
+  private final String baseUrl;
+  private final int[] widths;
+  private final int thumbnailWidth;
+  private final ThreadPoolExecutor executor;
+  // 같은 원본이 동시에 여러 번 예약되지 않도록
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+  // 이미 처리한 원본 (원본이 작아 파생 이미지가 없는 경우 매 요청마다 다시 읽지 않도록).
+  // 개수를 제한하며, 밀려난 원본은 다시 요청될 때 한 번 더 처리된다 (이미 있는 파생 이미지는 건너뜀)
+  private final Cache<String, Boolean> processed;
+
+  public ImageDerivatives(
+      @Value("${file.upload-dir}") String uploadDir,
+      @Value("${file.base-url}") String baseUrl,
+      @Value("${blog.images.derivative-widths:320,640,1280}") int[] widths,
+      @Value("${blog.images.thumbnail-width:320}") int thumbnailWidth,
+      @Value("${blog.images.derivative-threads:2}") int threads,
+      @Value("${blog.images.derivative-queue-size:200}") int queueSize,
+      @Value("${blog.images.processed-cache-size:10000}") long processedCacheSize) {
+    this.uploadPath = Paths.get(uploadDir);
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    this.widths = Arrays.stream(widths).sorted().toArray();
+    this.thumbnailWidth = thumbnailWidth;
+    this.processed = Caffeine.newBuilder().maximumSize(processedCacheSize).build();
+
+    AtomicInteger sequence = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize),
+        runnable -> {
+          Thread thread = new Thread(runnable, "image-derivative-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          thread.setPriority(Thread.NORM_PRIORITY - 1);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * 업로드된 이미지 URL(또는 파일명)의 파생 이미지 생성을 예약한다.
+   */
+  public void schedule(String urlOrFileName) {
+    String fileName = urlOrFileName.substring(urlOrFileName.lastIndexOf('/') + 1);
+    if (!ImageResizer.isSupported(fileName) || processed.getIfPresent(fileName) != null
+        || !inFlight.add(fileName)) {
+      return;
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          List<Path> created = ImageResizer.generate(uploadPath.resolve(fileName), uploadPath, widths);
+          processed.put(fileName, Boolean.TRUE);
+          if (!created.isEmpty()) {
+            log.debug("파생 이미지 생성: {} -> {}개", fileName, created.size());
+          }
+        } catch (Exception e) {
+          log.warn("파생 이미지 생성 실패: {}", fileName, e);
+        } finally {
+          inFlight.remove(fileName);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // 큐가 가득 찼거나 종료 중. 다음 요청 때 다시 예약되도록 표시만 푼다
+      inFlight.remove(fileName);
+      log.warn("파생 이미지 작업 큐가 가득 차 건너뜁니다: {}", fileName);
+    }
+  }
+
+  /**
+   * 요청 너비 이상인 가장 작은 파생 이미지. 없거나 아직 만들어지지 않았으면 empty
+   */
+  public Optional<Path> findVariant(String fileName, int requestedWidth) {
+    for (int width : widths) {
+      if (width >= requestedWidth) {
+        Path variant = uploadPath.resolve(ImageResizer.variantName(fileName, width));
+        return Files.isRegularFile(variant) ? Optional.of(variant) : Optional.empty();
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * 목록 카드용 썸네일 URL. 이 서버에 업로드된 이미지만 작은 크기 URL 로 바꾼다.
+   */
+  public String thumbnailUrl(String url) {
+    if (url == null || !url.startsWith(baseUrl) || url.contains("?")) {
+      return url;
+    }
+    return url + "?w=" + thumbnailWidth;
+  }
+
+  /**
+   * 원본이 삭제될 때 파생 이미지도 지운다.
+   */
+  public void deleteVariants(String fileName) throws IOException {
+    processed.invalidate(fileName);
+    for (int width : widths) {
+      Files.deleteIfExists(uploadPath.resolve(ImageResizer.variantName(fileName, width)));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,126 @@
+package daul.communityservice.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.imageio.ImageIO;
+
+/**
+ * 원본 이미지에서 너비별 파생 이미지(&lt;이름&gt;_w&lt;너비&gt;.&lt;확장자&gt;)를 만든다.
+ *
+ * 스프링 의존이 없어 벤치마크(ImageDerivativeBenchmark)에서도 그대로 사용한다.
+ */
+public final class ImageResizer {
+
+  private ImageResizer() {
+  }
+
+  public static String variantName(String fileName, int width) {
+    int dot = fileName.lastIndexOf('.');
+    if (dot < 0) {
+      return fileName + "_w" + width;
+    }
+    return fileName.substring(0, dot) + "_w" + width + fileName.substring(dot);
+  }
+
+  /**
+   * ImageIO 로 읽고 쓸 수 있는 형식인지 (gif 는 애니메이션이 깨지므로 제외)
+   */
+  public static boolean isSupported(String fileName) {
+    return formatOf(fileName) != null;
+  }
+
+  /**
+   * 원본보다 작은 너비의 파생 이미지만 만든다. 이미 있는 파일은 건너뛴다.
+   *
+   * @return 새로 만든 파일
+   */
+  public static List<Path> generate(Path original, Path targetDir, int[] widths)
+      throws IOException {
+    String fileName = original.getFileName().toString();
+    String format = formatOf(fileName);
+    List<Path> created = new ArrayList<>();
+    if (format == null) {
+      return created;
+    }
+
+    BufferedImage source = null;
+    for (int width : widths) {
+      Path target = targetDir.resolve(variantName(fileName, width));
+      if (Files.exists(target)) {
+        continue;
+      }
+      if (source == null) {
+        source = ImageIO.read(original.toFile());
+        if (source == null) {
+          return created; // 읽을 수 없는 이미지
+        }
+      }
+      if (width >= source.getWidth()) {
+        continue; // 확대는 하지 않음 (요청 시 원본으로 대체)
+      }
+
+      BufferedImage resized = resize(source, width, "jpg".equals(format));
+      Path temp = Files.createTempFile(targetDir, "variant-", ".part");
+      try {
+        if (!ImageIO.write(resized, format, temp.toFile())) {
+          continue;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        created.add(target);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+    return created;
+  }
+
+  /**
+   * 비율을 유지해 width 로 줄인다. 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 줄인다.
+   */
+  static BufferedImage resize(BufferedImage source, int width, boolean opaque) {
+    int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+    int targetHeight = Math.max(1, (int) Math.round(
+        (double) source.getHeight() * width / source.getWidth()));
+
+    BufferedImage current = source;
+    int currentWidth = source.getWidth();
+    int currentHeight = source.getHeight();
+    do {
+      currentWidth = Math.max(width, currentWidth / 2);
+      currentHeight = Math.max(targetHeight, currentHeight / 2);
+      BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+      Graphics2D graphics = step.createGraphics();
+      try {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+      } finally {
+        graphics.dispose();
+      }
+      current = step;
+    } while (currentWidth != width || currentHeight != targetHeight);
+    return current;
+  }
+
+  private static String formatOf(String fileName) {
+    int dot = fileName.lastIndexOf('.');
+    if (dot < 0) {
+      return null;
+    }
+    return switch (fileName.substring(dot + 1).toLowerCase(Locale.ROOT)) {
+      case "jpg", "jpeg" -> "jpg";
+      case "png" -> "png";
+      case "bmp" -> "bmp";
+      default -> null;
+    };
+  }
+}
@@ -0,0 +1,247 @@
+package daul.communityservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이미지 업로드 저장소
+ *
+ * 요청 본문을 미리 할당해둔 direct ByteBuffer 로 읽어 FileChannel 에 바로 쓰고, 그 사이 SHA-256 을 계산해
+ * "해시.확장자" 로 저장한다. 같은 이미지는 같은 파일 하나만 남는다(dedupe).
+ * 버퍼 풀 크기가 곧 동시 업로드 수 상한이며, 버퍼를 못 얻으면 BusyException(503) 으로 돌려보낸다.
+ */
+@Slf4j
+@Component
+public class ImageStorage {
+
+  // 래스터 이미지만 받는다 (SVG/HTML 은 스크립트를 담을 수 있어 같은 origin 에서 내려주면 stored XSS)
+  private static final Map<String, String> EXTENSIONS_BY_TYPE = Map.of(
+      "image/jpeg", ".jpg",
+      "image/png", ".png",
+      "image/gif", ".gif",
+      "image/webp", ".webp");
+  private static final Set<String> EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".gif", ".webp");
+
+  private final Path uploadPath;
+  private final String baseUrl;
+  // 본문/썸네일 안의 업로드 이미지 URL ("<baseUrl>/<파일명>")
+  private final Pattern imageUrl;
+  private final long maxBytes;
+  private final long acquireTimeoutMillis;
+  private final BlockingQueue<ByteBuffer> buffers;
+
+  public ImageStorage(
+      @Value("${file.upload-dir}") String uploadDir,
+      @Value("${file.base-url}") String baseUrl,
+      @Value("${blog.upload.max-bytes:20971520}") long maxBytes,
+      @Value("${blog.upload.buffer-size:65536}") int bufferSize,
+      @Value("${blog.upload.max-concurrent:8}") int maxConcurrent,
+      @Value("${blog.upload.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+    this.uploadPath = Paths.get(uploadDir);
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.imageUrl = Pattern.compile(
+        Pattern.quote(this.baseUrl + "/") + "([A-Za-z0-9_-]+(?:\\.[A-Za-z0-9]{1,5})?)");
+    this.maxBytes = maxBytes;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.buffers = new ArrayBlockingQueue<>(maxConcurrent);
+    for (int i = 0; i < maxConcurrent; i++) {
+      buffers.add(ByteBuffer.allocateDirect(bufferSize));
+    }
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * 스트림을 끝까지 읽어 저장하고 접근 URL 을 반환한다.
+   *
+   * @throws IllegalArgumentException 허용하지 않는 형식 (본문을 읽기 전에 거절)
+   * @throws TooLargeException maxBytes 를 넘는 순간 (남은 본문은 읽지 않음)
+   * @throws BusyException     동시 업로드 상한에 걸려 버퍼를 얻지 못함
+   */
+  public String store(InputStream in, String originalFilename, String contentType)
+      throws IOException {
+    String extension = extensionOf(originalFilename, contentType);
+    ByteBuffer buffer = acquireBuffer();
+    Path tempFile = null;
+    try {
+      createUploadDirectory();
+      tempFile = Files.createTempFile(uploadPath, "upload-", ".part");
+      MessageDigest digest = sha256();
+
+      long total = 0;
+      ReadableByteChannel source = Channels.newChannel(in);
+      try (FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        while (true) {
+          buffer.clear();
+          int read = source.read(buffer);
+          if (read < 0) {
+            break;
+          }
+          total += read;
+          if (total > maxBytes) {
+            throw new TooLargeException(maxBytes);
+          }
+          buffer.flip();
+          buffer.mark();
+          digest.update(buffer);
+          buffer.reset();
+          while (buffer.hasRemaining()) {
+            target.write(buffer);
+          }
+        }
+      }
+      if (total == 0) {
+        throw new IllegalArgumentException("파일이 존재하지 않습니다.");
+      }
+
+      String fileName = HexFormat.of().formatHex(digest.digest()) + extension;
+      Path filePath = uploadPath.resolve(fileName);
+      if (Files.exists(filePath)) {
+        log.info("동일한 이미지가 이미 존재합니다: {}", fileName);
+        // 삭제된 게시글 정리(PostPurger)가 방금 다시 올라온 이미지를 지우지 않도록
+        Files.setLastModifiedTime(filePath, FileTime.from(Instant.now()));
+      } else {
+        try {
+          Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+          tempFile = null;
+          log.info("파일 저장 성공: {} ({} bytes)", filePath.toAbsolutePath(), total);
+        } catch (FileAlreadyExistsException e) {
+          // 같은 이미지가 동시에 올라온 경우
+          log.info("동일한 이미지가 이미 존재합니다: {}", fileName);
+        }
+      }
+      return baseUrl + "/" + fileName;
+    } finally {
+      buffers.offer(buffer);
+      if (tempFile != null) {
+        Files.deleteIfExists(tempFile);
+      }
+    }
+  }
+
+  /**
+   * 본문/썸네일 등에 들어 있는 이 서버 업로드 이미지의 파일명
+   */
+  public Set<String> findFileNames(String... texts) {
+    Set<String> fileNames = new LinkedHashSet<>();
+    for (String text : texts) {
+      if (text == null) {
+        continue;
+      }
+      Matcher matcher = imageUrl.matcher(text);
+      while (matcher.find()) {
+        fileNames.add(matcher.group(1));
+      }
+    }
+    return fileNames;
+  }
+
+  /**
+   * 업로드 원본 삭제. notModifiedSince 이후에 다시 업로드된(수정 시각이 갱신된) 파일은 남긴다.
+   *
+   * @return 삭제했으면 true
+   */
+  public boolean delete(String fileName, Instant notModifiedSince) throws IOException {
+    Path file = uploadPath.resolve(fileName);
+    if (!Files.isRegularFile(file) || Files.getLastModifiedTime(file).toInstant().isAfter(notModifiedSince)) {
+      return false;
+    }
+    return Files.deleteIfExists(file);
+  }
+
+  private ByteBuffer acquireBuffer() throws BusyException {
+    try {
+      ByteBuffer buffer = buffers.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+      if (buffer == null) {
+        throw new BusyException();
+      }
+      return buffer;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BusyException();
+    }
+  }
+
+  private void createUploadDirectory() throws IOException {
+    if (Files.exists(uploadPath)) {
+      return;
+    }
+    try {
+      Files.createDirectories(uploadPath); // 디렉토리가 없으면 생성
+      log.info("이미지 업로드 디렉토리 생성: {}", uploadPath.toAbsolutePath());
+    } catch (IOException e) {
+      log.error("이미지 업로드 디렉토리 생성 실패: {}", uploadPath.toAbsolutePath(), e);
+      throw new IOException("파일 저장 경로를 생성할 수 없습니다.", e);
+    }
+  }
+
+  // 파일명 확장자 우선, 없거나 허용 목록에 없으면 Content-Type 으로. 둘 다 허용하지 않는 형식이면 거절
+  private static String extensionOf(String originalFilename, String contentType) {
+    if (originalFilename != null && originalFilename.contains(".")) {
+      String extension = originalFilename.substring(originalFilename.lastIndexOf('.'))
+          .toLowerCase(Locale.ROOT);
+      if (EXTENSIONS.contains(extension)) {
+        return extension;
+      }
+    }
+    if (contentType != null) {
+      String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+      String extension = EXTENSIONS_BY_TYPE.get(mediaType);
+      if (extension != null) {
+        return extension;
+      }
+    }
+    throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다. (jpg, png, gif, webp)");
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static class TooLargeException extends IOException {
+
+    public TooLargeException(long maxBytes) {
+      super("파일 크기는 " + (maxBytes / (1024 * 1024)) + "MB 를 넘을 수 없습니다.");
+    }
+  }
+
+  public static class BusyException extends IOException {
+
+    public BusyException() {
+      super("업로드 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+  }
+}
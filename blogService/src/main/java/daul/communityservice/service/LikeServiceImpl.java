@@ -2,8 +2,6 @@ package daul.communityservice.service;
 
 import daul.communityservice.dao.LikeDao;
 import daul.communityservice.dto.LikeToggleResponseDTO;
-import daul.communityservice.entity.LikeEntity;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,27 +11,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class LikeServiceImpl implements LikeService {
 
   private final LikeDao likeDao;
+  private final TrendingRanking trendingRanking;
 
   @Override
   @Transactional
   public LikeToggleResponseDTO toggleLike(Long postId, String userId) {
-    Optional<LikeEntity> existingLike = likeDao.findByPostIdAndUserSignId(postId, userId);
-
-    boolean isLiked;
-
-    if (existingLike.isPresent()) {
-      likeDao.deleteByPostIdAndUserId(postId, userId); // 엔티티 삭제
-      isLiked = false;
-    } else {
-      LikeEntity newLike = LikeEntity.builder()
-          .postId(postId)
-          .userSignId(userId)
-          .build();
-      likeDao.save(newLike);
-      isLiked = true;
+    // 조회 후 쓰기 대신 한 문장으로 토글 + 좋아요 수 갱신 (동시 더블클릭에도 개수가 어긋나지 않음)
+    LikeDao.ToggleResult result = likeDao.toggle(postId, userId)
+        .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다."));
+    if (result.delta() != 0) {
+      AfterCommit.run(() -> trendingRanking.recordLike(postId, result.delta()));
     }
-    long newLikeCount = likeDao.countByPostId(postId);
-
-    return new LikeToggleResponseDTO(isLiked, newLikeCount);
+    return new LikeToggleResponseDTO(result.liked(), result.likeCount());
   }
 }
@@ -0,0 +1,74 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.dao.PostTagDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * posts.like_count / comment_count, tags.post_count 보정
+ *
+ * 평소에는 좋아요·댓글 쓰기 트랜잭션의 원자적 증감(태그 수는 TagPostCounts)으로 유지되지만, 컬럼 추가 전 데이터나 동시 실행 중 생긴 차이를
+ * postId 구간 단위로 실제 개수와 비교해 다른 행만 고친다 (한 번에 긴 락을 잡지 않도록 구간을 나눔).
+ * 구간의 게시글 행을 잠근 뒤 세므로 보정 중에 커밋되는 증감이 덮어써지지 않는다.
+ */
+@Slf4j
+@Component
+public class PostCounterReconciler {
+
+  private final PostDao postDao;
+  private final PostTagDao postTagDao;
+  private final int chunkSize;
+
+  public PostCounterReconciler(PostDao postDao, PostTagDao postTagDao,
+      @Value("${blog.counters.reconcile-chunk-size:1000}") int chunkSize) {
+    this.postDao = postDao;
+    this.postTagDao = postTagDao;
+    this.chunkSize = chunkSize;
+  }
+
+  // 기동 시 한 번. 전체 구간을 도는 데 시간이 걸리므로 기동(main 스레드)을 막지 않게 별도 스레드에서
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconcileOnStartup() {
+    Thread thread = new Thread(this::reconcile, "post-counter-reconcile");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Scheduled(
+      initialDelayString = "${blog.counters.reconcile-interval-ms:3600000}",
+      fixedDelayString = "${blog.counters.reconcile-interval-ms:3600000}")
+  public void reconcile() {
+    try {
+      // 태그 수는 게시글보다 훨씬 적어 한 문장으로 비교
+      int tagsFixed = postTagDao.reconcilePostCounts();
+      if (tagsFixed > 0) {
+        log.info("태그 게시글 수 보정: {}건", tagsFixed);
+      }
+    } catch (Exception e) {
+      log.error("태그 게시글 수 보정 실패", e);
+    }
+    try {
+      Long maxPostId = postDao.findMaxPostId();
+      if (maxPostId == null) {
+        return;
+      }
+      int likesFixed = 0;
+      int commentsFixed = 0;
+      for (long from = 1; from <= maxPostId; from += chunkSize) {
+        long to = from + chunkSize - 1;
+        likesFixed += postDao.reconcileLikeCounts(from, to);
+        commentsFixed += postDao.reconcileCommentCounts(from, to);
+      }
+      if (likesFixed > 0 || commentsFixed > 0) {
+        log.info("게시글 카운터 보정: 좋아요 {}건, 댓글 {}건", likesFixed, commentsFixed);
+      }
+    } catch (Exception e) {
+      log.error("게시글 카운터 보정 실패", e);
+    }
+  }
+}
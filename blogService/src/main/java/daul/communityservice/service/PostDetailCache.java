@@ -0,0 +1,231 @@
+package daul.communityservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import daul.communityservice.dto.PostResDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 상세 캐시 (메모리 near-cache -> Redis -> DB)
+ *
+ * 직렬화된 PostResDTO JSON 바이트를 저장해 적중 시 DB 조회와 직렬화를 모두 건너뛴다.
+ * 조회수는 캐시에 넣지 않는다. 응답할 때 ViewCountBuffer.currentCount 로 현재 값을 붙인다.
+ *
+ * 수정/삭제/태그 변경 시 evict 한다. 다른 인스턴스의 near-cache 는 nearTtl 안에 만료된다.
+ * evict 는 게시글별 세대 번호를 올리고, Redis 쓰기는 DB 를 읽기 전에 본 세대 그대로일 때만 한다.
+ * (커밋 전에 읽은 로더가 evict 뒤에 옛 본문을 다시 채우지 못하도록)
+ */
+@Slf4j
+@Component
+public class PostDetailCache {
+
+  // 값 형식이 바뀌어 (조회수 접두어 제거) 이전 키와 섞이지 않도록 v2
+  private static final String KEY_PREFIX = "blog:post-detail:v2:";
+  private static final String GENERATION_PREFIX = "blog:post-detail:gen:";
+
+  // 세대가 그대로일 때만 저장 (세대 키가 없으면 빈 문자열로 비교)
+  private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>(
+      "local gen = redis.call('GET', KEYS[2]) or ''\n"
+          + "if gen ~= ARGV[1] then return 0 end\n"
+          + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])\n"
+          + "return 1", Long.class);
+  // 값 삭제 + 세대 증가 (세대 키는 값보다 오래 남긴다)
+  private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+      "redis.call('DEL', KEYS[1])\n"
+          + "local gen = redis.call('INCR', KEYS[2])\n"
+          + "redis.call('PEXPIRE', KEYS[2], ARGV[1])\n"
+          + "return gen", Long.class);
+  private static final RedisSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+  private static final String VIEW_COUNT_FIELD = "viewCount";
+
+  private final ObjectMapper objectMapper;
+  private final RedisTemplate<String, byte[]> redisTemplate;
+  private final Duration redisTtl;
+  private final Cache<Long, CachedPost> nearCache;
+  // 이 인스턴스의 evict 횟수. 조회 도중 evict 가 있었으면 near-cache 에 넣지 않는다.
+  private final AtomicLong evictions = new AtomicLong();
+
+  private final Counter redisHits;
+  private final Counter redisMisses;
+  private final Counter redisErrors;
+
+  public PostDetailCache(ObjectMapper objectMapper, RedisConnectionFactory connectionFactory,
+      MeterRegistry meterRegistry,
+      @Value("${blog.post-cache.near-max-size:10000}") long nearMaxSize,
+      @Value("${blog.post-cache.near-ttl-seconds:30}") long nearTtlSeconds,
+      @Value("${blog.post-cache.redis-ttl-seconds:600}") long redisTtlSeconds) {
+    this.objectMapper = objectMapper;
+    this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+
+    RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+    template.setConnectionFactory(connectionFactory);
+    template.setKeySerializer(RedisSerializer.string());
+    template.setValueSerializer(RedisSerializer.byteArray());
+    template.afterPropertiesSet();
+    this.redisTemplate = template;
+
+    // Caffeine 기본 정책이 W-TinyLFU 라 한 번 읽히고 마는 글이 인기 글을 밀어내지 않는다
+    this.nearCache = Caffeine.newBuilder()
+        .maximumSize(nearMaxSize)
+        .expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "postDetail");
+
+    this.redisHits = redisCounter(meterRegistry, "hit");
+    this.redisMisses = redisCounter(meterRegistry, "miss");
+    this.redisErrors = redisCounter(meterRegistry, "error");
+  }
+
+  private static Counter redisCounter(MeterRegistry registry, String result) {
+    return Counter.builder("blog.post.detail.cache.redis")
+        .description("게시글 상세 Redis 캐시 조회 결과")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  /**
+   * near-cache, Redis 순서로 찾고 둘 다 없으면 loader 로 읽어 두 곳에 채운다.
+   *
+   * @return 게시글이 없으면 empty
+   */
+  public Optional<CachedPost> get(Long postId, Function<Long, Optional<PostResDTO>> loader) {
+    CachedPost cached = nearCache.getIfPresent(postId);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    long evictionsBefore = evictions.get();
+    cached = readRedis(postId);
+    if (cached == null) {
+      // DB 를 읽기 전에 세대를 먼저 본다 (null 이면 Redis 장애라 쓰지 않음)
+      String generation = readGeneration(postId);
+      Optional<PostResDTO> loaded = loader.apply(postId);
+      if (loaded.isEmpty()) {
+        return Optional.empty();
+      }
+      cached = serialize(loaded.get());
+      if (generation != null) {
+        writeRedis(postId, cached, generation);
+      }
+    }
+    if (evictions.get() == evictionsBefore) {
+      nearCache.put(postId, cached);
+    }
+    return Optional.of(cached);
+  }
+
+  public void evict(Long postId) {
+    evictions.incrementAndGet();
+    nearCache.invalidate(postId);
+    try {
+      redisTemplate.execute(EVICT, RedisSerializer.string(), LONG_RESULT,
+          List.of(KEY_PREFIX + postId, GENERATION_PREFIX + postId),
+          String.valueOf(redisTtl.multipliedBy(2).toMillis()));
+    } catch (RuntimeException e) {
+      // Redis 값은 redisTtl 안에 만료된다
+      redisErrors.increment();
+      log.warn("게시글 상세 캐시 삭제 실패 - postId: {}", postId, e);
+    }
+  }
+
+  private CachedPost readRedis(Long postId) {
+    try {
+      byte[] value = redisTemplate.opsForValue().get(KEY_PREFIX + postId);
+      if (value == null || value.length == 0) {
+        redisMisses.increment();
+        return null;
+      }
+      redisHits.increment();
+      return new CachedPost(value);
+    } catch (RuntimeException e) {
+      // Redis 장애 시 DB 로 바로 간다
+      redisErrors.increment();
+      log.debug("게시글 상세 Redis 조회 실패 - postId: {}", postId, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return 세대 번호 (키가 없으면 빈 문자열), Redis 장애면 null
+   */
+  private String readGeneration(Long postId) {
+    try {
+      byte[] value = redisTemplate.opsForValue().get(GENERATION_PREFIX + postId);
+      return value != null ? new String(value, StandardCharsets.UTF_8) : "";
+    } catch (RuntimeException e) {
+      redisErrors.increment();
+      log.debug("게시글 상세 캐시 세대 조회 실패 - postId: {}", postId, e);
+      return null;
+    }
+  }
+
+  private void writeRedis(Long postId, CachedPost cached, String generation) {
+    try {
+      Long written = redisTemplate.execute(SET_IF_GENERATION, RedisSerializer.byteArray(),
+          LONG_RESULT, List.of(KEY_PREFIX + postId, GENERATION_PREFIX + postId),
+          generation.getBytes(StandardCharsets.UTF_8), cached.body,
+          String.valueOf(redisTtl.toMillis()).getBytes(StandardCharsets.UTF_8));
+      if (written == null || written == 0) {
+        log.debug("조회 중 수정/삭제되어 Redis 에 저장하지 않음 - postId: {}", postId);
+      }
+    } catch (RuntimeException e) {
+      redisErrors.increment();
+      log.debug("게시글 상세 Redis 저장 실패 - postId: {}", postId, e);
+    }
+  }
+
+  private CachedPost serialize(PostResDTO post) {
+    ObjectNode node = objectMapper.valueToTree(post);
+    node.remove(VIEW_COUNT_FIELD);
+    try {
+      return new CachedPost(objectMapper.writeValueAsBytes(node));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("게시글 직렬화 실패: " + post.getPostId(), e);
+    }
+  }
+
+  /**
+   * 조회수를 뺀 JSON 객체 바이트
+   */
+  public static final class CachedPost {
+
+    private final byte[] body;
+
+    private CachedPost(byte[] body) {
+      this.body = body;
+    }
+
+    /**
+     * 마지막 '}' 앞에 조회수를 붙인 응답 바이트
+     */
+    public byte[] render(int viewCount) {
+      byte[] suffix = ((body.length > 2 ? "," : "") + "\"" + VIEW_COUNT_FIELD + "\":" + viewCount
+          + "}").getBytes(StandardCharsets.UTF_8);
+      byte[] json = Arrays.copyOf(body, body.length - 1 + suffix.length);
+      System.arraycopy(suffix, 0, json, body.length - 1, suffix.length);
+      return json;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostDraftDao;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 초안 delta 압축
+ *
+ * 자동 저장마다 delta 가 하나씩 쌓이므로, 합치지 않은 delta 가 minDeltas 개 이상인 초안을 주기적으로
+ * 발행 본문 기준 delta 하나로 합친다 (초안을 읽을 때 적용할 delta 수를 제한).
+ */
+@Slf4j
+@Component
+public class PostDraftCompactor {
+
+  private final PostDraftDao postDraftDao;
+  private final PostDraftService postDraftService;
+  private final int minDeltas;
+  private final int batchSize;
+
+  public PostDraftCompactor(PostDraftDao postDraftDao, PostDraftService postDraftService,
+      @Value("${blog.drafts.compact-min-deltas:20}") int minDeltas,
+      @Value("${blog.drafts.compact-batch-size:100}") int batchSize) {
+    this.postDraftDao = postDraftDao;
+    this.postDraftService = postDraftService;
+    this.minDeltas = minDeltas;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(
+      initialDelayString = "${blog.drafts.compact-interval-ms:60000}",
+      fixedDelayString = "${blog.drafts.compact-interval-ms:60000}")
+  public void compact() {
+    List<Long> postIds;
+    try {
+      postIds = postDraftDao.findCompactionCandidates(minDeltas, batchSize);
+    } catch (Exception e) {
+      log.error("초안 압축 대상 조회 실패", e);
+      return;
+    }
+    for (Long postId : postIds) {
+      try {
+        // 초안마다 짧은 트랜잭션 (자동 저장과는 초안 행 잠금으로 직렬화)
+        postDraftService.compactDraft(postId);
+      } catch (Exception e) {
+        log.warn("초안 압축 실패 - postId: {}", postId, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dto.PostCreationRequestDTO;
+import daul.communityservice.dto.PostDraftDTO;
+import daul.communityservice.entity.PostEntity;
+import java.util.Optional;
+
+public interface PostDraftService {
+
+  /**
+   * 자동 저장. 발행된 본문 대비 바뀐 구간만 delta 로 저장하고 posts 는 건드리지 않는다.
+   */
+  void saveDraft(String userId, Long postId, PostCreationRequestDTO draft);
+
+  /**
+   * 저장된 초안. 없거나 그사이 게시글이 수정돼 더 이상 적용할 수 없으면 empty
+   */
+  Optional<PostDraftDTO> getDraft(String userId, Long postId);
+
+  /**
+   * 초안을 게시글에 반영하고 초안을 지운다.
+   *
+   * @throws org.springframework.dao.OptimisticLockingFailureException 초안 시작 후 게시글이 수정됨
+   */
+  PostEntity publishDraft(String userId, Long postId);
+
+  void discardDraft(String userId, Long postId);
+
+  /**
+   * 쌓인 delta 를 발행 본문 기준 delta 하나로 합친다. (PostDraftCompactor)
+   */
+  void compactDraft(Long postId);
+}
@@ -0,0 +1,166 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.dao.PostDraftDao;
+import daul.communityservice.dao.PostImageDao;
+import daul.communityservice.dto.PostCreationRequestDTO;
+import daul.communityservice.dto.PostDraftDTO;
+import daul.communityservice.entity.PostDraftDeltaEntity;
+import daul.communityservice.entity.PostDraftEntity;
+import daul.communityservice.entity.PostEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostDraftServiceImpl implements PostDraftService {
+
+  private final PostDraftDao postDraftDao;
+  private final PostDao postDao;
+  private final PostImageDao postImageDao;
+  private final PostService postService;
+  private final ImageStorage imageStorage;
+
+  @Override
+  @Transactional
+  public void saveDraft(String userId, Long postId, PostCreationRequestDTO request) {
+    if (request.getContent() == null) {
+      throw new IllegalArgumentException("내용이 비어있습니다.");
+    }
+    PostEntity post = requireOwnPost(userId, postId);
+
+    // 첫 저장은 upsert 로 행부터 만든다 (동시 첫 저장이 둘 다 INSERT 하다 PK 충돌로 500 이 나지 않도록)
+    postDraftDao.createIfAbsent(postId, post.getAuthorId(), post.getTitle(),
+        post.getThumbnail(), post.getUpdatedAt());
+    PostDraftEntity draft = postDraftDao.findByIdForUpdate(postId).orElseThrow();
+    String current;
+    if (draft.getLastSeq() == 0 && isBasedOn(draft, post)) {
+      // 아직 delta 가 없는 초안 -> 게시글 본문이 그대로 현재 내용
+      current = post.getContent();
+    } else if (!isBasedOn(draft, post)) {
+      // 그사이 게시글이 수정됨 -> 요청 본문이 전체 내용이므로 새 기준으로 다시 시작
+      postDraftDao.deleteDeltas(postId);
+      draft.setCompactedSeq(draft.getLastSeq());
+      draft.setBaseUpdatedAt(post.getUpdatedAt());
+      current = post.getContent();
+    } else {
+      current = TextDeltas.applyAll(post.getContent(), postDraftDao.findDeltas(postId));
+    }
+
+    TextDeltas.Delta delta = TextDeltas.diff(current, request.getContent());
+    if (!delta.unchanged()) {
+      int seq = draft.getLastSeq() + 1;
+      draft.setLastSeq(seq);
+      postDraftDao.appendDelta(new PostDraftDeltaEntity(postId, seq, delta.prefixLength(),
+          delta.suffixLength(), delta.text()));
+    }
+    if (request.getTitle() != null) {
+      draft.setTitle(request.getTitle());
+    }
+    if (request.getThumbnail() != null) {
+      draft.setThumbnail(request.getThumbnail());
+    }
+    if (request.getTags() != null) {
+      draft.setTags(new ArrayList<>(request.getTags()));
+    }
+    // 바뀐 필드가 없으면 dirty checking 으로 UPDATE 도 나가지 않는다
+    postDraftDao.save(draft);
+    // 초안에만 있는 이미지도 정리 대상에서 빠지도록 기록 (발행/폐기 때 게시글 기준으로 다시 맞춘다)
+    postImageDao.addAll(postId,
+        imageStorage.findFileNames(request.getContent(), request.getThumbnail()));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<PostDraftDTO> getDraft(String userId, Long postId) {
+    PostEntity post = requireOwnPost(userId, postId);
+    return postDraftDao.findById(postId)
+        .filter(draft -> isBasedOn(draft, post))
+        .map(draft -> PostDraftDTO.builder()
+            .postId(postId)
+            .title(draft.getTitle())
+            .content(TextDeltas.applyAll(post.getContent(), postDraftDao.findDeltas(postId)))
+            .thumbnail(draft.getThumbnail())
+            .tags(draft.getTags() != null ? draft.getTags()
+                : postService.getTagNamesByPostId(postId))
+            .baseUpdatedAt(draft.getBaseUpdatedAt())
+            .updatedAt(draft.getUpdatedAt())
+            .build());
+  }
+
+  @Override
+  @Transactional
+  public PostEntity publishDraft(String userId, Long postId) {
+    PostEntity post = requireOwnPost(userId, postId);
+    PostDraftEntity draft = postDraftDao.findByIdForUpdate(postId)
+        .orElseThrow(() -> new IllegalArgumentException("저장된 초안이 없습니다."));
+    if (!isBasedOn(draft, post)) {
+      throw new OptimisticLockingFailureException("초안을 작성하는 동안 게시글이 수정되었습니다.");
+    }
+
+    String content = TextDeltas.applyAll(post.getContent(), postDraftDao.findDeltas(postId));
+    PostCreationRequestDTO update = new PostCreationRequestDTO(draft.getTitle(), content,
+        draft.getThumbnail(), post.getIsPublished(), draft.getTags());
+    // 게시글 수정 경로와 같은 처리 (태그는 바뀐 경우에만, 초안 삭제, 캐시/색인 갱신)
+    return postService.updatePost(userId, postId, update);
+  }
+
+  @Override
+  @Transactional
+  public void discardDraft(String userId, Long postId) {
+    PostEntity post = requireOwnPost(userId, postId);
+    postDraftDao.delete(postId);
+    postImageDao.replaceAll(postId,
+        imageStorage.findFileNames(post.getContent(), post.getThumbnail()));
+  }
+
+  @Override
+  @Transactional
+  public void compactDraft(Long postId) {
+    Optional<PostDraftEntity> found = postDraftDao.findByIdForUpdate(postId);
+    if (found.isEmpty()) {
+      return;
+    }
+    PostDraftEntity draft = found.get();
+    Optional<PostEntity> post = postDao.findById(postId);
+    if (post.isEmpty() || !isBasedOn(draft, post.get())) {
+      // 게시글이 삭제됐거나 다른 경로로 수정돼 더 이상 적용할 수 없는 초안
+      postDraftDao.delete(postId);
+      return;
+    }
+
+    String base = post.get().getContent();
+    List<PostDraftDeltaEntity> deltas = postDraftDao.findDeltas(postId);
+    if (deltas.size() <= 1) {
+      draft.setCompactedSeq(draft.getLastSeq());
+      return;
+    }
+    TextDeltas.Delta delta = TextDeltas.diff(base, TextDeltas.applyAll(base, deltas));
+    int upToSeq = draft.getLastSeq();
+    postDraftDao.replaceDeltas(postId, upToSeq, new PostDraftDeltaEntity(postId, upToSeq,
+        delta.prefixLength(), delta.suffixLength(), delta.text()));
+    draft.setCompactedSeq(upToSeq);
+    log.debug("초안 delta 압축 - postId: {}, {}개 -> 1개", postId, deltas.size());
+  }
+
+  private PostEntity requireOwnPost(String userId, Long postId) {
+    PostEntity post = postDao.findById(postId)
+        .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다."));
+    if (!post.getAuthorId().equals(userId)) {
+      throw new IllegalStateException("게시글 수정 권한이 없습니다.");
+    }
+    return post;
+  }
+
+  private static boolean isBasedOn(PostDraftEntity draft, PostEntity post) {
+    return Objects.equals(draft.getBaseUpdatedAt(), post.getUpdatedAt());
+  }
+}
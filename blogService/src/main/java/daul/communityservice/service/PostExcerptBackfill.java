@@ -0,0 +1,44 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostDao;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * excerpt 컬럼이 추가되기 전에 작성된 게시글의 요약을 기동 시 한 번 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostExcerptBackfill {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final PostDao postDao;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    int total = 0;
+    try {
+      Map<Long, String> contents;
+      while (!(contents = postDao.findContentsWithoutExcerpt(BATCH_SIZE)).isEmpty()) {
+        Map<Long, String> excerpts = new LinkedHashMap<>();
+        contents.forEach((postId, content) -> excerpts.put(postId, PostExcerpts.from(content)));
+        postDao.updateExcerpts(excerpts);
+        total += excerpts.size();
+      }
+    } catch (Exception e) {
+      // 실패해도 목록은 excerpt 없이 내려가므로 기동은 계속한다
+      log.error("게시글 요약 채우기 실패 ({}건 처리 후 중단)", total, e);
+      return;
+    }
+    if (total > 0) {
+      log.info("게시글 요약 채우기 완료: {}건", total);
+    }
+  }
+}
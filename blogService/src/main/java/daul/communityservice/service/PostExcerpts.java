@@ -0,0 +1,47 @@
+package daul.communityservice.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * 목록 카드에 보여줄 본문 요약 생성 (HTML 태그 제거 + 엔티티 디코딩 후 앞부분만)
+ */
+public final class PostExcerpts {
+
+  public static final int MAX_LENGTH = 200;
+
+  private static final Pattern SCRIPT_OR_STYLE =
+      Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1\\s*>");
+  private static final Pattern TAG = Pattern.compile("<[^>]*>");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private PostExcerpts() {
+  }
+
+  public static String from(String html) {
+    String text = toPlainText(html);
+    if (text.codePointCount(0, text.length()) <= MAX_LENGTH) {
+      return text;
+    }
+    // 이모지 등 서로게이트 쌍이 잘리지 않도록 code point 기준으로 자른다
+    return text.substring(0, text.offsetByCodePoints(0, MAX_LENGTH)) + "...";
+  }
+
+  /**
+   * 본문 HTML 의 텍스트만 (검색 색인에서도 사용)
+   */
+  public static String toPlainText(String html) {
+    if (html == null || html.isEmpty()) {
+      return "";
+    }
+    String text = SCRIPT_OR_STYLE.matcher(html).replaceAll(" ");
+    text = TAG.matcher(text).replaceAll(" ");
+    text = text
+        .replace("&nbsp;", " ")
+        .replace("&lt;", "<")
+        .replace("&gt;", ">")
+        .replace("&quot;", "\"")
+        .replace("&#39;", "'")
+        .replace("&amp;", "&");
+    return WHITESPACE.matcher(text).replaceAll(" ").trim();
+  }
+}
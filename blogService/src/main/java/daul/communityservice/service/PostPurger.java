@@ -0,0 +1,140 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.CommentDao;
+import daul.communityservice.dao.LikeDao;
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.dao.PostDao.DeletedPost;
+import daul.communityservice.dao.PostDraftDao;
+import daul.communityservice.dao.PostImageDao;
+import daul.communityservice.dao.PostTagDao;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 삭제 표시된 게시글 정리
+ *
+ * 게시글 삭제는 is_deleted 표시만 하고(PostServiceImpl.deletePost), 여기서 댓글 -> 좋아요 -> 태그/초안 -> 이미지 -> 게시글 행
+ * 순서로 지운다. 댓글/좋아요는 chunkSize 개씩 별도 문장(자동 커밋)으로 지워 댓글이 많은 글도 긴 트랜잭션/락을 잡지 않는다.
+ * 중간에 실패해도 게시글 행이 남아 있으므로 다음 주기에 이어서 지운다.
+ *
+ * 삭제 직후 진행 중이던 댓글/좋아요 쓰기나 같은 이미지 재업로드와 겹치지 않도록 grace 가 지난 글만 정리한다.
+ */
+@Slf4j
+@Component
+public class PostPurger {
+
+  private final PostDao postDao;
+  private final CommentDao commentDao;
+  private final LikeDao likeDao;
+  private final PostTagDao postTagDao;
+  private final PostDraftDao postDraftDao;
+  private final PostImageDao postImageDao;
+  private final BlogMigrations blogMigrations;
+  private final ImageStorage imageStorage;
+  private final ImageDerivatives imageDerivatives;
+  private final Duration grace;
+  private final int chunkSize;
+  private final int batchSize;
+
+  private volatile boolean imagesBackfilled = false;
+
+  public PostPurger(PostDao postDao, CommentDao commentDao, LikeDao likeDao,
+      PostTagDao postTagDao, PostDraftDao postDraftDao, PostImageDao postImageDao,
+      BlogMigrations blogMigrations, ImageStorage imageStorage, ImageDerivatives imageDerivatives,
+      @Value("${blog.posts.purge-grace-seconds:300}") long graceSeconds,
+      @Value("${blog.posts.purge-chunk-size:500}") int chunkSize,
+      @Value("${blog.posts.purge-batch-size:50}") int batchSize) {
+    this.postDao = postDao;
+    this.commentDao = commentDao;
+    this.likeDao = likeDao;
+    this.postTagDao = postTagDao;
+    this.postDraftDao = postDraftDao;
+    this.postImageDao = postImageDao;
+    this.blogMigrations = blogMigrations;
+    this.imageStorage = imageStorage;
+    this.imageDerivatives = imageDerivatives;
+    this.grace = Duration.ofSeconds(graceSeconds);
+    this.chunkSize = chunkSize;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(
+      initialDelayString = "${blog.posts.purge-interval-ms:60000}",
+      fixedDelayString = "${blog.posts.purge-interval-ms:60000}")
+  public void purge() {
+    List<DeletedPost> posts;
+    try {
+      // 기존 게시글의 이미지 참조가 다 기록되기 전에는 다른 글이 쓰는 이미지를 지울 수 있으므로 기다린다
+      if (!imagesBackfilled) {
+        if (!blogMigrations.isApplied(BlogMigrations.POST_IMAGES)) {
+          return;
+        }
+        imagesBackfilled = true;
+      }
+      posts = postDao.findDeletedPosts(LocalDateTime.now().minus(grace), batchSize);
+    } catch (Exception e) {
+      log.error("삭제된 게시글 조회 실패", e);
+      return;
+    }
+    for (DeletedPost post : posts) {
+      try {
+        purge(post);
+      } catch (Exception e) {
+        log.error("삭제된 게시글 정리 실패 - postId: {}", post.postId(), e);
+      }
+    }
+  }
+
+  private void purge(DeletedPost post) {
+    Long postId = post.postId();
+    int comments = deleteInChunks(limit -> commentDao.deleteChunkByPostId(postId, limit));
+    int likes = deleteInChunks(limit -> likeDao.deleteChunkByPostId(postId, limit));
+    // 태그 연결은 글당 몇 개뿐이라 한 문장으로 (삭제 표시된 글은 tags.post_count 에서 이미 빠져 있음)
+    postTagDao.deleteByPostId(postId);
+    postDraftDao.delete(postId);
+    int images = deleteImages(post);
+    postDao.purgePost(postId);
+    log.info("삭제된 게시글 정리 - postId: {}, 댓글 {}개, 좋아요 {}개, 이미지 {}개",
+        postId, comments, likes, images);
+  }
+
+  private int deleteInChunks(IntUnaryOperator deleteChunk) {
+    int total = 0;
+    int deleted;
+    do {
+      deleted = deleteChunk.applyAsInt(chunkSize);
+      total += deleted;
+    } while (deleted >= chunkSize);
+    return total;
+  }
+
+  // 업로드 파일은 내용 해시로 공유되므로 다른 게시글이 쓰지 않는 파일만 지운다
+  private int deleteImages(DeletedPost post) {
+    Instant notModifiedSince = Instant.now().minus(grace);
+    int deleted = 0;
+    // 이 글의 참조부터 지우고, 남은 참조(다른 삭제되지 않은 글/초안)가 있는 파일은 남긴다
+    postImageDao.deleteByPostId(post.postId());
+    for (String fileName : imageStorage.findFileNames(post.content(), post.thumbnail())) {
+      if (postImageDao.isReferenced(fileName)) {
+        continue;
+      }
+      try {
+        if (imageStorage.delete(fileName, notModifiedSince)) {
+          imageDerivatives.deleteVariants(fileName);
+          deleted++;
+        }
+      } catch (Exception e) {
+        // 파일이 남는 것은 게시글 정리를 막을 정도는 아니다
+        log.warn("이미지 삭제 실패: {}", fileName, e);
+      }
+    }
+    return deleted;
+  }
+}
@@ -0,0 +1,601 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.dao.PostTagDao;
+import daul.communityservice.entity.PostEntity;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 전문 검색용 역색인 (메모리 + 로컬 디스크 세그먼트)
+ *
+ * 새로 색인한 글은 메모리 버퍼에 쌓였다가 주기적으로 불변 세그먼트(SearchSegment)로 내려가 디스크에 저장된다.
+ * 수정/삭제는 기존 세그먼트에 tombstone 만 표시하고, 세그먼트가 maxSegments 개를 넘으면 작은 것부터 병합한다.
+ * 재시작 시에는 디스크 세그먼트를 읽고, 마지막 저장 시각(watermark) 이후 바뀐 글만 DB 에서 다시 색인한다.
+ *
+ * 점수는 BM25 (제목/태그는 본문보다 높은 가중치로 tf 에 반영). 공개 게시글만 색인한다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final int TITLE_WEIGHT = 3;
+  private static final int TAG_WEIGHT = 2;
+  private static final int BODY_WEIGHT = 1;
+  // 질의 한 번에 사용하는 최대 토큰 수
+  private static final int MAX_QUERY_TERMS = 32;
+  private static final int CATCH_UP_BATCH_SIZE = 200;
+  private static final int CATCH_UP_FLUSH_DOCS = 5000;
+
+  private static final String META_FILE = "index.meta";
+
+  private final PostDao postDao;
+  private final PostTagDao postTagDao;
+  private final TagNameCache tagNameCache;
+
+  private final Path indexDir;
+  private final int maxSegments;
+  private final long catchUpMarginMillis;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // ===== lock 으로 보호 =====
+  private final List<SearchSegment> segments = new ArrayList<>();
+  // 세그먼트에 살아 있는 문서가 어느 세그먼트에 있는지 (메모리 버퍼 문서는 제외)
+  private final Map<Long, SearchSegment> locations = new HashMap<>();
+  private final TreeMap<Long, SearchSegment.Doc> memoryDocs = new TreeMap<>();
+  private final Map<String, Map<Long, Integer>> memoryPostings = new HashMap<>();
+  private long memoryTotalLength;
+  private long nextSegmentId = 1;
+  private boolean dirty;
+
+  // 태그 추가/제거처럼 본문 없이 바뀐 글은 모아서 flush 때 DB 에서 다시 읽는다
+  private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+  // 기동 시 따라잡기 도중 실시간으로 바뀐 글 (따라잡기가 옛 내용으로 덮어쓰지 않도록)
+  private final Set<Long> touchedDuringCatchUp = ConcurrentHashMap.newKeySet();
+  private volatile boolean catchingUp = false;
+  // warmUp 이 성공하기 전에는 디스크에 아무것도 쓰지 않는다.
+  // (그 전에 flush 하면 메타 파일이 새 세그먼트와 새 watermark 로 바뀌어 기존 세그먼트를 잃는다)
+  private volatile boolean ready = false;
+
+  private final Object flushMonitor = new Object();
+  // 만들었지만 아직 파일로 쓰지 못한 세그먼트 (flushMonitor 로 보호)
+  private final List<SearchSegment> unsavedSegments = new ArrayList<>();
+
+  public PostSearchIndex(PostDao postDao, PostTagDao postTagDao, TagNameCache tagNameCache,
+      @Value("${blog.search.index-dir:./search-index}") String indexDir,
+      @Value("${blog.search.max-segments:8}") int maxSegments,
+      @Value("${blog.search.catch-up-margin-minutes:10}") long catchUpMarginMinutes) {
+    this.postDao = postDao;
+    this.postTagDao = postTagDao;
+    this.tagNameCache = tagNameCache;
+    this.indexDir = Paths.get(indexDir);
+    this.maxSegments = Math.max(1, maxSegments);
+    this.catchUpMarginMillis = catchUpMarginMinutes * 60_000L;
+  }
+
+  // ===== 색인 =====
+
+  public void index(Long postId, String title, String content, Collection<String> tags) {
+    if (postId == null) {
+      return;
+    }
+    markTouched(postId);
+    SearchSegment.Doc doc = analyze(title, content, tags);
+    lock.writeLock().lock();
+    try {
+      addLocked(postId, doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long postId) {
+    if (postId == null) {
+      return;
+    }
+    markTouched(postId);
+    lock.writeLock().lock();
+    try {
+      removeLocked(postId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 다음 flush 때 DB 에서 다시 읽어 색인한다 (태그만 바뀐 경우 등)
+   */
+  public void requestRefresh(Long postId) {
+    if (postId != null) {
+      pendingRefresh.add(postId);
+    }
+  }
+
+  private void addLocked(Long postId, SearchSegment.Doc doc) {
+    removeLocked(postId);
+    memoryDocs.put(postId, doc);
+    memoryTotalLength += doc.length();
+    doc.termFreqs().forEach((term, tf) ->
+        memoryPostings.computeIfAbsent(term, key -> new HashMap<>()).put(postId, tf));
+    dirty = true;
+  }
+
+  private void removeLocked(Long postId) {
+    SearchSegment.Doc previous = memoryDocs.remove(postId);
+    if (previous != null) {
+      memoryTotalLength -= previous.length();
+      previous.termFreqs().keySet().forEach(term -> {
+        Map<Long, Integer> docs = memoryPostings.get(term);
+        if (docs != null) {
+          docs.remove(postId);
+          if (docs.isEmpty()) {
+            memoryPostings.remove(term);
+          }
+        }
+      });
+      dirty = true;
+    }
+    SearchSegment segment = locations.remove(postId);
+    if (segment != null && segment.delete(postId)) {
+      dirty = true;
+    }
+  }
+
+  private void markTouched(Long postId) {
+    if (catchingUp) {
+      touchedDuringCatchUp.add(postId);
+    }
+  }
+
+  private static SearchSegment.Doc analyze(String title, String content,
+      Collection<String> tags) {
+    Map<String, Integer> freqs = new HashMap<>();
+    int length = addTokens(freqs, SearchTokenizer.tokenize(title), TITLE_WEIGHT);
+    if (tags != null) {
+      for (String tag : tags) {
+        length += addTokens(freqs, SearchTokenizer.tokenize(tag), TAG_WEIGHT);
+      }
+    }
+    length += addTokens(freqs, SearchTokenizer.tokenize(PostExcerpts.toPlainText(content)),
+        BODY_WEIGHT);
+    return new SearchSegment.Doc(freqs, length);
+  }
+
+  private static int addTokens(Map<String, Integer> freqs, List<String> tokens, int weight) {
+    tokens.forEach(token -> freqs.merge(token, weight, Integer::sum));
+    return tokens.size() * weight;
+  }
+
+  // ===== 검색 =====
+
+  /**
+   * BM25 점수 내림차순(동점이면 최신 글 우선)으로 offset 부터 limit 개
+   */
+  public Result search(String query, int offset, int limit) {
+    Set<String> terms = SearchTokenizer.tokenize(query).stream()
+        .limit(MAX_QUERY_TERMS)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    if (terms.isEmpty() || limit <= 0) {
+      return new Result(List.of(), 0);
+    }
+
+    Map<Long, Double> scores = new HashMap<>();
+    lock.readLock().lock();
+    try {
+      long docCount = memoryDocs.size();
+      long totalLength = memoryTotalLength;
+      for (SearchSegment segment : segments) {
+        docCount += segment.liveDocCount();
+        totalLength += segment.liveTotalLength();
+      }
+      if (docCount == 0) {
+        return new Result(List.of(), 0);
+      }
+      double avgLength = Math.max(1d, (double) totalLength / docCount);
+
+      for (String term : terms) {
+        Map<Long, Integer> memoryHits = memoryPostings.getOrDefault(term, Map.of());
+        long docFreq = memoryHits.size();
+        for (SearchSegment segment : segments) {
+          docFreq += segment.docFreq(term);
+        }
+        if (docFreq == 0) {
+          continue;
+        }
+        docFreq = Math.min(docFreq, docCount);
+        double idf = Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+
+        memoryHits.forEach((postId, tf) -> scores.merge(postId,
+            bm25(idf, tf, memoryDocs.get(postId).length(), avgLength), Double::sum));
+        for (SearchSegment segment : segments) {
+          long[] postIds = segment.getPostIds();
+          segment.forEachPosting(term, (ord, tf) -> scores.merge(postIds[ord],
+              bm25(idf, tf, segment.lengthOf(ord), avgLength), Double::sum));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    return new Result(topHits(scores, offset + limit, offset), scores.size());
+  }
+
+  private static double bm25(double idf, int tf, int docLength, double avgLength) {
+    double norm = K1 * (1 - B + B * docLength / avgLength);
+    return idf * tf * (K1 + 1) / (tf + norm);
+  }
+
+  private static List<Long> topHits(Map<Long, Double> scores, int window, int offset) {
+    Comparator<Map.Entry<Long, Double>> order = Map.Entry.<Long, Double>comparingByValue()
+        .thenComparing(Map.Entry.comparingByKey());
+    // 상위 window 개만 유지하는 min-heap
+    PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(order);
+    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+      if (heap.size() < window) {
+        heap.add(entry);
+      } else if (order.compare(entry, heap.peek()) > 0) {
+        heap.poll();
+        heap.add(entry);
+      }
+    }
+    List<Map.Entry<Long, Double>> sorted = new ArrayList<>(heap);
+    sorted.sort(order.reversed());
+    return sorted.stream()
+        .skip(offset)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  // ===== 세그먼트 저장 / 병합 =====
+
+  /**
+   * 밀린 refresh 를 반영하고, 메모리 버퍼를 세그먼트로 내려 디스크에 저장한다.
+   */
+  @Scheduled(fixedDelayString = "${blog.search.flush-interval-ms:5000}")
+  public void flush() {
+    if (!ready || catchingUp) {
+      // 기동 따라잡기 중에는 warmUp 이 직접 저장한다 (스케줄러 스레드를 붙잡지 않도록)
+      // 따라잡기 전이거나 실패했으면 메모리에만 두고, 다음 기동 때 저장된 watermark 부터 다시 따라잡는다
+      return;
+    }
+    synchronized (flushMonitor) {
+      refreshPending();
+      flushLocked(System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * flushMonitor 안에서 호출. watermark 는 이 시각 이전 변경이 모두 저장됐다는 표시
+   *
+   * @return 저장할 것이 없었거나 저장에 성공하면 true
+   */
+  private boolean flushLocked(long watermark) {
+    List<SearchSegment> created = unsavedSegments;
+    List<SearchSegment> mergedAway = new ArrayList<>();
+    Map<SearchSegment, long[]> deletes = new HashMap<>();
+    Properties meta;
+
+    lock.writeLock().lock();
+    try {
+      if (!dirty) {
+        return true;
+      }
+      if (!memoryDocs.isEmpty()) {
+        SearchSegment segment = SearchSegment.of(nextSegmentId++, new TreeMap<>(memoryDocs));
+        addSegmentLocked(segment);
+        created.add(segment);
+        memoryDocs.clear();
+        memoryPostings.clear();
+        memoryTotalLength = 0;
+      }
+      if (segments.size() > maxSegments) {
+        SearchSegment merged = mergeSmallestLocked(segments.size() - maxSegments + 1,
+            mergedAway);
+        created.add(merged);
+        created.removeAll(mergedAway);
+      }
+      for (SearchSegment segment : segments) {
+        if (segment.isDeletedDirty()) {
+          deletes.put(segment, segment.snapshotDeletes());
+        }
+      }
+      meta = metaLocked(watermark);
+      dirty = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    try {
+      persist(created, deletes, meta, mergedAway);
+      created.clear();
+      return true;
+    } catch (IOException e) {
+      // 다음 flush 에서 다시 시도. 재시작 시에는 watermark 이후 변경분을 DB 에서 따라잡는다.
+      log.warn("검색 색인 저장 실패", e);
+      lock.writeLock().lock();
+      try {
+        deletes.keySet().forEach(SearchSegment::markDeletesDirty);
+        dirty = true;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      return false;
+    }
+  }
+
+  private void addSegmentLocked(SearchSegment segment) {
+    segments.add(segment);
+    long[] postIds = segment.getPostIds();
+    for (int ord = 0; ord < postIds.length; ord++) {
+      if (!segment.isDeleted(ord)) {
+        SearchSegment older = locations.put(postIds[ord], segment);
+        if (older != null && older != segment) {
+          // 같은 글이 두 세그먼트에 살아 있으면 (저장 도중 종료 등) 새 세그먼트를 남긴다
+          older.delete(postIds[ord]);
+        }
+      }
+    }
+  }
+
+  private SearchSegment mergeSmallestLocked(int count, List<SearchSegment> mergedAway) {
+    List<SearchSegment> candidates = segments.stream()
+        .sorted(Comparator.comparingInt(SearchSegment::liveDocCount))
+        .limit(Math.max(2, count))
+        .collect(Collectors.toList());
+    TreeMap<Long, SearchSegment.Doc> docs = new TreeMap<>();
+    candidates.forEach(segment -> segment.collectLiveDocs(docs));
+
+    segments.removeAll(candidates);
+    mergedAway.addAll(candidates);
+    SearchSegment merged = SearchSegment.of(nextSegmentId++, docs);
+    addSegmentLocked(merged);
+    log.debug("검색 세그먼트 병합: {}개 -> 1개 ({}건)", candidates.size(), docs.size());
+    return merged;
+  }
+
+  private Properties metaLocked(long watermark) {
+    Properties meta = new Properties();
+    meta.setProperty("segments", segments.stream()
+        .map(segment -> Long.toString(segment.getId()))
+        .collect(Collectors.joining(",")));
+    meta.setProperty("next-segment-id", Long.toString(nextSegmentId));
+    meta.setProperty("watermark", Long.toString(watermark));
+    return meta;
+  }
+
+  private void persist(List<SearchSegment> created, Map<SearchSegment, long[]> deletes,
+      Properties meta, List<SearchSegment> mergedAway) throws IOException {
+    Files.createDirectories(indexDir);
+    for (SearchSegment segment : created) {
+      segment.write(indexDir);
+    }
+    for (Map.Entry<SearchSegment, long[]> entry : deletes.entrySet()) {
+      SearchSegment.writeDeletes(indexDir, entry.getKey().getId(), entry.getValue());
+    }
+
+    // 메타 파일이 바뀌는 순간 새 세그먼트 목록이 유효해진다
+    Path temp = Files.createTempFile(indexDir, "meta-", ".part");
+    try (OutputStream out = Files.newOutputStream(temp)) {
+      meta.store(out, "blog search index");
+    }
+    Files.move(temp, indexDir.resolve(META_FILE), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+
+    for (SearchSegment segment : mergedAway) {
+      Files.deleteIfExists(SearchSegment.dataFile(indexDir, segment.getId()));
+      Files.deleteIfExists(SearchSegment.deletesFile(indexDir, segment.getId()));
+    }
+  }
+
+  // ===== 기동 =====
+
+  /**
+   * 디스크 세그먼트를 읽고 watermark 이후 바뀐 글만 DB 에서 따라잡는다. 색인이 없으면 전체를 한 번 만든다.
+   * 성공해야 ready 가 되어 주기적 flush 가 시작된다. 실패하면 watermark 는 그대로 남는다.
+   */
+  @Order(2)
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    synchronized (flushMonitor) {
+      catchingUp = true;
+      try {
+        long startedAt = System.currentTimeMillis();
+        Long watermark = load();
+        LocalDateTime since = watermark == null ? null : LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(watermark - catchUpMarginMillis), ZoneId.systemDefault());
+        int indexed = catchUp(since, watermark == null ? 0 : watermark);
+        // 변경이 없어도 watermark 는 앞으로 당겨 둔다
+        lock.writeLock().lock();
+        try {
+          dirty = true;
+        } finally {
+          lock.writeLock().unlock();
+        }
+        if (!flushLocked(startedAt)) {
+          throw new IOException("따라잡은 색인을 저장하지 못했습니다");
+        }
+        ready = true;
+        log.info("검색 색인 준비 완료: 세그먼트 {}개, 따라잡기 {}건 ({})", segments.size(), indexed,
+            since == null ? "전체 색인" : since + " 이후 변경분");
+      } catch (Exception e) {
+        log.error("검색 색인 초기화 실패 - 재시작 전까지 색인 변경은 디스크에 저장하지 않습니다", e);
+      } finally {
+        catchingUp = false;
+        touchedDuringCatchUp.clear();
+      }
+    }
+  }
+
+  /**
+   * @return 저장된 색인이 없거나 읽을 수 없으면 null (전체 재색인)
+   */
+  private Long load() {
+    Path metaFile = indexDir.resolve(META_FILE);
+    if (!Files.exists(metaFile)) {
+      return null;
+    }
+    try {
+      Properties meta = new Properties();
+      try (InputStream in = Files.newInputStream(metaFile)) {
+        meta.load(in);
+      }
+      List<SearchSegment> loaded = new ArrayList<>();
+      for (String id : meta.getProperty("segments", "").split(",")) {
+        if (!id.isBlank()) {
+          loaded.add(SearchSegment.read(indexDir, Long.parseLong(id.trim())));
+        }
+      }
+
+      lock.writeLock().lock();
+      try {
+        loaded.forEach(this::addSegmentLocked);
+        nextSegmentId = Long.parseLong(meta.getProperty("next-segment-id", "1"));
+        dirty = segments.stream().anyMatch(SearchSegment::isDeletedDirty);
+      } finally {
+        lock.writeLock().unlock();
+      }
+      deleteOrphanFiles(loaded);
+      return Long.parseLong(meta.getProperty("watermark"));
+    } catch (IOException | RuntimeException e) {
+      log.warn("검색 색인을 읽을 수 없어 DB 에서 다시 만듭니다: {}", indexDir.toAbsolutePath(), e);
+      lock.writeLock().lock();
+      try {
+        segments.clear();
+        locations.clear();
+        nextSegmentId = 1;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      return null;
+    }
+  }
+
+  // 병합 후 메타 갱신 전에 종료되는 등으로 남은 파일 정리
+  private void deleteOrphanFiles(List<SearchSegment> live) throws IOException {
+    Set<Path> keep = new HashSet<>();
+    keep.add(indexDir.resolve(META_FILE));
+    for (SearchSegment segment : live) {
+      keep.add(SearchSegment.dataFile(indexDir, segment.getId()));
+      keep.add(SearchSegment.deletesFile(indexDir, segment.getId()));
+    }
+    try (Stream<Path> files = Files.list(indexDir)) {
+      for (Path file : files.filter(file -> !keep.contains(file)).toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  private int catchUp(LocalDateTime since, long catchUpWatermark) {
+    int indexed = 0;
+    Long afterPostId = 0L;
+    while (true) {
+      List<PostEntity> posts = postDao.findPostsChangedSince(since, afterPostId,
+          CATCH_UP_BATCH_SIZE);
+      if (posts.isEmpty()) {
+        return indexed;
+      }
+      indexed += indexFromDatabase(posts, touchedDuringCatchUp);
+      afterPostId = posts.get(posts.size() - 1).getPostId();
+      if (memoryDocs.size() >= CATCH_UP_FLUSH_DOCS) {
+        // 전체 색인 시 메모리 버퍼가 커지지 않도록 중간 저장 (watermark 는 따라잡기 시작 기준 그대로)
+        flushLocked(catchUpWatermark);
+      }
+    }
+  }
+
+  private void refreshPending() {
+    if (pendingRefresh.isEmpty()) {
+      return;
+    }
+    List<Long> postIds = new ArrayList<>(pendingRefresh);
+    pendingRefresh.removeAll(postIds);
+    try {
+      List<PostEntity> posts = postDao.findAllByIds(postIds);
+      indexFromDatabase(posts, Set.of());
+      // DB 에 없는 글은 삭제된 것
+      Set<Long> found = posts.stream().map(PostEntity::getPostId).collect(Collectors.toSet());
+      postIds.stream().filter(postId -> !found.contains(postId)).forEach(this::remove);
+    } catch (RuntimeException e) {
+      log.warn("검색 색인 갱신 실패 - {}건은 다음 주기에 다시 시도", postIds.size(), e);
+      pendingRefresh.addAll(postIds);
+    }
+  }
+
+  private int indexFromDatabase(List<PostEntity> posts, Set<Long> skip) {
+    Map<Long, List<Long>> tagIdsByPost = postTagDao.findTagIdsByPostIds(
+        posts.stream().map(PostEntity::getPostId).collect(Collectors.toList()));
+    Set<Long> tagIds = new HashSet<>();
+    tagIdsByPost.values().forEach(tagIds::addAll);
+    Map<Long, String> tagNames = tagIds.isEmpty() ? Map.of() : tagNameCache.resolve(tagIds);
+
+    int indexed = 0;
+    for (PostEntity post : posts) {
+      if (skip.contains(post.getPostId())) {
+        continue;
+      }
+      if (!Boolean.TRUE.equals(post.getIsPublished())) {
+        remove(post.getPostId());
+        continue;
+      }
+      List<String> tags = tagIdsByPost.getOrDefault(post.getPostId(), List.of()).stream()
+          .map(tagNames::get)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+      SearchSegment.Doc doc = analyze(post.getTitle(), post.getContent(), tags);
+      lock.writeLock().lock();
+      try {
+        // 읽는 사이 실시간 변경이 먼저 반영됐으면 옛 내용으로 덮어쓰지 않는다
+        if (skip.contains(post.getPostId())) {
+          continue;
+        }
+        addLocked(post.getPostId(), doc);
+      } finally {
+        lock.writeLock().unlock();
+      }
+      indexed++;
+    }
+    return indexed;
+  }
+
+  /**
+   * 검색 결과 한 페이지의 postId 와 전체 일치 건수
+   */
+  public record Result(List<Long> postIds, long total) {
+
+  }
+}
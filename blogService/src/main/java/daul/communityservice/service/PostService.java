@@ -1,10 +1,17 @@
 package daul.communityservice.service;
 
 
+import daul.communityservice.dto.CursorPageResDTO;
 import daul.communityservice.dto.PostCreationRequestDTO;
+import daul.communityservice.dto.PostSummaryDTO;
+import daul.communityservice.dto.TagCountDTO;
 import daul.communityservice.entity.PostEntity;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,6 +26,11 @@ public interface PostService {
 
   PostEntity readPost(Long postId);
 
+  /**
+   * 게시글 상세 응답 JSON (캐시 적중 시 DB 조회 없음). 게시글이 없으면 empty
+   */
+  Optional<byte[]> readPostDetail(Long postId);
+
   PostEntity updatePost(String authenticatedUserSignId,Long postId, PostCreationRequestDTO postCreationRequestDTO);
 
 
@@ -27,6 +39,11 @@ public interface PostService {
    */
   List<String> getTagNamesByPostId(Long postId);
 
+  /**
+   * 여러 게시글의 태그 이름을 한 번에 조회 (postId -> 태그 이름 목록)
+   */
+  Map<Long, List<String>> getTagNamesByPostIds(Collection<Long> postIds);
+
   /**
    * postId와 tagName을 받아서 태그를 게시글에 연결
    */
@@ -45,12 +62,42 @@ public interface PostService {
   void incrementViewCount(Long postId);
 
   //최근
-  Page<PostEntity> getRecentPosts(Pageable pageable);
+  Page<PostSummaryDTO> getRecentPosts(Pageable pageable);
 
 
   /// 트랜딩
-  Page<PostEntity> getTrendingPosts(Pageable pageable);
-  Page<PostEntity> getFeedPosts(String currentUserId, Pageable pageable);
+  Page<PostSummaryDTO> getTrendingPosts(Pageable pageable);
+  Page<PostSummaryDTO> getFeedPosts(String currentUserId, Pageable pageable);
+
+  /**
+   * keyset(커서) 페이지네이션. cursor 가 null 이면 첫 페이지
+   */
+  CursorPageResDTO<PostSummaryDTO> getRecentPosts(String cursor, int size);
+
+  CursorPageResDTO<PostSummaryDTO> getTrendingPosts(String cursor, int size);
+
+  CursorPageResDTO<PostSummaryDTO> getFeedPosts(String currentUserId, String cursor, int size);
+
+  /**
+   * 해당 태그가 달린 공개 게시글 (최신순 keyset). 없는 태그면 빈 페이지
+   */
+  CursorPageResDTO<PostSummaryDTO> getPostsByTag(String tagName, String cursor, int size);
+
+  /**
+   * 게시글 수가 많은 태그 순
+   */
+  List<TagCountDTO> getPopularTags(int size);
+
+  /**
+   * 제목/본문/태그 전문 검색 (BM25 점수순)
+   */
+  Page<PostSummaryDTO> searchPosts(String query, Pageable pageable);
 
   String uploadImage(MultipartFile file) throws IOException;
+
+  /**
+   * 요청 본문 스트림을 그대로 저장 (멀티파트 버퍼링 없음)
+   */
+  String uploadImage(InputStream in, String originalFilename, String contentType)
+      throws IOException;
 }
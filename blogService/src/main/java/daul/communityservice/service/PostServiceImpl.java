@@ -1,26 +1,37 @@
 package daul.communityservice.service;
 
 import daul.communityservice.dto.CommentDTO;
+import daul.communityservice.dto.CursorPageResDTO;
+import daul.communityservice.dto.PostCursor;
 import daul.communityservice.feignClient.FriendsFeignClient;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.UUID;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import daul.communityservice.dao.PostDao;
+import daul.communityservice.dao.PostDraftDao;
+import daul.communityservice.dao.PostImageDao;
 import daul.communityservice.dao.PostTagDao;
 import daul.communityservice.dao.TagDao;
 import daul.communityservice.dto.PostCreationRequestDTO;
+import daul.communityservice.dto.PostResDTO;
+import daul.communityservice.dto.PostSummaryDTO;
+import daul.communityservice.dto.TagCountDTO;
 import daul.communityservice.entity.CommentEntity;
 import daul.communityservice.entity.PostEntity;
-import daul.communityservice.entity.PostTagEntity;
-import daul.communityservice.entity.PostTagId;
 import daul.communityservice.entity.TagEntity;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -36,28 +47,42 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class PostServiceImpl implements PostService {
 
+  // tags.tag_name 컬럼 길이
+  private static final int MAX_TAG_NAME_LENGTH = 50;
+
   private final PostTagDao postTagDao;
   private final PostDao postDao;
+  private final PostDraftDao postDraftDao;
+  private final PostImageDao postImageDao;
   private final TagDao tagDao;
   private final FriendsFeignClient friendsFeignClient;
-
-  @Value("${file.upload-dir}")
-  private String uploadDir;
-  @Value("${file.base-url}")
-  private String baseUrl;
+  private final ViewCountBuffer viewCountBuffer;
+  private final TrendingRanking trendingRanking;
+  private final FeedTimelines feedTimelines;
+  private final TagNameCache tagNameCache;
+  private final ImageStorage imageStorage;
+  private final ImageDerivatives imageDerivatives;
+  private final PostSearchIndex postSearchIndex;
+  private final PostDetailCache postDetailCache;
+  private final TagPostCounts tagPostCounts;
 
   // 게시물 삭제
   @Transactional
   @Override
   public void deletePost(Long postId) {
-    PostEntity post = postDao.findById(postId)
-        .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다."));
-
-    // 단방향 관계이므로 수동으로 PostTag 먼저 삭제
-    postTagDao.deleteByPostId(postId);
-
-    // 게시글 삭제
-    postDao.deletePost(postId);
+    // 삭제 표시만 하고 바로 반환 (모든 조회에서 즉시 빠짐).
+    // 댓글/좋아요/태그/이미지와 게시글 행은 PostPurger 가 나중에 나눠서 지운다.
+    if (!postDao.markDeleted(postId)) {
+      throw new IllegalArgumentException("게시글이 존재하지 않습니다.");
+    }
+    List<Long> tagIds =
+        postTagDao.findTagIdsByPostIds(List.of(postId)).getOrDefault(postId, List.of());
+    AfterCommit.run(() -> {
+      tagPostCounts.markChanged(tagIds);
+      trendingRanking.remove(postId);
+      postSearchIndex.remove(postId);
+      postDetailCache.evict(postId);
+    });
   }
 
   @Override
@@ -67,70 +92,124 @@ public class PostServiceImpl implements PostService {
     PostEntity post = postDao.findById(postId)
         .orElseThrow(() -> new IllegalArgumentException("해당 게시글이 존재하지 않습니다. id=" + postId));
 
+    boolean wasPublished = Boolean.TRUE.equals(post.getIsPublished());
     post.setTitle(postCreationRequestDTO.getTitle());
     post.setContent(postCreationRequestDTO.getContent());
+    post.setExcerpt(PostExcerpts.from(postCreationRequestDTO.getContent()));
     if (postCreationRequestDTO.getThumbnail() != null) {
       post.setThumbnail(postCreationRequestDTO.getThumbnail());
     }
+    if (postCreationRequestDTO.getIsPublished() != null) {
+      post.setIsPublished(postCreationRequestDTO.getIsPublished());
+    }
+    boolean published = Boolean.TRUE.equals(post.getIsPublished());
 
     List<String> newTags = postCreationRequestDTO.getTags();
     if (newTags != null) {
-      postTagDao.deleteByPostId(postId);
-
-      if (!newTags.isEmpty()) {
-        addTagsToPost(postId, newTags);
-      }
+      replaceTags(postId, newTags);
     }
-    return postDao.writePost(post);
+    PostEntity updated = postDao.writePost(post);
+    // 발행된 본문이 바뀌었으므로 이전 본문 기준으로 쌓인 초안은 버린다 (초안 발행도 이 경로)
+    postDraftDao.delete(postId);
+    // 초안이 참조하던 이미지도 같이 빠지도록 지금 본문/썸네일 기준으로 다시 기록
+    postImageDao.replaceAll(postId,
+        imageStorage.findFileNames(updated.getContent(), updated.getThumbnail()));
+
+    List<String> tags = newTags != null ? newTags : getTagNamesByPostId(postId);
+    // 공개 여부가 바뀌면 작성/삭제와 같이 태그 수, 트렌딩, 피드에 반영 (비공개 글은 피드 조회 시 걸러져 빠진다)
+    List<Long> visibilityChangedTagIds = published == wasPublished ? List.of()
+        : postTagDao.findTagIdsByPostIds(List.of(postId)).getOrDefault(postId, List.of());
+    AfterCommit.run(() -> {
+      postDetailCache.evict(postId);
+      indexForSearch(updated, tags);
+      if (published == wasPublished) {
+        return;
+      }
+      tagPostCounts.markChanged(visibilityChangedTagIds);
+      if (published) {
+        trendingRanking.register(postId, updated.getCreatedAt());
+        fanOutToFriends(updated);
+      } else {
+        trendingRanking.remove(postId);
+      }
+    });
+    return updated;
   }
 
-  @Transactional
-
+  @Transactional(readOnly = true)
   @Override
   public PostEntity readPost(Long postId) {
-    return postDao.findById(postId)
+    PostEntity post = postDao.findById(postId)
         .orElseThrow(() -> new RuntimeException("게시물이 존재하지 않습니다."));
+    // readOnly 트랜잭션에서 읽은 엔티티라 변경 감지 대상이 아님 (응답용 값만 보정)
+    post.setViewCount(viewCountBuffer.merge(postId, post.getViewCount()));
+    return post;
+  }
+
+  // 트랜잭션 없이 캐시부터 본다 (적중 시 DB 커넥션을 잡지 않음)
+  @Override
+  public Optional<byte[]> readPostDetail(Long postId) {
+    return postDetailCache.get(postId, this::loadPostDetail)
+        .map(cached -> cached.render(viewCountBuffer.currentCount(postId)));
+  }
+
+  private Optional<PostResDTO> loadPostDetail(Long postId) {
+    return postDao.findById(postId).map(post -> PostResDTO.builder()
+        .postId(post.getPostId())
+        .authorId(post.getAuthorId())
+        .title(post.getTitle())
+        .content(post.getContent())
+        .excerpt(post.getExcerpt())
+        .thumbnail(post.getThumbnail())
+        .isPublished(post.getIsPublished())
+        .viewCount(post.getViewCount())
+        .createdAt(post.getCreatedAt())
+        .updatedAt(post.getUpdatedAt())
+        .tags(getTagNamesByPostId(postId))
+        .build());
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<String> getTagNamesByPostId(Long postId) {
-    List<PostTagEntity> postTags = postTagDao.findByPostId(postId);
+    return getTagNamesByPostIds(List.of(postId)).getOrDefault(postId, List.of());
+  }
 
-    return postTags.stream()
-        .map(postTag -> postTag.getTag().getTagName())
-        .collect(Collectors.toList());
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, List<String>> getTagNamesByPostIds(Collection<Long> postIds) {
+    // post_tags 한 번 조회 + 캐시에 없는 태그 이름만 한 번 더 조회 (게시글 수와 무관하게 최대 2쿼리)
+    Map<Long, List<Long>> tagIdsByPost = postTagDao.findTagIdsByPostIds(postIds);
+    if (tagIdsByPost.isEmpty()) {
+      return Map.of();
+    }
+    Set<Long> tagIds = new HashSet<>();
+    tagIdsByPost.values().forEach(tagIds::addAll);
+    Map<Long, String> tagNames = tagNameCache.resolve(tagIds);
+
+    Map<Long, List<String>> result = new HashMap<>();
+    tagIdsByPost.forEach((postId, ids) -> result.put(postId, ids.stream()
+        .map(tagNames::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList())));
+    return result;
   }
 
   @Override
   @Transactional
   public void addTagToPost(Long postId, String tagName) {
-    PostEntity post = postDao.findById(postId)
-        .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + postId));
-
-    // 태그 조회 또는 생성
-    TagEntity tag = tagDao.findByTagName(tagName)
-        .orElseGet(() -> {
-          TagEntity newTag = new TagEntity();
-          newTag.setTagName(tagName);
-          return tagDao.save(newTag);
-        });
-
-    // 이미 연결되어 있는지 확인
-    boolean exists = postTagDao.existsByPostIdAndTagId(postId, tag.getTagId());
+    requirePost(postId);
+    List<TagEntity> tags = resolveTags(List.of(tagName));
+    if (tags.isEmpty()) {
+      throw new IllegalArgumentException("태그 이름이 비어 있습니다.");
+    }
 
-    if (exists) {
+    // 이미 연결되어 있으면 ON CONFLICT 로 무시되고 false
+    Long tagId = tags.get(0).getTagId();
+    if (!postTagDao.insert(postId, tagId)) {
       throw new IllegalStateException("이미 해당 태그가 게시글에 연결되어 있습니다.");
     }
-
-    // PostTag 생성 및 저장
-    PostTagId postTagId = new PostTagId(postId, tag.getTagId());
-    PostTagEntity postTag = new PostTagEntity();
-    postTag.setPostTagId(postTagId);
-    postTag.setPost(post);
-    postTag.setTag(tag);
-
-    postTagDao.save(postTag);
+    AfterCommit.run(() -> onTagsChanged(postId, List.of(tagId)));
   }
 
   @Override
@@ -139,13 +218,78 @@ public class PostServiceImpl implements PostService {
     if (tagNames == null || tagNames.isEmpty()) {
       return;
     }
+    requirePost(postId);
+    // 이미 연결된 태그는 건너뛴다
+    Set<Long> tagIds = tagIdsOf(resolveTags(tagNames));
+    postTagDao.insertAll(postId, tagIds);
+    AfterCommit.run(() -> onTagsChanged(postId, tagIds));
+  }
+
+  private void onTagsChanged(Long postId, Collection<Long> tagIds) {
+    tagPostCounts.markChanged(tagIds);
+    postDetailCache.evict(postId);
+    postSearchIndex.requestRefresh(postId);
+  }
 
+  // 수정 시 태그 목록을 통째로 받아 바뀐 태그만 추가/삭제
+  private void replaceTags(Long postId, List<String> tagNames) {
+    Set<Long> current = new HashSet<>(
+        postTagDao.findTagIdsByPostIds(List.of(postId)).getOrDefault(postId, List.of()));
+    // 이름이 그대로면 태그 조회/생성도 하지 않는다 (이름은 TagNameCache 에서)
+    Set<String> currentNames = new HashSet<>(tagNameCache.resolve(current).values());
+    if (currentNames.size() == current.size() && currentNames.equals(normalizeTagNames(tagNames))) {
+      return;
+    }
+    Set<Long> desired = tagIdsOf(resolveTags(tagNames));
+
+    Set<Long> removed = new HashSet<>(current);
+    removed.removeAll(desired);
+    Set<Long> added = new LinkedHashSet<>(desired);
+    added.removeAll(current);
+
+    postTagDao.deleteByPostIdAndTagIds(postId, removed);
+    postTagDao.insertAll(postId, added);
+    AfterCommit.run(() -> {
+      tagPostCounts.markChanged(removed);
+      tagPostCounts.markChanged(added);
+    });
+  }
+
+  /**
+   * 태그 이름을 정리(trim, 빈 값/중복 제거)한 뒤 한 번에 조회하고, 없는 태그는 일괄 생성한다.
+   */
+  private List<TagEntity> resolveTags(List<String> tagNames) {
+    List<TagEntity> tags = tagDao.upsertAll(normalizeTagNames(tagNames));
+    // 새로 만든 태그 id 는 커밋된 뒤에만 캐시에 넣는다
+    AfterCommit.run(() -> tags.forEach(tagNameCache::put));
+    return tags;
+  }
+
+  private static Set<String> normalizeTagNames(List<String> tagNames) {
+    Set<String> names = new LinkedHashSet<>();
     for (String tagName : tagNames) {
-      try {
-        addTagToPost(postId, tagName);
-      } catch (IllegalStateException e) {
-        // 이미 존재하는 태그는 건너뛰기
+      String name = tagName == null ? "" : tagName.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      if (name.length() > MAX_TAG_NAME_LENGTH) {
+        throw new IllegalArgumentException(
+            "태그는 " + MAX_TAG_NAME_LENGTH + "자를 넘을 수 없습니다: " + name);
       }
+      names.add(name);
+    }
+    return names;
+  }
+
+  private static Set<Long> tagIdsOf(List<TagEntity> tags) {
+    return tags.stream()
+        .map(TagEntity::getTagId)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private void requirePost(Long postId) {
+    if (postDao.findById(postId).isEmpty()) {
+      throw new IllegalArgumentException("게시글을 찾을 수 없습니다: " + postId);
     }
   }
 
@@ -156,6 +300,7 @@ public class PostServiceImpl implements PostService {
         .orElseThrow(() -> new IllegalArgumentException("태그를 찾을 수 없습니다: " + tagName));
 
     postTagDao.deleteByPostIdAndTagId(postId, tag.getTagId());
+    AfterCommit.run(() -> onTagsChanged(postId, List.of(tag.getTagId())));
   }
 
   @Override
@@ -172,95 +317,313 @@ public class PostServiceImpl implements PostService {
         postCreationRequestDTO.getIsPublished(),
         postCreationRequestDTO.getThumbnail()
     );
+    writeEntity.setExcerpt(PostExcerpts.from(postCreationRequestDTO.getContent()));
 
     // 2. Post 저장 (postId 생성됨)
     PostEntity savedPost = postDao.writePost(writeEntity);
+    postImageDao.addAll(savedPost.getPostId(),
+        imageStorage.findFileNames(savedPost.getContent(), savedPost.getThumbnail()));
 
-    // 3. 태그가 있다면 추가
+    // 3. 태그가 있다면 추가 (태그 조회/생성 + post_tags 연결을 한 번씩 일괄로)
     if (postCreationRequestDTO.getTags() != null &&
         !postCreationRequestDTO.getTags().isEmpty()) {
-      addTagsToPost(savedPost.getPostId(), postCreationRequestDTO.getTags());
+      Set<Long> tagIds = tagIdsOf(resolveTags(postCreationRequestDTO.getTags()));
+      postTagDao.insertAll(savedPost.getPostId(), tagIds);
+      AfterCommit.run(() -> tagPostCounts.markChanged(tagIds));
     }
 
+    if (Boolean.TRUE.equals(savedPost.getIsPublished())) {
+      List<String> tags = postCreationRequestDTO.getTags();
+      AfterCommit.run(() -> {
+        trendingRanking.register(savedPost.getPostId(), savedPost.getCreatedAt());
+        indexForSearch(savedPost, tags);
+        fanOutToFriends(savedPost);
+      });
+    }
     return savedPost;
   }
 
-  @Transactional
+  // 공개 게시글만 검색 색인에 남긴다
+  private void indexForSearch(PostEntity post, List<String> tags) {
+    if (Boolean.TRUE.equals(post.getIsPublished())) {
+      postSearchIndex.index(post.getPostId(), post.getTitle(), post.getContent(), tags);
+    } else {
+      postSearchIndex.remove(post.getPostId());
+    }
+  }
+
+  @Transactional(readOnly = true)
   @Override
-  public void incrementViewCount(Long postId) {
-    postDao.incrementViewCount(postId);
+  public CursorPageResDTO<PostSummaryDTO> getPostsByTag(String tagName, String cursor, int size) {
+    PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+    Optional<TagEntity> tag = tagDao.findByTagName(tagName.trim());
+    if (tag.isEmpty()) {
+      return new CursorPageResDTO<>(List.of(), null, false);
+    }
+
+    List<PostSummaryDTO> posts = postDao.getTaggedPostsBefore(tag.get().getTagId(),
+        after != null ? after.getPostId() : null, size + 1);
+    boolean hasNext = posts.size() > size;
+    List<PostSummaryDTO> content = hasNext ? posts.subList(0, size) : posts;
+    String nextCursor = hasNext ? PostCursor.encode(content.get(content.size() - 1).getPostId()) : null;
+    return new CursorPageResDTO<>(fillListingFields(content), nextCursor, hasNext);
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public List<TagCountDTO> getPopularTags(int size) {
+    return tagDao.findPopularTags(size);
+  }
 
   @Transactional(readOnly = true)
   @Override
-  public Page<PostEntity> getFeedPosts(String currentUserId, Pageable pageable) {
-    ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-    String authorizationHeader = null;
+  public Page<PostSummaryDTO> searchPosts(String query, Pageable pageable) {
+    PostSearchIndex.Result result = postSearchIndex.search(query, (int) pageable.getOffset(),
+        pageable.getPageSize());
+    List<PostSummaryDTO> posts = findPostsInOrder(result.postIds());
+    if (posts.size() < result.postIds().size()) {
+      // 색인에는 남아 있지만 DB 에서 지워졌거나 비공개가 된 글은 색인에서도 뺀다
+      Set<Long> found = posts.stream().map(PostSummaryDTO::getPostId).collect(Collectors.toSet());
+      result.postIds().stream()
+          .filter(postId -> !found.contains(postId))
+          .forEach(postSearchIndex::remove);
+    }
+    return fillListingFields(new PageImpl<>(posts, pageable, result.total()));
+  }
+
+  // 조회수는 버퍼에 누적 후 ViewCountBuffer 가 주기적으로 배치 반영
+  @Override
+  public void incrementViewCount(Long postId) {
+    viewCountBuffer.increment(postId);
+    trendingRanking.recordView(postId);
+  }
+
+
+  // 타임라인이 없을 때 친구 목록(Feign)을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회
+  @Override
+  public Page<PostSummaryDTO> getFeedPosts(String currentUserId, Pageable pageable) {
+    Optional<FeedTimelines.Slice> slice = readFeed(currentUserId, null, pageable.getOffset(),
+        pageable.getPageSize());
+    if (slice.isEmpty()) {
+      // 토큰이 없으면 친구 목록을 가져올 수 없으므로, 빈 목록을 반환
+      return Page.empty(pageable);
+    }
+    return fillListingFields(new PageImpl<>(findFeedPosts(currentUserId, slice.get()), pageable,
+        slice.get().total()));
+  }
+
+  @Override
+  public CursorPageResDTO<PostSummaryDTO> getFeedPosts(String currentUserId, String cursor, int size) {
+    PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+    Optional<FeedTimelines.Slice> slice = readFeed(currentUserId,
+        after != null ? after.getPostId() : null, 0, size + 1);
+    if (slice.isEmpty()) {
+      return new CursorPageResDTO<>(List.of(), null, false);
+    }
 
-    if (attributes != null) {
-      // 🚨 이 코드가 현재 HTTP 요청의 Authorization: Bearer <token> 전체를 가져옵니다.
-      authorizationHeader = attributes.getRequest().getHeader("Authorization");
+    List<Long> postIds = slice.get().postIds();
+    boolean hasNext = postIds.size() > size;
+    List<Long> window = hasNext ? postIds.subList(0, size) : postIds;
+    String nextCursor = hasNext ? PostCursor.encode(window.get(window.size() - 1)) : null;
+    FeedTimelines.Slice page = new FeedTimelines.Slice(window, slice.get().total(),
+        slice.get().celebrities());
+    return new CursorPageResDTO<>(fillListingFields(findFeedPosts(currentUserId, page)),
+        nextCursor, hasNext);
+  }
+
+  /**
+   * Redis 타임라인에서 읽고, 없을 때만 친구 목록 + DB 조회로 한 번 채운 뒤 그 목록에서 자른다.
+   *
+   * @return 토큰이 없어 타임라인을 만들 수 없으면 empty
+   */
+  private Optional<FeedTimelines.Slice> readFeed(String userId, Long beforePostId, long offset,
+      int limit) {
+    Optional<FeedTimelines.Slice> slice = feedTimelines.page(userId, beforePostId, offset, limit);
+    if (slice.isPresent()) {
+      return slice;
+    }
+    String authorizationHeader = currentAuthorizationHeader();
+    if (authorizationHeader == null) {
+      return Optional.empty();
     }
+    List<String> friendIds = fetchFriendIds(authorizationHeader);
+    List<Long> recentPostIds = friendIds.isEmpty()
+        ? List.of()
+        : postDao.findFeedPostIdsByAuthorIds(friendIds, feedTimelines.getCapacity());
+    feedTimelines.seed(userId, recentPostIds, friendIds);
+    return Optional.of(FeedTimelines.sliceOf(recentPostIds, beforePostId, offset, limit));
+  }
+
+  // 타임라인에는 남아 있지만 삭제/비공개된 글은 타임라인에서도 뺀다
+  private List<PostSummaryDTO> findFeedPosts(String userId, FeedTimelines.Slice slice) {
+    List<PostSummaryDTO> posts = findPostsInOrder(slice.postIds());
+    if (posts.size() < slice.postIds().size()) {
+      Set<Long> found = posts.stream().map(PostSummaryDTO::getPostId).collect(Collectors.toSet());
+      feedTimelines.prune(userId, slice.celebrities(), slice.postIds().stream()
+          .filter(postId -> !found.contains(postId))
+          .collect(Collectors.toList()));
+    }
+    return posts;
+  }
 
+  // 새 글을 작성자 친구들의 타임라인에 배포. 커밋 이후 호출되며, 친구 목록 조회부터 fan-out 스레드에서 한다
+  private void fanOutToFriends(PostEntity post) {
+    String authorizationHeader = currentAuthorizationHeader();
     if (authorizationHeader == null) {
-      // 토큰이 없으면 친구 목록을 가져올 수 없으므로, 빈 목록을 반환
-      return postDao.findFeedPostsByAuthorIds(new ArrayList<>(), pageable);
+      return;
     }
+    feedTimelines.fanOutLater(post.getAuthorId(), post.getPostId(),
+        () -> fetchFriendIds(authorizationHeader));
+  }
 
+  private List<String> fetchFriendIds(String authorizationHeader) {
     // 🚨 수정된 FriendsFeignClient에 Authorization 헤더를 인자로 전달
     List<String> friendIds = friendsFeignClient.getMSAFriendSignIds(authorizationHeader);
-    if (friendIds == null) {
-      friendIds = new ArrayList<>();
+    return friendIds != null ? friendIds : new ArrayList<>();
+  }
+
+  private String currentAuthorizationHeader() {
+    ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
     }
-    return postDao.findFeedPostsByAuthorIds(friendIds, pageable);
+    // 🚨 이 코드가 현재 HTTP 요청의 Authorization: Bearer <token> 전체를 가져옵니다.
+    return attributes.getRequest().getHeader("Authorization");
   }
 
   @Transactional(readOnly = true)
   @Override
-  public Page<PostEntity> getRecentPosts(Pageable pageable) {
-    return postDao.getRecentPosts(pageable);
+  public Page<PostSummaryDTO> getRecentPosts(Pageable pageable) {
+    return fillListingFields(postDao.getRecentPosts(pageable));
   }
 
   @Transactional(readOnly = true)
   @Override
-  public Page<PostEntity> getTrendingPosts(Pageable pageable) {
-    LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-    return postDao.findTrendingPosts(sevenDaysAgo, pageable);
+  public Page<PostSummaryDTO> getTrendingPosts(Pageable pageable) {
+    if (!trendingRanking.isReady()) {
+      // 랭킹 초기화 전에는 기존 7일 조회 쿼리로 응답
+      LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+      return fillListingFields(postDao.findTrendingPosts(sevenDaysAgo, pageable));
+    }
+    List<Long> postIds = trendingRanking.page(pageable.getOffset(), pageable.getPageSize());
+    return fillListingFields(
+        new PageImpl<>(findPostsInOrder(postIds), pageable, trendingRanking.size()));
   }
 
+  // postId 순서를 유지하면서 게시글 요약을 한 번에 조회 (삭제/비공개 게시글은 제외)
+  private List<PostSummaryDTO> findPostsInOrder(List<Long> postIds) {
+    if (postIds.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, PostSummaryDTO> postsById = postDao.findPublishedSummariesByIds(postIds).stream()
+        .collect(Collectors.toMap(PostSummaryDTO::getPostId, Function.identity()));
+    return postIds.stream()
+        .map(postsById::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
 
+  @Transactional(readOnly = true)
   @Override
-  public String uploadImage(MultipartFile file) throws IOException {
-    // 1. 디렉토리 생성 (없으면)
-    Path uploadPath = Paths.get(uploadDir);
-    if (!Files.exists(uploadPath)) {
-      try {
-        Files.createDirectories(uploadPath); // 디렉토리가 없으면 생성
-        log.info("이미지 업로드 디렉토리 생성: {}", uploadPath.toAbsolutePath());
-      } catch (IOException e) {
-        log.error("이미지 업로드 디렉토리 생성 실패: {}", uploadPath.toAbsolutePath(), e);
-        throw new IOException("파일 저장 경로를 생성할 수 없습니다.", e);
-      }
+  public CursorPageResDTO<PostSummaryDTO> getRecentPosts(String cursor, int size) {
+    PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+    if (after != null && (after.getCreatedAt() == null || after.getViewCount() != null)) {
+      throw new IllegalArgumentException("잘못된 커서입니다.");
+    }
+
+    List<PostSummaryDTO> posts = postDao.getRecentPostsBefore(
+        after != null ? after.getCreatedAt() : null,
+        after != null ? after.getPostId() : null,
+        size + 1);
+    boolean hasNext = posts.size() > size;
+    List<PostSummaryDTO> content = hasNext ? posts.subList(0, size) : posts;
+    PostSummaryDTO last = hasNext ? content.get(content.size() - 1) : null;
+    String nextCursor = last != null ? PostCursor.encode(last.getCreatedAt(), last.getPostId()) : null;
+    return new CursorPageResDTO<>(fillListingFields(content), nextCursor, hasNext);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPageResDTO<PostSummaryDTO> getTrendingPosts(String cursor, int size) {
+    PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+    if (after != null && after.getViewCount() != null) {
+      // 랭킹 초기화 전에 시작한 목록은 같은 순서로 이어서 본다
+      return getTrendingPostsByViews(after, size);
+    }
+    if (!trendingRanking.isReady()) {
+      // 랭킹 초기화 전에는 조회수 순 DB 조회로 응답 (재시작 전 점수 커서는 처음부터)
+      return getTrendingPostsByViews(null, size);
+    }
+    if (after != null && after.getScore() == null) {
+      throw new IllegalArgumentException("잘못된 커서입니다.");
     }
-    // 2. 파일 이름 생성 (중복 방지를 위해 UUID 사용)
-    String originalFilename = file.getOriginalFilename();
-    String extension = "";
-    if (originalFilename != null && originalFilename.contains(".")) {
-      extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+
+    TrendingRanking.RankedPage page = trendingRanking.after(
+        after != null ? after.getScore() : null,
+        after != null ? after.getLandmark() : null,
+        after != null ? after.getPostId() : null,
+        size + 1);
+    List<TrendingRanking.Ranked> ranked = page.ranked();
+    boolean hasNext = ranked.size() > size;
+    List<TrendingRanking.Ranked> window = hasNext ? ranked.subList(0, size) : ranked;
+    TrendingRanking.Ranked last = hasNext ? window.get(window.size() - 1) : null;
+    String nextCursor = last != null
+        ? PostCursor.encode(last.score(), page.landmark(), last.postId()) : null;
+
+    List<Long> postIds = window.stream()
+        .map(TrendingRanking.Ranked::postId)
+        .collect(Collectors.toList());
+    return new CursorPageResDTO<>(fillListingFields(findPostsInOrder(postIds)), nextCursor,
+        hasNext);
+  }
+
+  private CursorPageResDTO<PostSummaryDTO> getTrendingPostsByViews(PostCursor after, int size) {
+    LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+    List<PostSummaryDTO> posts = postDao.findTrendingPostsByViewsBefore(sevenDaysAgo,
+        after != null ? after.getViewCount() : null,
+        after != null ? after.getCreatedAt() : null,
+        after != null ? after.getPostId() : null,
+        size + 1);
+    boolean hasNext = posts.size() > size;
+    List<PostSummaryDTO> content = hasNext ? posts.subList(0, size) : posts;
+    PostSummaryDTO last = hasNext ? content.get(content.size() - 1) : null;
+    // 버퍼 조회수를 더하기 전(DB 값)으로 커서를 만든다
+    String nextCursor = last != null
+        ? PostCursor.encode(last.getViewCount(), last.getCreatedAt(), last.getPostId()) : null;
+    return new CursorPageResDTO<>(fillListingFields(content), nextCursor, hasNext);
+  }
+
+  // 목록 응답 보정: 아직 DB 에 반영되지 않은 조회수를 더하고, 썸네일은 작은 크기로, 태그를 한 번에 채운다
+  private <T extends Iterable<PostSummaryDTO>> T fillListingFields(T posts) {
+    List<Long> postIds = new ArrayList<>();
+    posts.forEach(post -> {
+      post.setViewCount(viewCountBuffer.merge(post.getPostId(), post.getViewCount()));
+      post.setThumbnail(imageDerivatives.thumbnailUrl(post.getThumbnail()));
+      postIds.add(post.getPostId());
+    });
+    if (!postIds.isEmpty()) {
+      Map<Long, List<String>> tags = getTagNamesByPostIds(postIds);
+      posts.forEach(post -> post.setTags(tags.getOrDefault(post.getPostId(), List.of())));
     }
-    String fileName = UUID.randomUUID().toString() + extension;
-    Path filePath = uploadPath.resolve(fileName);
-
-    // 3. 파일 저장
-    file.transferTo(filePath.toFile());
-    log.info("파일 저장 성공: {}", filePath.toAbsolutePath());
-    String cleanBaseUrl = baseUrl;
-    if (baseUrl.endsWith("/")) {
-      cleanBaseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+    return posts;
+  }
+
+
+  @Override
+  public String uploadImage(MultipartFile file) throws IOException {
+    // 멀티파트도 스트림으로 넘겨 같은 경로(해시 dedupe, 크기 제한)로 저장
+    try (InputStream in = file.getInputStream()) {
+      return uploadImage(in, file.getOriginalFilename(), file.getContentType());
     }
-    // 4. URL 반환
-    return cleanBaseUrl + "/" + fileName;
+  }
+
+  @Override
+  public String uploadImage(InputStream in, String originalFilename, String contentType)
+      throws IOException {
+    String imageUrl = imageStorage.store(in, originalFilename, contentType);
+    // 썸네일 등 파생 이미지는 백그라운드에서 생성
+    imageDerivatives.schedule(imageUrl);
+    return imageUrl;
   }
 
   private CommentDTO convertToDTOWithChildren(CommentEntity entity) {
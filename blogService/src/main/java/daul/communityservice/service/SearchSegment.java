@@ -0,0 +1,301 @@
+package daul.communityservice.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * 검색 색인의 불변 세그먼트 (PostSearchIndex 전용)
+ *
+ * 문서는 postId 오름차순으로 0..n-1 번호(ord)를 가지며, 용어별 postings 는
+ * [ord 차이, tf, ord 차이, tf, ...] 형태의 int 배열로 저장한다 (ord 가 오름차순이라 차이가 작다).
+ * 수정/삭제된 문서는 지우지 않고 deleted 비트만 켠다 (tombstone). 병합할 때 실제로 빠진다.
+ */
+final class SearchSegment {
+
+  private static final int MAGIC = 0x42534547; // "BSEG"
+  private static final int VERSION = 1;
+
+  private final long id;
+  private final long[] postIds;
+  private final int[] lengths;
+  private final Map<String, int[]> postings;
+  // deleted 와 살아 있는 문서 길이 합은 PostSearchIndex 의 쓰기 락 안에서만 바뀐다
+  private final BitSet deleted;
+  private long liveTotalLength;
+  private boolean deletedDirty;
+
+  private SearchSegment(long id, long[] postIds, int[] lengths, Map<String, int[]> postings,
+      BitSet deleted) {
+    this.id = id;
+    this.postIds = postIds;
+    this.lengths = lengths;
+    this.postings = postings;
+    this.deleted = deleted;
+    for (int ord = 0; ord < lengths.length; ord++) {
+      if (!deleted.get(ord)) {
+        liveTotalLength += lengths[ord];
+      }
+    }
+  }
+
+  /**
+   * postId -> 문서(용어별 가중 tf, 가중 길이) 로 새 세그먼트를 만든다.
+   */
+  static SearchSegment of(long id, NavigableMap<Long, Doc> docs) {
+    long[] postIds = new long[docs.size()];
+    int[] lengths = new int[docs.size()];
+    Map<String, PostingsBuilder> builders = new HashMap<>();
+    int ord = 0;
+    for (Map.Entry<Long, Doc> entry : docs.entrySet()) {
+      postIds[ord] = entry.getKey();
+      lengths[ord] = entry.getValue().length();
+      for (Map.Entry<String, Integer> term : entry.getValue().termFreqs().entrySet()) {
+        builders.computeIfAbsent(term.getKey(), key -> new PostingsBuilder())
+            .add(ord, term.getValue());
+      }
+      ord++;
+    }
+    Map<String, int[]> postings = new HashMap<>(builders.size() * 2);
+    builders.forEach((term, builder) -> postings.put(term, builder.toArray()));
+    return new SearchSegment(id, postIds, lengths, postings, new BitSet(postIds.length));
+  }
+
+  long getId() {
+    return id;
+  }
+
+  int liveDocCount() {
+    return postIds.length - deleted.cardinality();
+  }
+
+  long liveTotalLength() {
+    return liveTotalLength;
+  }
+
+  long[] getPostIds() {
+    return postIds;
+  }
+
+  boolean isDeleted(int ord) {
+    return deleted.get(ord);
+  }
+
+  boolean isDeletedDirty() {
+    return deletedDirty;
+  }
+
+  /**
+   * 문서 빈도 (tombstone 문서 포함 - 병합 전까지의 근사치)
+   */
+  int docFreq(String term) {
+    int[] list = postings.get(term);
+    return list == null ? 0 : list.length / 2;
+  }
+
+  /**
+   * 해당 postId 문서를 삭제 표시한다. 이 세그먼트에 없으면 false
+   */
+  boolean delete(long postId) {
+    int ord = Arrays.binarySearch(postIds, postId);
+    if (ord < 0 || deleted.get(ord)) {
+      return false;
+    }
+    deleted.set(ord);
+    liveTotalLength -= lengths[ord];
+    deletedDirty = true;
+    return true;
+  }
+
+  int lengthOf(int ord) {
+    return lengths[ord];
+  }
+
+  /**
+   * 살아 있는 문서마다 (ord, tf) 를 넘긴다.
+   */
+  void forEachPosting(String term, PostingConsumer consumer) {
+    int[] list = postings.get(term);
+    if (list == null) {
+      return;
+    }
+    int ord = 0;
+    for (int i = 0; i < list.length; i += 2) {
+      ord += list[i];
+      if (!deleted.get(ord)) {
+        consumer.accept(ord, list[i + 1]);
+      }
+    }
+  }
+
+  /**
+   * 살아 있는 문서를 다시 postId -> Doc 형태로 펼친다 (병합용)
+   */
+  void collectLiveDocs(Map<Long, Doc> target) {
+    Map<Integer, Map<String, Integer>> freqsByOrd = new HashMap<>();
+    postings.forEach((term, list) -> forEachPosting(term, (ord, tf) ->
+        freqsByOrd.computeIfAbsent(ord, key -> new HashMap<>()).put(term, tf)));
+    for (int ord = 0; ord < postIds.length; ord++) {
+      if (!deleted.get(ord)) {
+        target.put(postIds[ord],
+            new Doc(freqsByOrd.getOrDefault(ord, Map.of()), lengths[ord]));
+      }
+    }
+  }
+
+  // ===== 디스크 =====
+
+  static Path dataFile(Path dir, long id) {
+    return dir.resolve("segment-" + id + ".seg");
+  }
+
+  static Path deletesFile(Path dir, long id) {
+    return dir.resolve("segment-" + id + ".del");
+  }
+
+  /**
+   * 문서/postings 파일을 쓴다. 삭제 표시는 writeDeletes 로 따로 쓴다.
+   */
+  void write(Path dir) throws IOException {
+    Path temp = Files.createTempFile(dir, "segment-", ".part");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(id);
+      out.writeInt(postIds.length);
+      for (int ord = 0; ord < postIds.length; ord++) {
+        out.writeLong(postIds[ord]);
+        out.writeInt(lengths[ord]);
+      }
+      out.writeInt(postings.size());
+      for (Map.Entry<String, int[]> entry : postings.entrySet()) {
+        out.writeUTF(entry.getKey());
+        int[] list = entry.getValue();
+        out.writeInt(list.length);
+        for (int value : list) {
+          out.writeInt(value);
+        }
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Files.move(temp, dataFile(dir, id), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * 현재 삭제 표시 스냅샷 (락 안에서 호출)
+   */
+  long[] snapshotDeletes() {
+    deletedDirty = false;
+    return deleted.toLongArray();
+  }
+
+  void markDeletesDirty() {
+    deletedDirty = true;
+  }
+
+  static void writeDeletes(Path dir, long id, long[] words) throws IOException {
+    Path temp = Files.createTempFile(dir, "segment-", ".part");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(words.length);
+      for (long word : words) {
+        out.writeLong(word);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Files.move(temp, deletesFile(dir, id), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  static SearchSegment read(Path dir, long id) throws IOException {
+    long[] postIds;
+    int[] lengths;
+    Map<String, int[]> postings;
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(dataFile(dir, id))))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != id) {
+        throw new IOException("알 수 없는 세그먼트 형식: " + dataFile(dir, id));
+      }
+      int docCount = in.readInt();
+      postIds = new long[docCount];
+      lengths = new int[docCount];
+      for (int ord = 0; ord < docCount; ord++) {
+        postIds[ord] = in.readLong();
+        lengths[ord] = in.readInt();
+      }
+      int termCount = in.readInt();
+      postings = new HashMap<>(termCount * 2);
+      for (int i = 0; i < termCount; i++) {
+        String term = in.readUTF();
+        int[] list = new int[in.readInt()];
+        for (int j = 0; j < list.length; j++) {
+          list[j] = in.readInt();
+        }
+        postings.put(term, list);
+      }
+    }
+
+    BitSet deleted = new BitSet(postIds.length);
+    Path deletes = deletesFile(dir, id);
+    if (Files.exists(deletes)) {
+      try (DataInputStream in = new DataInputStream(
+          new BufferedInputStream(Files.newInputStream(deletes)))) {
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+          words[i] = in.readLong();
+        }
+        deleted = BitSet.valueOf(words);
+      }
+    }
+    return new SearchSegment(id, postIds, lengths, postings, deleted);
+  }
+
+  /**
+   * 색인할 문서: 용어별 (필드 가중치가 곱해진) 빈도와 가중 길이
+   */
+  record Doc(Map<String, Integer> termFreqs, int length) {
+
+  }
+
+  @FunctionalInterface
+  interface PostingConsumer {
+
+    void accept(int ord, int tf);
+  }
+
+  private static final class PostingsBuilder {
+
+    private int[] values = new int[4];
+    private int size;
+    private int lastOrd;
+
+    void add(int ord, int tf) {
+      if (size + 2 > values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[size++] = ord - lastOrd;
+      values[size++] = tf;
+      lastOrd = ord;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package daul.communityservice.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색 색인/질의 공용 토크나이저
+ *
+ * 영문·숫자는 단어 단위, 한글(및 한자)은 형태소 분석 없이 2-gram 으로 자른다. ("검색엔진" -> 검색, 색엔, 엔진)
+ * 한 글자 한글 단어는 그대로 하나의 토큰이다. 색인과 질의가 같은 규칙을 쓰므로 부분 일치도 찾을 수 있다.
+ */
+public final class SearchTokenizer {
+
+  // 비정상적으로 긴 단어(URL, base64 등)는 색인하지 않음
+  private static final int MAX_TOKEN_LENGTH = 40;
+
+  private SearchTokenizer() {
+  }
+
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return tokens;
+    }
+    String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+    StringBuilder word = new StringBuilder();
+    StringBuilder cjk = new StringBuilder();
+    int length = normalized.length();
+    for (int i = 0; i < length; ) {
+      int codePoint = normalized.codePointAt(i);
+      i += Character.charCount(codePoint);
+
+      if (isCjk(codePoint)) {
+        flushWord(word, tokens);
+        cjk.appendCodePoint(codePoint);
+      } else if (Character.isLetterOrDigit(codePoint)) {
+        flushBigrams(cjk, tokens);
+        word.appendCodePoint(codePoint);
+      } else {
+        flushWord(word, tokens);
+        flushBigrams(cjk, tokens);
+      }
+    }
+    flushWord(word, tokens);
+    flushBigrams(cjk, tokens);
+    return tokens;
+  }
+
+  private static boolean isCjk(int codePoint) {
+    Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+    return script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN;
+  }
+
+  private static void flushWord(StringBuilder word, List<String> tokens) {
+    if (word.length() > 0 && word.length() <= MAX_TOKEN_LENGTH) {
+      tokens.add(word.toString());
+    }
+    word.setLength(0);
+  }
+
+  private static void flushBigrams(StringBuilder run, List<String> tokens) {
+    if (run.length() == 0) {
+      return;
+    }
+    int[] codePoints = run.codePoints().toArray();
+    if (codePoints.length == 1) {
+      tokens.add(run.toString());
+    } else {
+      for (int i = 0; i + 1 < codePoints.length; i++) {
+        tokens.add(new String(codePoints, i, 2));
+      }
+    }
+    run.setLength(0);
+  }
+}
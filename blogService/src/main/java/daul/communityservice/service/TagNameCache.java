@@ -0,0 +1,69 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.TagDao;
+import daul.communityservice.entity.TagEntity;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * tagId -> tagName 캐시
+ *
+ * 태그 이름은 생성 후 바뀌지 않으므로 만료 없이 보관하고, 없는 id 만 한 번의 IN 쿼리로 채운다.
+ */
+@Component
+public class TagNameCache {
+
+  private final TagDao tagDao;
+  private final int maxSize;
+
+  private final ConcurrentHashMap<Long, String> names = new ConcurrentHashMap<>();
+
+  public TagNameCache(TagDao tagDao,
+      @Value("${blog.tag-cache.max-size:10000}") int maxSize) {
+    this.tagDao = tagDao;
+    this.maxSize = maxSize;
+  }
+
+  public void put(TagEntity tag) {
+    if (tag.getTagId() != null && tag.getTagName() != null) {
+      ensureCapacity();
+      names.put(tag.getTagId(), tag.getTagName());
+    }
+  }
+
+  /**
+   * 주어진 tagId 들의 이름 (DB 에 없는 id 는 결과에서 빠짐)
+   */
+  public Map<Long, String> resolve(Collection<Long> tagIds) {
+    Map<Long, String> resolved = new HashMap<>();
+    List<Long> missing = new ArrayList<>();
+    for (Long tagId : tagIds) {
+      String name = names.get(tagId);
+      if (name != null) {
+        resolved.put(tagId, name);
+      } else if (!resolved.containsKey(tagId)) {
+        missing.add(tagId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (TagEntity tag : tagDao.findAllById(missing)) {
+        put(tag);
+        resolved.put(tag.getTagId(), tag.getTagName());
+      }
+    }
+    return resolved;
+  }
+
+  // 태그 수가 상한을 넘으면 통째로 비우고 다시 채운다 (태그 종류가 많지 않아 거의 일어나지 않음)
+  private void ensureCapacity() {
+    if (names.size() >= maxSize) {
+      names.clear();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostTagDao;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * tags.post_count 갱신 (요청 트랜잭션 밖에서)
+ *
+ * 태그 연결/해제, 게시글 작성/삭제가 커밋되면 관련 태그만 표시해두고, 스케줄러가 모아서 공개·미삭제 게시글 기준으로
+ * 다시 센다. 인기 태그 행을 요청마다 갱신하지 않아 row lock 경합이나 교착이 생기지 않는다.
+ * 표시는 메모리에만 있으므로 종료 직전 변경분은 PostCounterReconciler 가 기동 시 맞춘다.
+ */
+@Slf4j
+@Component
+public class TagPostCounts {
+
+  private final PostTagDao postTagDao;
+  private final int batchSize;
+  private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+  public TagPostCounts(PostTagDao postTagDao,
+      @Value("${blog.counters.tag-recount-batch-size:200}") int batchSize) {
+    this.postTagDao = postTagDao;
+    this.batchSize = batchSize;
+  }
+
+  // 커밋된 뒤에 호출한다
+  public void markChanged(Collection<Long> tagIds) {
+    changed.addAll(tagIds);
+  }
+
+  @Scheduled(fixedDelayString = "${blog.counters.tag-recount-interval-ms:5000}")
+  public void recount() {
+    if (changed.isEmpty()) {
+      return;
+    }
+    // 복사와 삭제 사이에 다시 표시된 태그도 지워지지만, 커밋 후에 표시하므로 이번에 셀 때 이미 반영돼 있다
+    List<Long> tagIds = new ArrayList<>(changed);
+    changed.removeAll(tagIds);
+    Collections.sort(tagIds);
+
+    for (int from = 0; from < tagIds.size(); from += batchSize) {
+      List<Long> chunk = tagIds.subList(from, Math.min(from + batchSize, tagIds.size()));
+      try {
+        postTagDao.recountPostCounts(chunk);
+      } catch (Exception e) {
+        log.error("태그 게시글 수 갱신 실패 ({}건), 다음 주기에 재시도합니다.", chunk.size(), e);
+        changed.addAll(chunk);
+      }
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package daul.communityservice.service;
+
+import daul.communityservice.entity.PostDraftDeltaEntity;
+import java.util.List;
+
+/**
+ * 초안 본문용 텍스트 delta (공통 앞부분/뒷부분을 뺀 가운데 구간 치환)
+ *
+ * 자동 저장은 보통 커서 근처 한 곳만 바뀌므로 "앞 n 글자 유지 + 뒤 m 글자 유지 + 가운데 text" 하나로 충분히 작다.
+ */
+public final class TextDeltas {
+
+  private TextDeltas() {
+  }
+
+  /**
+   * from 을 to 로 바꾸는 delta. 서로게이트 쌍 중간에서 자르지 않는다 (DB 에 반쪽 문자가 저장되지 않도록).
+   */
+  public static Delta diff(String from, String to) {
+    if (from.equals(to)) {
+      return new Delta(from.length(), 0, "", true);
+    }
+    int max = Math.min(from.length(), to.length());
+    int prefix = 0;
+    while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+      prefix++;
+    }
+    if (prefix > 0 && prefix < max && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+      prefix--;
+    }
+    int suffix = 0;
+    int maxSuffix = max - prefix;
+    while (suffix < maxSuffix
+        && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+      suffix++;
+    }
+    if (suffix > 0 && Character.isLowSurrogate(from.charAt(from.length() - suffix))) {
+      suffix--;
+    }
+    return new Delta(prefix, suffix, to.substring(prefix, to.length() - suffix), false);
+  }
+
+  public static String apply(String base, int prefixLength, int suffixLength, String text) {
+    if (prefixLength + suffixLength > base.length()) {
+      throw new IllegalStateException("초안 delta 가 본문 길이와 맞지 않습니다.");
+    }
+    return base.substring(0, prefixLength) + text + base.substring(base.length() - suffixLength);
+  }
+
+  /**
+   * 발행된 본문에 delta 를 seq 순서대로 적용한 초안 본문
+   */
+  public static String applyAll(String base, List<PostDraftDeltaEntity> deltas) {
+    String content = base;
+    for (PostDraftDeltaEntity delta : deltas) {
+      content = apply(content, delta.getPrefixLength(), delta.getSuffixLength(), delta.getText());
+    }
+    return content;
+  }
+
+  /**
+   * @param unchanged from 과 to 가 같음 (저장할 필요 없음)
+   */
+  public record Delta(int prefixLength, int suffixLength, String text, boolean unchanged) {
+
+  }
+}
@@ -0,0 +1,306 @@
+package daul.communityservice.service;
+
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.dto.TrendingCandidateDTO;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 트렌딩 게시글 랭킹 (메모리)
+ *
+ * 점수 = Σ(이벤트 가중치 × 2^((이벤트 시각 - 기준 시각) / 반감기)) 인 forward decay 방식이라
+ * 이벤트가 들어올 때 해당 게시글 점수만 갱신하면 되고, 전체 점수를 주기적으로 다시 계산할 필요가 없다.
+ * 최근 windowDays 일 이내에 작성된 공개 게시글만 랭킹에 포함한다.
+ *
+ * 좋아요/댓글/작성/삭제 이벤트는 호출하는 쪽에서 커밋된 뒤에 넘긴다 (롤백된 변경이 점수에 남지 않도록).
+ * 초기화(warmUp) 전에 들어온 이벤트는 모아두었다가 초기화가 끝나면 적용한다.
+ */
+@Slf4j
+@Component
+public class TrendingRanking {
+
+  // 기준 시각으로부터 반감기 64번이 지나면 점수 스케일을 다시 맞춘다 (double 범위 보호)
+  private static final double REBASE_EXPONENT = 64;
+  // 초기화 전에 모아두는 이벤트 상한 (넘으면 버린다)
+  private static final int MAX_PENDING_EVENTS = 100_000;
+
+  private static final Comparator<Ranked> ORDER = Comparator
+      .comparingDouble(Ranked::score).reversed()
+      .thenComparing(Comparator.comparingLong(Ranked::postId).reversed());
+
+  private final PostDao postDao;
+
+  private final int windowDays;
+  private final double halfLifeMillis;
+  private final double viewWeight;
+  private final double likeWeight;
+  private final double commentWeight;
+
+  private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(ORDER);
+  private final ReentrantReadWriteLock rebaseLock = new ReentrantReadWriteLock();
+
+  private volatile long landmarkMillis = System.currentTimeMillis();
+  private volatile boolean ready = false;
+  // 초기화 전 이벤트 (ready 로 바뀌는 것과 같은 락 안에서만 넣고 비운다)
+  private final List<Runnable> pendingEvents = new ArrayList<>();
+  private boolean pendingOverflowed = false;
+
+  public TrendingRanking(PostDao postDao,
+      @Value("${blog.trending.window-days:7}") int windowDays,
+      @Value("${blog.trending.half-life-hours:24}") double halfLifeHours,
+      @Value("${blog.trending.view-weight:1}") double viewWeight,
+      @Value("${blog.trending.like-weight:5}") double likeWeight,
+      @Value("${blog.trending.comment-weight:3}") double commentWeight) {
+    this.postDao = postDao;
+    this.windowDays = windowDays;
+    this.halfLifeMillis = halfLifeHours * 3_600_000d;
+    this.viewWeight = viewWeight;
+    this.likeWeight = likeWeight;
+    this.commentWeight = commentWeight;
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public long size() {
+    return entries.size();
+  }
+
+  /**
+   * 점수 내림차순(동점이면 최신 게시글 우선)으로 offset 부터 size 개의 postId
+   */
+  public List<Long> page(long offset, int size) {
+    // prune 의 재구성(clear 후 다시 채움) 도중을 보지 않도록
+    rebaseLock.readLock().lock();
+    try {
+      return ranking.stream()
+          .skip(offset)
+          .limit(size)
+          .map(Ranked::postId)
+          .collect(Collectors.toList());
+    } finally {
+      rebaseLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * (score, postId) 커서 다음 순위부터 limit 개. 커서가 없으면 1위부터.
+   * 커서 점수는 landmark 기준이며, 그 사이 점수 스케일이 재조정됐으면 현재 기준으로 환산한다.
+   * (landmark 가 없는 이전 커서는 그대로 비교)
+   */
+  public RankedPage after(Double score, Long landmark, Long postId, int limit) {
+    rebaseLock.readLock().lock();
+    try {
+      NavigableSet<Ranked> tail = ranking;
+      if (score != null && postId != null) {
+        double current = landmark != null && landmark != landmarkMillis
+            ? score * Math.pow(2, (landmark - landmarkMillis) / halfLifeMillis)
+            : score;
+        tail = ranking.tailSet(new Ranked(current, postId), false);
+      }
+      return new RankedPage(tail.stream()
+          .limit(limit)
+          .collect(Collectors.toList()), landmarkMillis);
+    } finally {
+      rebaseLock.readLock().unlock();
+    }
+  }
+
+  // ===== 이벤트 =====
+
+  public void register(Long postId, LocalDateTime createdAt) {
+    if (postId == null || isExpired(createdAt)) {
+      return;
+    }
+    if (deferUntilReady(() -> register(postId, createdAt))) {
+      return;
+    }
+    rebaseLock.readLock().lock();
+    try {
+      entries.computeIfAbsent(postId, id -> {
+        ranking.add(new Ranked(0, id));
+        return new Entry(0, createdAt);
+      });
+    } finally {
+      rebaseLock.readLock().unlock();
+    }
+  }
+
+  public void remove(Long postId) {
+    if (deferUntilReady(() -> remove(postId))) {
+      return;
+    }
+    rebaseLock.readLock().lock();
+    try {
+      Entry removed = entries.remove(postId);
+      if (removed != null) {
+        ranking.remove(new Ranked(removed.score(), postId));
+      }
+    } finally {
+      rebaseLock.readLock().unlock();
+    }
+  }
+
+  public void recordView(Long postId) {
+    addScore(postId, viewWeight);
+  }
+
+  public void recordLike(Long postId, int delta) {
+    addScore(postId, likeWeight * delta);
+  }
+
+  public void recordComment(Long postId, int delta) {
+    addScore(postId, commentWeight * delta);
+  }
+
+  private void addScore(Long postId, double weight) {
+    long eventMillis = System.currentTimeMillis();
+    if (postId == null || deferUntilReady(() -> addScore(postId, weight, eventMillis))) {
+      return;
+    }
+    addScore(postId, weight, eventMillis);
+  }
+
+  private void addScore(Long postId, double weight, long eventMillis) {
+    if (!entries.containsKey(postId)) {
+      return;
+    }
+    rebaseLock.readLock().lock();
+    try {
+      double delta = weight * decayFactor(eventMillis);
+      entries.computeIfPresent(postId, (id, entry) -> {
+        Entry updated = new Entry(Math.max(0, entry.score() + delta), entry.createdAt());
+        ranking.remove(new Ranked(entry.score(), id));
+        ranking.add(new Ranked(updated.score(), id));
+        return updated;
+      });
+    } finally {
+      rebaseLock.readLock().unlock();
+    }
+  }
+
+  // 초기화 전이면 이벤트를 모아두고 true
+  private boolean deferUntilReady(Runnable event) {
+    if (ready) {
+      return false;
+    }
+    synchronized (pendingEvents) {
+      if (ready) {
+        return false;
+      }
+      if (pendingEvents.size() < MAX_PENDING_EVENTS) {
+        pendingEvents.add(event);
+      } else if (!pendingOverflowed) {
+        pendingOverflowed = true;
+        log.warn("트렌딩 랭킹 초기화 전 이벤트가 {}건을 넘어 이후 이벤트는 버립니다.", MAX_PENDING_EVENTS);
+      }
+      return true;
+    }
+  }
+
+  // ===== 초기화 / 정리 =====
+
+  /**
+   * 기동 시 최근 windowDays 일 게시글의 조회/좋아요/댓글 수로 랭킹을 채운다.
+   * 과거 이벤트 시각은 알 수 없으므로 게시글 작성 시각에 발생한 것으로 본다.
+   * 좋아요/댓글 수는 posts 의 역정규화 컬럼을 쓴다 (기동 시 보정은 별도 스레드라 기다리지 않는다).
+   */
+  @Order(1)
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    LocalDateTime since = LocalDateTime.now().minusDays(windowDays);
+    for (TrendingCandidateDTO post : postDao.findTrendingCandidates(since)) {
+      double raw = viewWeight * post.getViewCount()
+          + likeWeight * post.getLikeCount()
+          + commentWeight * post.getCommentCount();
+      double score = raw * decayFactor(toMillis(post.getCreatedAt()));
+      Entry entry = new Entry(score, post.getCreatedAt());
+      if (entries.putIfAbsent(post.getPostId(), entry) == null) {
+        ranking.add(new Ranked(score, post.getPostId()));
+      }
+    }
+    // ready 로 바꾸고 같은 락 안에서 초기화 중에 들어온 이벤트를 순서대로 적용한다
+    int replayed;
+    synchronized (pendingEvents) {
+      ready = true;
+      replayed = pendingEvents.size();
+      pendingEvents.forEach(Runnable::run);
+      pendingEvents.clear();
+    }
+    log.info("트렌딩 랭킹 초기화 완료: {}건 (대기 이벤트 {}건 적용)", entries.size(), replayed);
+  }
+
+  /**
+   * 기간이 지난 게시글을 내리고, 필요하면 점수 스케일을 재조정한다.
+   */
+  @Scheduled(fixedDelayString = "${blog.trending.prune-interval-ms:600000}")
+  public void prune() {
+    entries.forEach((postId, entry) -> {
+      if (isExpired(entry.createdAt())) {
+        remove(postId);
+      }
+    });
+
+    long now = System.currentTimeMillis();
+    if ((now - landmarkMillis) / halfLifeMillis < REBASE_EXPONENT) {
+      return;
+    }
+    rebaseLock.writeLock().lock();
+    try {
+      double scale = 1d / decayFactor(now);
+      ranking.clear();
+      entries.replaceAll((postId, entry) -> {
+        Entry rescaled = new Entry(entry.score() * scale, entry.createdAt());
+        ranking.add(new Ranked(rescaled.score(), postId));
+        return rescaled;
+      });
+      landmarkMillis = now;
+    } finally {
+      rebaseLock.writeLock().unlock();
+    }
+  }
+
+  private boolean isExpired(LocalDateTime createdAt) {
+    return createdAt != null && createdAt.isBefore(LocalDateTime.now().minusDays(windowDays));
+  }
+
+  private double decayFactor(long eventMillis) {
+    return Math.pow(2, (eventMillis - landmarkMillis) / halfLifeMillis);
+  }
+
+  private static long toMillis(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private record Entry(double score, LocalDateTime createdAt) {
+
+  }
+
+  public record Ranked(double score, long postId) {
+
+  }
+
+  /**
+   * 순위 목록과 그 점수의 기준 시각 (커서에 함께 넣는다)
+   */
+  public record RankedPage(List<Ranked> ranked, long landmark) {
+
+  }
+}
@@ -0,0 +1,186 @@
+package daul.communityservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import daul.communityservice.dao.PostDao;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 조회수 쓰기 지연(write-behind) 버퍼
+ *
+ * 조회 1건마다 UPDATE 를 날리면 인기 게시글의 row lock 경합이 생기므로, 게시글별 LongAdder 에 누적해두고
+ * 스케줄러가 주기적으로 한 번의 배치 UPDATE 로 반영한다. 조회 시에는 DB 값 + 대기 중인 값을 합쳐서 보여준다.
+ *
+ * 상세 캐시 응답용 DB 조회수는 persistedTtl 동안만 메모리에 두고 다시 읽는다 (다른 인스턴스가 반영한 값도 따라옴).
+ * 이 인스턴스가 반영한 만큼은 바로 올려서 (DB + 대기분) 합계가 뒤로 가지 않게 한다.
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+  private final PostDao postDao;
+  private final Cache<Long, Long> persistedViews;
+  private final int maxPendingPosts;
+  private final int flushBatchSize;
+
+  private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  // 버퍼가 가득 찼을 때 요청 스레드 대신 비우는 스레드. 실행 중 1개 + 대기 1개면 충분하므로 나머지 요청은 버린다
+  private final ThreadPoolExecutor flusher = new ThreadPoolExecutor(1, 1,
+      0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+      runnable -> {
+        Thread thread = new Thread(runnable, "view-count-flush");
+        thread.setDaemon(true);
+        return thread;
+      },
+      new ThreadPoolExecutor.DiscardPolicy());
+
+  // 종료 시 진행 중인 flush 를 기다리는 최대 시간
+  private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+  // 직전 flush 에서 맵에서 제거된 adder. 제거 직전에 참조를 얻은 요청의 증가분을 다음 flush 에서 회수한다.
+  private List<Map.Entry<Long, LongAdder>> retired = new ArrayList<>();
+
+  public ViewCountBuffer(PostDao postDao,
+      @Value("${blog.view-count.max-pending-posts:10000}") int maxPendingPosts,
+      @Value("${blog.view-count.flush-batch-size:500}") int flushBatchSize,
+      @Value("${blog.view-count.persisted-ttl-seconds:5}") long persistedTtlSeconds) {
+    this.postDao = postDao;
+    this.persistedViews = Caffeine.newBuilder()
+        .maximumSize(maxPendingPosts)
+        .expireAfterWrite(Duration.ofSeconds(persistedTtlSeconds))
+        .build();
+    this.maxPendingPosts = maxPendingPosts;
+    this.flushBatchSize = flushBatchSize;
+  }
+
+  public void increment(Long postId) {
+    LongAdder adder = pending.get(postId);
+    if (adder == null) {
+      if (pending.size() >= maxPendingPosts) {
+        // 버퍼가 가득 차면 주기를 기다리지 않고 비우도록 알린다 (요청 스레드는 DB 쓰기를 기다리지 않음)
+        flusher.execute(this::flush);
+      }
+      adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+    }
+    adder.increment();
+  }
+
+  /**
+   * 아직 DB 에 반영되지 않은 조회수
+   */
+  public long pendingCount(Long postId) {
+    LongAdder adder = pending.get(postId);
+    return adder != null ? adder.sum() : 0L;
+  }
+
+  /**
+   * DB 에 저장된 조회수와 대기 중인 조회수를 합친 값
+   */
+  public int merge(Long postId, Integer persistedCount) {
+    long persisted = persistedCount != null ? persistedCount : 0;
+    return (int) Math.min(Integer.MAX_VALUE, persisted + pendingCount(postId));
+  }
+
+  /**
+   * 현재 조회수 (짧게 캐시한 DB 값 + 대기 중인 값). 게시글이 없으면 대기분만.
+   */
+  public int currentCount(Long postId) {
+    Long persisted = persistedViews.get(postId, postDao::findViewCount);
+    return merge(postId, persisted != null ? (int) Math.min(Integer.MAX_VALUE, persisted) : null);
+  }
+
+  @Scheduled(fixedDelayString = "${blog.view-count.flush-interval-ms:5000}")
+  public void scheduledFlush() {
+    flush();
+  }
+
+  @PreDestroy
+  public void drainOnShutdown() throws InterruptedException {
+    flusher.shutdown();
+    log.info("종료 전 대기 중인 조회수 반영: {}건", pending.size());
+    // 스케줄러/flusher 의 flush 가 돌고 있으면 끝날 때까지 기다렸다가 그 뒤에 쌓인 조회수까지 비운다
+    if (!flushLock.tryLock(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("진행 중인 조회수 반영이 {}초 안에 끝나지 않아 종료 전 반영을 건너뜁니다.", SHUTDOWN_WAIT_SECONDS);
+      return;
+    }
+    try {
+      drain();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  public void flush() {
+    if (!flushLock.tryLock()) {
+      return; // 다른 스레드가 이미 비우는 중
+    }
+    try {
+      drain();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  // flushLock 을 잡은 상태에서 호출
+  private void drain() {
+    Map<Long, Long> deltas = new HashMap<>();
+
+    for (Map.Entry<Long, LongAdder> entry : retired) {
+      long delta = entry.getValue().sumThenReset();
+      if (delta > 0) {
+        deltas.merge(entry.getKey(), delta, Long::sum);
+      }
+    }
+
+    List<Map.Entry<Long, LongAdder>> nextRetired = new ArrayList<>();
+    for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+      long delta = entry.getValue().sumThenReset();
+      if (delta > 0) {
+        deltas.merge(entry.getKey(), delta, Long::sum);
+      } else if (pending.remove(entry.getKey(), entry.getValue())) {
+        // 한 주기 동안 조회가 없던 게시글은 맵에서 내린다
+        nextRetired.add(Map.entry(entry.getKey(), entry.getValue()));
+      }
+    }
+    retired = nextRetired;
+
+    if (!deltas.isEmpty()) {
+      write(deltas);
+    }
+  }
+
+  private void write(Map<Long, Long> deltas) {
+    List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+    for (int from = 0; from < entries.size(); from += flushBatchSize) {
+      List<Map.Entry<Long, Long>> chunk =
+          entries.subList(from, Math.min(from + flushBatchSize, entries.size()));
+      try {
+        postDao.addViewCounts(chunk);
+        // 캐시해둔 DB 조회수도 같이 올려 (DB + 대기분) 합계가 그대로 유지되도록
+        chunk.forEach(entry -> persistedViews.asMap()
+            .computeIfPresent(entry.getKey(), (id, views) -> views + entry.getValue()));
+      } catch (Exception e) {
+        // 반영 실패 시 다음 주기에 다시 시도하도록 되돌려 놓는다
+        log.error("조회수 반영 실패 ({}건), 다음 주기에 재시도합니다.", chunk.size(), e);
+        chunk.forEach(entry -> pending.computeIfAbsent(entry.getKey(), id -> new LongAdder())
+            .add(entry.getValue()));
+      }
+    }
+  }
+}
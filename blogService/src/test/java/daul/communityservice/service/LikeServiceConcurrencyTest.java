@@ -0,0 +1,109 @@
+package daul.communityservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.entity.PostEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 실제 Postgres 에서 좋아요 동시 요청을 돌린다. 기본 test 에서는 빠지고 ./gradlew :blogService:integrationTest 로 실행한다.
+ */
+@Tag("integration")
+@SpringBootTest
+class LikeServiceConcurrencyTest {
+
+  private static final int THREADS = 32;
+
+  @Autowired
+  private LikeService likeService;
+  @Autowired
+  private PostDao postDao;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long postId;
+
+  @BeforeEach
+  void setUp() {
+    PostEntity post = new PostEntity();
+    post.setPost("like-test-author", "좋아요 동시성 테스트", "<p>본문</p>", true, null);
+    postId = postDao.writePost(post).getPostId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM likes WHERE post_id = ?", postId);
+    jdbcTemplate.update("DELETE FROM posts WHERE post_id = ?", postId);
+  }
+
+  @Test
+  void 여러_사용자가_동시에_누르면_정확히_사용자_수만큼_증가한다() throws Exception {
+    int users = 200;
+    runConcurrently(users, i -> likeService.toggleLike(postId, "user-" + i));
+
+    assertThat(likeRowCount()).isEqualTo(users);
+    assertThat(postDao.findById(postId).orElseThrow().getLikeCount()).isEqualTo(users);
+
+    // 절반이 다시 눌러 취소
+    runConcurrently(users / 2, i -> likeService.toggleLike(postId, "user-" + i));
+
+    assertThat(likeRowCount()).isEqualTo(users / 2);
+    assertThat(postDao.findById(postId).orElseThrow().getLikeCount()).isEqualTo(users / 2);
+  }
+
+  @Test
+  void 같은_사용자의_연타에도_좋아요_수는_행_수와_일치한다() throws Exception {
+    runConcurrently(101, i -> likeService.toggleLike(postId, "double-clicker"));
+
+    long rows = likeRowCount();
+    assertThat(rows).isBetween(0L, 1L);
+    assertThat(postDao.findById(postId).orElseThrow().getLikeCount()).isEqualTo(rows);
+  }
+
+  private long likeRowCount() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM likes WHERE post_id = ?", Long.class, postId);
+  }
+
+  private void runConcurrently(int tasks, IndexedTask task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < tasks; i++) {
+        int index = i;
+        futures.add(executor.submit(() -> {
+          start.await();
+          task.run(index);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface IndexedTask {
+
+    void run(int index);
+  }
+}
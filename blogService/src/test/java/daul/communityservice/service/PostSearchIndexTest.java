@@ -0,0 +1,117 @@
+package daul.communityservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import daul.communityservice.dao.PostDao;
+import daul.communityservice.dao.PostTagDao;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PostSearchIndexTest {
+
+  @TempDir
+  Path dir;
+
+  private final PostDao postDao = mock(PostDao.class);
+
+  private PostSearchIndex newIndex() {
+    return new PostSearchIndex(postDao, mock(PostTagDao.class), mock(TagNameCache.class),
+        dir.toString(), 8, 10);
+  }
+
+  private Path metaFile() {
+    return dir.resolve("index.meta");
+  }
+
+  @Test
+  void 제목_일치가_본문_일치보다_앞선다() {
+    PostSearchIndex index = newIndex();
+    index.warmUp();
+    index.index(1L, "일상 기록", "오늘은 카프카 공부", List.of());
+    index.index(2L, "카프카 입문", "메시지 큐 정리", List.of());
+    index.index(3L, "스프링", "관계 없는 글", List.of());
+
+    PostSearchIndex.Result result = index.search("카프카", 0, 10);
+
+    assertThat(result.postIds()).containsExactly(2L, 1L);
+    assertThat(result.total()).isEqualTo(2);
+  }
+
+  @Test
+  void 수정_삭제가_검색에_반영된다() {
+    PostSearchIndex index = newIndex();
+    index.warmUp();
+    index.index(1L, "kafka", "", List.of());
+    index.flush();
+
+    index.index(1L, "spring", "", List.of());
+    assertThat(index.search("kafka", 0, 10).postIds()).isEmpty();
+    assertThat(index.search("spring", 0, 10).postIds()).containsExactly(1L);
+
+    index.remove(1L);
+    assertThat(index.search("spring", 0, 10).postIds()).isEmpty();
+  }
+
+  @Test
+  void 재시작하면_저장된_세그먼트를_읽는다() {
+    PostSearchIndex first = newIndex();
+    first.warmUp();
+    first.index(1L, "kafka consumer", "", List.of());
+    first.index(2L, "spring", "", List.of("kafka"));
+    first.flush();
+
+    PostSearchIndex restarted = newIndex();
+    restarted.warmUp();
+
+    assertThat(restarted.search("kafka", 0, 10).postIds()).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void warmUp_전에는_flush_가_디스크를_건드리지_않는다() throws IOException {
+    PostSearchIndex first = newIndex();
+    first.warmUp();
+    first.index(1L, "kafka", "", List.of());
+    first.flush();
+    byte[] meta = Files.readAllBytes(metaFile());
+
+    PostSearchIndex restarted = newIndex();
+    restarted.index(2L, "spring", "", List.of());
+    restarted.flush();
+
+    assertThat(Files.readAllBytes(metaFile())).isEqualTo(meta);
+  }
+
+  @Test
+  void warmUp_이_실패하면_watermark_와_세그먼트를_그대로_둔다() throws IOException {
+    PostSearchIndex first = newIndex();
+    first.warmUp();
+    first.index(1L, "kafka", "", List.of());
+    first.flush();
+    byte[] meta = Files.readAllBytes(metaFile());
+    List<Path> files;
+    try (var listing = Files.list(dir)) {
+      files = listing.toList();
+    }
+
+    when(postDao.findPostsChangedSince(any(), any(), anyInt()))
+        .thenThrow(new IllegalStateException("DB 연결 실패"));
+    PostSearchIndex restarted = newIndex();
+    restarted.warmUp();
+    restarted.index(2L, "spring", "", List.of());
+    restarted.flush();
+
+    assertThat(Files.readAllBytes(metaFile())).isEqualTo(meta);
+    assertThat(files).allMatch(Files::exists);
+    // 읽어 둔 세그먼트와 메모리 색인으로 검색은 계속된다
+    assertThat(restarted.search("kafka", 0, 10).postIds()).containsExactly(1L);
+    assertThat(restarted.search("spring", 0, 10).postIds()).containsExactly(2L);
+  }
+}
@@ -0,0 +1,89 @@
+package daul.communityservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SearchSegmentTest {
+
+  @TempDir
+  Path dir;
+
+  private static SearchSegment segment() {
+    TreeMap<Long, SearchSegment.Doc> docs = new TreeMap<>();
+    docs.put(10L, new SearchSegment.Doc(Map.of("spring", 3, "jpa", 1), 4));
+    docs.put(20L, new SearchSegment.Doc(Map.of("spring", 1), 1));
+    docs.put(30L, new SearchSegment.Doc(Map.of("kafka", 2), 2));
+    return SearchSegment.of(7, docs);
+  }
+
+  private static Map<Long, Integer> postings(SearchSegment segment, String term) {
+    Map<Long, Integer> hits = new HashMap<>();
+    segment.forEachPosting(term, (ord, tf) -> hits.put(segment.getPostIds()[ord], tf));
+    return hits;
+  }
+
+  @Test
+  void 용어별_postings_와_문서_통계() {
+    SearchSegment segment = segment();
+
+    assertThat(segment.getPostIds()).containsExactly(10L, 20L, 30L);
+    assertThat(segment.liveDocCount()).isEqualTo(3);
+    assertThat(segment.liveTotalLength()).isEqualTo(7);
+    assertThat(segment.docFreq("spring")).isEqualTo(2);
+    assertThat(segment.docFreq("없음")).isZero();
+    assertThat(postings(segment, "spring")).containsExactlyInAnyOrderEntriesOf(
+        Map.of(10L, 3, 20L, 1));
+  }
+
+  @Test
+  void 삭제한_문서는_postings_와_통계에서_빠진다() {
+    SearchSegment segment = segment();
+
+    assertThat(segment.delete(10L)).isTrue();
+    assertThat(segment.delete(10L)).isFalse();
+    assertThat(segment.delete(99L)).isFalse();
+
+    assertThat(segment.liveDocCount()).isEqualTo(2);
+    assertThat(segment.liveTotalLength()).isEqualTo(3);
+    assertThat(postings(segment, "spring")).containsOnlyKeys(20L);
+
+    Map<Long, SearchSegment.Doc> live = new HashMap<>();
+    segment.collectLiveDocs(live);
+    assertThat(live).containsOnlyKeys(20L, 30L);
+    assertThat(live.get(30L)).isEqualTo(new SearchSegment.Doc(Map.of("kafka", 2), 2));
+  }
+
+  @Test
+  void 디스크에_쓰고_다시_읽으면_삭제_표시까지_같다() throws IOException {
+    SearchSegment segment = segment();
+    segment.write(dir);
+    segment.delete(20L);
+    SearchSegment.writeDeletes(dir, segment.getId(), segment.snapshotDeletes());
+
+    SearchSegment read = SearchSegment.read(dir, 7);
+
+    assertThat(read.getPostIds()).containsExactly(10L, 20L, 30L);
+    assertThat(read.isDeleted(1)).isTrue();
+    assertThat(read.liveDocCount()).isEqualTo(2);
+    assertThat(read.liveTotalLength()).isEqualTo(6);
+    assertThat(postings(read, "spring")).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 3));
+    assertThat(postings(read, "jpa")).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 1));
+  }
+
+  @Test
+  void 다른_세그먼트_파일은_읽지_않는다() throws IOException {
+    segment().write(dir);
+    Files.move(SearchSegment.dataFile(dir, 7), SearchSegment.dataFile(dir, 8));
+
+    assertThatThrownBy(() -> SearchSegment.read(dir, 8)).isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,47 @@
+package daul.communityservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchTokenizerTest {
+
+  @Test
+  void 영문_숫자는_소문자_단어로_자른다() {
+    assertThat(SearchTokenizer.tokenize("Spring Boot 3.5, JPA!"))
+        .containsExactly("spring", "boot", "3", "5", "jpa");
+  }
+
+  @Test
+  void 한글은_2_gram_으로_자른다() {
+    assertThat(SearchTokenizer.tokenize("검색엔진")).containsExactly("검색", "색엔", "엔진");
+  }
+
+  @Test
+  void 한_글자_한글은_그대로_토큰이다() {
+    assertThat(SearchTokenizer.tokenize("글 a 쓰기")).containsExactly("글", "a", "쓰기");
+  }
+
+  @Test
+  void 한글과_영문이_붙어_있으면_경계에서_나눈다() {
+    assertThat(SearchTokenizer.tokenize("자바Java입문"))
+        .containsExactly("자바", "java", "입문");
+  }
+
+  @Test
+  void 전각_문자는_정규화한다() {
+    assertThat(SearchTokenizer.tokenize("ＡＢＣ１２")).containsExactly("abc12");
+  }
+
+  @Test
+  void 너무_긴_단어는_버린다() {
+    assertThat(SearchTokenizer.tokenize("a".repeat(41) + " ok")).containsExactly("ok");
+  }
+
+  @Test
+  void 빈_입력은_빈_목록() {
+    assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+    assertThat(SearchTokenizer.tokenize("")).isEmpty();
+    assertThat(SearchTokenizer.tokenize(" ,.!")).isEmpty();
+  }
+}
@@ -0,0 +1,103 @@
+package daul.communityservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import daul.communityservice.entity.PostDraftDeltaEntity;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextDeltasTest {
+
+  private static PostDraftDeltaEntity entity(int seq, TextDeltas.Delta delta) {
+    return new PostDraftDeltaEntity(1L, seq, delta.prefixLength(), delta.suffixLength(),
+        delta.text());
+  }
+
+  @Test
+  void 가운데_구간만_delta_로_남긴다() {
+    TextDeltas.Delta delta = TextDeltas.diff("hello world", "hello brave world");
+
+    assertThat(delta.unchanged()).isFalse();
+    assertThat(delta.prefixLength()).isEqualTo(6);
+    assertThat(delta.suffixLength()).isEqualTo(5);
+    assertThat(delta.text()).isEqualTo("brave ");
+    assertThat(TextDeltas.apply("hello world", 6, 5, "brave ")).isEqualTo("hello brave world");
+  }
+
+  @Test
+  void 같으면_unchanged() {
+    TextDeltas.Delta delta = TextDeltas.diff("same", "same");
+
+    assertThat(delta.unchanged()).isTrue();
+    assertThat(delta.text()).isEmpty();
+  }
+
+  @Test
+  void 앞부분이_서로게이트_쌍_중간에서_끝나지_않는다() {
+    // 😀 -> 😁 : 상위 서로게이트(\uD83D)는 같고 하위만 다르다
+    String from = "a😀";
+    String to = "a😁";
+
+    TextDeltas.Delta delta = TextDeltas.diff(from, to);
+
+    assertThat(delta.prefixLength()).isEqualTo(1);
+    assertThat(delta.text()).isEqualTo("😁");
+    assertThat(TextDeltas.apply(from, delta.prefixLength(), delta.suffixLength(), delta.text()))
+        .isEqualTo(to);
+  }
+
+  @Test
+  void 뒷부분이_서로게이트_쌍_중간에서_시작하지_않는다() {
+    // U+1F600 -> U+1F200 : 하위 서로게이트(\uDE00)만 같다
+    String from = "😀b";
+    String to = "🈀b";
+
+    TextDeltas.Delta delta = TextDeltas.diff(from, to);
+
+    assertThat(delta.suffixLength()).isEqualTo(1);
+    assertThat(delta.text()).isEqualTo("🈀");
+    assertThat(TextDeltas.apply(from, delta.prefixLength(), delta.suffixLength(), delta.text()))
+        .isEqualTo(to);
+  }
+
+  @Test
+  void delta_를_순서대로_적용하면_마지막_저장_내용() {
+    String base = "첫 문단\n둘째 문단";
+    List<String> saves = List.of(
+        "첫 문단 수정\n둘째 문단",
+        "첫 문단 수정\n둘째 문단\n셋째 문단 😀",
+        "머리말\n첫 문단 수정\n둘째 문단\n셋째 문단 😁",
+        "머리말\n둘째 문단\n셋째 문단 😁");
+
+    List<PostDraftDeltaEntity> deltas = new ArrayList<>();
+    String current = base;
+    for (String save : saves) {
+      deltas.add(entity(deltas.size() + 1, TextDeltas.diff(current, save)));
+      current = save;
+      assertThat(TextDeltas.applyAll(base, deltas)).isEqualTo(save);
+    }
+  }
+
+  @Test
+  void 압축한_delta_하나가_체인과_같은_결과() {
+    String base = "hello world";
+    List<PostDraftDeltaEntity> deltas = List.of(
+        entity(1, TextDeltas.diff("hello world", "hello brave world")),
+        entity(2, TextDeltas.diff("hello brave world", "hello brave new world")),
+        entity(3, TextDeltas.diff("hello brave new world", "oh, hello brave new world!")));
+
+    String expected = TextDeltas.applyAll(base, deltas);
+    PostDraftDeltaEntity compacted = entity(3, TextDeltas.diff(base, expected));
+
+    assertThat(expected).isEqualTo("oh, hello brave new world!");
+    assertThat(TextDeltas.applyAll(base, List.of(compacted))).isEqualTo(expected);
+  }
+
+  @Test
+  void 본문보다_긴_delta_는_거부() {
+    assertThatThrownBy(() -> TextDeltas.apply("abc", 2, 2, "x"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
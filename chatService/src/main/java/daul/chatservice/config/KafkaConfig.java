@@ -1,21 +1,22 @@
 package daul.chatservice.config;
 
-import com.fasterxml.jackson.databind.ser.std.StringSerializer;
-import daul.chatservice.dto.ChatMessageDto;
-import java.util.HashMap;
-import java.util.Map;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
-import org.springframework.kafka.core.DefaultKafkaProducerFactory;
-import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 @Configuration
 public class KafkaConfig {
 
+  public static final String BATCH_LISTENER_FACTORY = "batchKafkaListenerContainerFactory";
 
   /**
    * chat-events 토픽 자동 생성
@@ -28,6 +29,17 @@ public class KafkaConfig {
         .build();
   }
 
+  /**
+   * chat-events 에서 재시도를 다 써도 처리하지 못한 메시지 (DeadLetterPublishingRecoverer 기본 이름, 같은 파티션 번호로 보낸다)
+   */
+  @Bean
+  public NewTopic chatEventsDeadLetterTopic() {
+    return TopicBuilder.name("chat-events-dlt")
+        .partitions(3)
+        .replicas(1)
+        .build();
+  }
+
   /**
    * notification-events 토픽 자동 생성
    */
@@ -38,4 +50,29 @@ public class KafkaConfig {
         .replicas(1)
         .build();
   }
+
+  /**
+   * poll 한 번 분량을 List 로 받는 리스너 컨테이너
+   * 리스너가 정상 반환한 뒤에만 오프셋을 커밋하고(AckMode.BATCH), 예외가 나면 같은 배치를 간격을 늘려가며 다시 처리한다.
+   * 재시도를 다 쓰면 배치의 레코드를 <토픽>-dlt 로 보내고 넘어간다 (버리지 않음).
+   */
+  @Bean(BATCH_LISTENER_FACTORY)
+  public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+      ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+      ConsumerFactory<Object, Object> consumerFactory,
+      KafkaTemplate<Object, Object> kafkaTemplate) {
+    ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    configurer.configure(factory, consumerFactory);
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(AckMode.BATCH);
+
+    // 1초부터 최대 30초 간격으로 10분까지 재시도 후 dead letter 토픽으로
+    ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+    backOff.setMaxInterval(30_000L);
+    backOff.setMaxElapsedTime(600_000L);
+    factory.setCommonErrorHandler(
+        new DefaultErrorHandler(new DeadLetterPublishingRecoverer(kafkaTemplate), backOff));
+    return factory;
+  }
 }
@@ -0,0 +1,47 @@
+package daul.chatservice.config;
+
+import daul.chatservice.entity.ChatMessage;
+import daul.chatservice.entity.RoomMember;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서비스 시작 시 조회에 필요한 Mongo 인덱스 생성 (이미 있으면 그대로 둔다)
+ * 데이터 이관(ChatMigrations)보다 먼저 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Order(0)
+  @EventListener(ApplicationReadyEvent.class)
+  public void createIndexes() {
+    // 채팅 히스토리 커서 조회: roomId 일치 + (createdAt, _id) 내림차순
+    mongoTemplate.indexOps(ChatMessage.class).createIndex(new Index()
+        .on("roomId", Direction.ASC)
+        .on("createdAt", Direction.DESC)
+        .on("_id", Direction.DESC)
+        .named("room_created_desc"));
+
+    // 참여자 상태: 방별 $inc/삭제와 사용자별 목록 조회
+    mongoTemplate.indexOps(RoomMember.class).createIndex(new Index()
+        .on("roomId", Direction.ASC)
+        .on("userId", Direction.ASC)
+        .unique()
+        .named("room_user"));
+    mongoTemplate.indexOps(RoomMember.class).createIndex(new Index()
+        .on("userId", Direction.ASC)
+        .named("user"));
+    log.info("✅ Mongo 인덱스 확인 완료");
+  }
+}
@@ -1,8 +1,10 @@
 package daul.chatservice.controller;
 
+import daul.chatservice.dto.ChatHistoryCursor;
 import daul.chatservice.dto.ChatMessageDto;
 import daul.chatservice.entity.ChatMessage;
 import daul.chatservice.entity.ChatRoom;
+import daul.chatservice.entity.RoomMember;
 import daul.chatservice.service.ChatService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -79,30 +81,31 @@ public class ChatController {
   public List<ChatRoom> getUserRooms(
       @RequestHeader("userSignId") String userSignId) {
     log.info("🔍 [API] 사용자별 채팅방 목록 조회 요청 수신. UserSignId: {}", userSignId);
+    // 안읽은 메시지 개수(unreadCount)가 채워진 상태로 반환된다
     List<ChatRoom> rooms = chatService.getUserChatRooms(userSignId);
 
-    // ⭐ 각 채팅방의 안읽은 메시지 개수 추가 (ChatRoom 객체에 직접 설정)
-    rooms.forEach(room -> {
-      long unreadCount = chatService.getUnreadMessageCount(room.getRoomId(), userSignId);
-      // ChatRoom 엔티티에 transient 필드로 추가 필요
-      room.setUnreadCount(unreadCount);
-    });
-
     log.info("📊 [API] ChatService 응답 결과: Room 개수 = {}", rooms.size());
     return rooms;
   }
 
   /**
-   * 채팅 히스토리 조회
+   * 채팅 히스토리 조회 (최신순)
+   * 이전 메시지는 받은 목록의 마지막 메시지로 before="createdAt,chatId" 를 만들어 요청한다.
    */
   @GetMapping("/rooms/{roomId}/messages")
   public ResponseEntity<List<ChatMessage>> getChatHistory(
       @PathVariable String roomId,
-      @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "50") int size) {
+      @RequestParam(required = false) String before,
+      @RequestParam(defaultValue = "50") int limit) {
 
-    List<ChatMessage> messages = chatService.getChatHistory(roomId, page, size);
-    return ResponseEntity.ok(messages);
+    try {
+      ChatHistoryCursor cursor = before == null || before.isBlank()
+          ? null : ChatHistoryCursor.parse(before);
+      List<ChatMessage> messages = chatService.getChatHistory(roomId, cursor, limit);
+      return ResponseEntity.ok(messages);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   /**
@@ -117,6 +120,14 @@ public class ChatController {
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * 참여자별 마지막으로 읽은 메시지 (메시지별 안읽은 인원 계산용)
+   */
+  @GetMapping("/rooms/{roomId}/read-states")
+  public List<RoomMember> getReadStates(@PathVariable String roomId) {
+    return chatService.getReadStates(roomId);
+  }
+
   // ============================================
   // 내부 DTO 클래스
   // ============================================
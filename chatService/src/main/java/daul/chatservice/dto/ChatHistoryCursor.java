@@ -0,0 +1,36 @@
+package daul.chatservice.dto;
+
+import daul.chatservice.entity.ChatMessage;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 채팅 히스토리 커서 "createdAt,chatId" (이 메시지보다 이전 메시지를 조회)
+ */
+public record ChatHistoryCursor(LocalDateTime createdAt, String chatId) {
+
+  public static ChatHistoryCursor of(ChatMessage message) {
+    return new ChatHistoryCursor(message.getCreatedAt(), message.getChatId());
+  }
+
+  /**
+   * @throws IllegalArgumentException 형식이 잘못된 경우
+   */
+  public static ChatHistoryCursor parse(String value) {
+    int comma = value.indexOf(',');
+    if (comma <= 0 || comma == value.length() - 1) {
+      throw new IllegalArgumentException("잘못된 커서 형식입니다: " + value);
+    }
+    try {
+      return new ChatHistoryCursor(LocalDateTime.parse(value.substring(0, comma)),
+          value.substring(comma + 1));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("잘못된 커서 형식입니다: " + value, e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return createdAt + "," + chatId;
+  }
+}
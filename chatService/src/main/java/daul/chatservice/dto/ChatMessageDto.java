@@ -3,8 +3,6 @@ package daul.chatservice.dto;
 import daul.chatservice.entity.ChatMessage;
 import daul.chatservice.entity.ChatMessage.MessageType;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,8 +26,15 @@ public class ChatMessageDto {
    * DTO → Entity 변환
    */
   public ChatMessage toEntity() {
+    return toEntity(UUID.randomUUID().toString(), LocalDateTime.now());
+  }
+
+  /**
+   * DTO → Entity 변환 (id/시각을 지정 - Kafka 소비 시 레코드 위치로 정해 재전송돼도 같은 메시지가 되도록)
+   */
+  public ChatMessage toEntity(String chatId, LocalDateTime createdAt) {
     ChatMessage message = new ChatMessage();
-    message.setChatId(UUID.randomUUID().toString());
+    message.setChatId(chatId);
 
     // ⭐ String → MessageType enum 변환
     try {
@@ -46,15 +51,7 @@ public class ChatMessageDto {
     message.setRoomId(this.roomId);
     message.setContent(this.content);
     message.setImageUrl(this.imageUrl);
-    message.setCreatedAt(LocalDateTime.now());
-
-    // ⭐ 발신자를 readBy에 자동 추가 (본인은 이미 읽음 상태)
-    List<String> readBy = new ArrayList<>();
-    if (this.userSignId != null) {
-      readBy.add(this.userSignId);
-    }
-    message.setReadBy(readBy);
-
+    message.setCreatedAt(createdAt);
     message.setDeleted(false);
 
     return message;
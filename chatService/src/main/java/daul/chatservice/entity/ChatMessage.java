@@ -1,8 +1,7 @@
 package daul.chatservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,8 +34,13 @@ public class ChatMessage {
   private String roomId;
   private String content;
   private String imageUrl; // 이미지 URL (TYPE이 IMAGE일 때 사용)
-  private LocalDateTime createdAt;
-  private List<String> readBy = new ArrayList<>(); // 메시지를 읽은 사용자 ID 목록
+  private LocalDateTime createdAt; // 읽음 여부는 RoomMember 의 워터마크와 비교해 구한다
   private Boolean deleted = false; // 삭제 상태 (기본값 false)
 
+  // Kafka 배치 처리의 후속 단계 완료 여부 (안읽은 수 반영 / 푸시·알림). 값이 없으면 끝난 메시지로 본다
+  @JsonIgnore
+  private Boolean unreadCounted;
+  @JsonIgnore
+  private Boolean delivered;
+
 }
\ No newline at end of file
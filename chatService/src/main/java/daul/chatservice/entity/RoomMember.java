@@ -0,0 +1,41 @@
+package daul.chatservice.entity;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 채팅방 참여자별 상태 (안읽은 메시지 수, 마지막으로 읽은 메시지)
+ * 메시지가 저장될 때 보낸 사람을 뺀 참여자의 unreadCount 를 올리고, 읽음 처리 시 새 워터마크 이후 메시지 수로 다시 센다.
+ * 메시지별 읽음 여부는 (lastReadAt, lastReadChatId) 워터마크와 메시지의 (createdAt, chatId) 를 비교해 구한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_members")
+public class RoomMember {
+
+  @Id
+  private String id; // roomId:userId
+
+  private String roomId;
+  private String userId;
+  private long unreadCount;
+
+  // 마지막으로 읽은 메시지 (아직 읽은 적 없으면 null)
+  private String lastReadChatId;
+  private LocalDateTime lastReadAt;
+
+  public static String idOf(String roomId, String userId) {
+    return roomId + ":" + userId;
+  }
+
+  public static RoomMember of(String roomId, String userId) {
+    return new RoomMember(idOf(roomId, userId), roomId, userId, 0, null, null);
+  }
+}
@@ -0,0 +1,15 @@
+package daul.chatservice.repository;
+
+import daul.chatservice.entity.RoomMember;
+import java.util.List;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface RoomMemberRepository extends MongoRepository<RoomMember, String> {
+
+  // 사용자의 모든 채팅방 안읽은 수 (한 번에 조회)
+  List<RoomMember> findByUserId(String userId);
+
+  List<RoomMember> findByRoomId(String roomId);
+
+  void deleteByRoomId(String roomId);
+}
@@ -0,0 +1,133 @@
+package daul.chatservice.service;
+
+import daul.chatservice.entity.ChatMessage;
+import daul.chatservice.entity.ChatRoom;
+import daul.chatservice.entity.RoomMember;
+import daul.chatservice.repository.RoomMemberRepository;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 데이터 이관 (서비스 시작 시 한 번)
+ *
+ * 완료한 이관은 migrations 컬렉션에 이름으로 기록해 두고 다시 실행하지 않는다.
+ * 중간에 실패하면 기록되지 않으므로 다음 시작 때 처음부터 다시 실행된다 (각 이관은 여러 번 실행해도 안전하다).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMigrations {
+
+  private static final String COLLECTION = "migrations";
+  // 워터마크 도입 전 메시지별 읽은 사용자 목록 (엔티티에서는 빠졌고 이관에서만 읽는다)
+  private static final String LEGACY_READ_BY = "readBy";
+
+  private final MongoTemplate mongoTemplate;
+  private final RoomMemberRepository roomMemberRepository;
+
+  @Order(1)
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrate() {
+    run("room_members_backfill", this::backfillRoomMembers);
+    run("read_watermark_backfill", this::backfillReadWatermarks);
+  }
+
+  private void run(String name, Runnable migration) {
+    if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(name)), COLLECTION)) {
+      return;
+    }
+    log.info("🔧 데이터 이관 시작 - {}", name);
+    try {
+      migration.run();
+    } catch (Exception e) {
+      log.error("❌ 데이터 이관 실패 - {}", name, e);
+      return;
+    }
+    mongoTemplate.upsert(Query.query(Criteria.where("_id").is(name)),
+        Update.update("appliedAt", LocalDateTime.now()), COLLECTION);
+    log.info("✅ 데이터 이관 완료 - {}", name);
+  }
+
+  /**
+   * 방 참여자마다 room_members 문서를 만들고 readBy 기준 안읽은 수로 채운다.
+   * 이미 있는 문서(이관 도중 새로 생긴 방 등)는 건드리지 않는다.
+   */
+  private void backfillRoomMembers() {
+    int created = 0;
+    try (Stream<ChatRoom> rooms = mongoTemplate.stream(new Query(), ChatRoom.class)) {
+      for (ChatRoom room : (Iterable<ChatRoom>) rooms::iterator) {
+        if (room.getParticipantIds() == null) {
+          continue;
+        }
+        Set<String> existing = roomMemberRepository.findByRoomId(room.getRoomId()).stream()
+            .map(RoomMember::getUserId)
+            .collect(Collectors.toSet());
+        for (String userId : room.getParticipantIds()) {
+          if (existing.contains(userId)) {
+            continue;
+          }
+          long unread = mongoTemplate.count(Query.query(Criteria.where("roomId")
+              .is(room.getRoomId()).and(LEGACY_READ_BY).ne(userId)), ChatMessage.class);
+          mongoTemplate.upsert(
+              Query.query(Criteria.where("_id").is(RoomMember.idOf(room.getRoomId(), userId))),
+              new Update()
+                  .setOnInsert("roomId", room.getRoomId())
+                  .setOnInsert("userId", userId)
+                  .setOnInsert("unreadCount", unread),
+              RoomMember.class);
+          created++;
+        }
+      }
+    }
+    log.info("room_members 생성: {}개", created);
+  }
+
+  /**
+   * readBy 배열에서 참여자별 마지막으로 읽은 메시지를 찾아 워터마크로 옮기고, 메시지의 readBy 를 지운다.
+   * 본인이 보낸 메시지는 readBy 에 항상 들어 있었으므로 다른 사람이 보낸 메시지만 본다.
+   */
+  private void backfillReadWatermarks() {
+    int updated = 0;
+    Query pending = Query.query(Criteria.where("lastReadAt").is(null));
+    try (Stream<RoomMember> members = mongoTemplate.stream(pending, RoomMember.class)) {
+      for (RoomMember member : (Iterable<RoomMember>) members::iterator) {
+        Query lastRead = Query.query(Criteria.where("roomId").is(member.getRoomId())
+                .and(LEGACY_READ_BY).is(member.getUserId())
+                .and("userSignId").ne(member.getUserId()))
+            .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+            .limit(1);
+        lastRead.fields().include("_id", "createdAt");
+        ChatMessage message = mongoTemplate.findOne(lastRead, ChatMessage.class);
+        if (message == null) {
+          continue;
+        }
+        // 이관 도중 읽음 처리된 참여자는 덮어쓰지 않는다
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(member.getId()).and("lastReadAt").is(null)),
+            new Update()
+                .set("lastReadChatId", message.getChatId())
+                .set("lastReadAt", message.getCreatedAt()),
+            RoomMember.class);
+        updated++;
+      }
+    }
+    long unset = mongoTemplate.updateMulti(
+        Query.query(Criteria.where(LEGACY_READ_BY).exists(true)),
+        new Update().unset(LEGACY_READ_BY),
+        ChatMessage.class).getModifiedCount();
+    log.info("읽음 워터마크 이관: {}명, readBy 제거: 메시지 {}개", updated, unset);
+  }
+}
@@ -1,8 +1,10 @@
 package daul.chatservice.service;
 
+import daul.chatservice.dto.ChatHistoryCursor;
 import daul.chatservice.dto.ChatMessageDto;
 import daul.chatservice.entity.ChatMessage;
 import daul.chatservice.entity.ChatRoom;
+import daul.chatservice.entity.RoomMember;
 import java.util.List;
 
 public interface ChatService {
@@ -13,17 +15,18 @@ public interface ChatService {
   // 2. 메시지 전송 및 Kafka 발행
   void sendMessageToKafka(ChatMessageDto messageDto);
 
-  // 3. 메시지 히스토리 조회
-  List<ChatMessage> getChatHistory(String roomId, int page, int size);
+  // 3. 메시지 히스토리 조회 (before 커서 이전 메시지를 최신순으로, before 가 null 이면 최신부터)
+  List<ChatMessage> getChatHistory(String roomId, ChatHistoryCursor before, int limit);
 
-  // 4. 메시지 읽음 처리
+  // 4. 메시지 읽음 처리 (참여자별 마지막으로 읽은 메시지 워터마크)
   void markMessageAsRead(String roomId, String userId);
+  List<RoomMember> getReadStates(String roomId);
 
   // ⭐ 5. 안읽은 메시지 개수 조회
   long getUnreadMessageCount(String roomId, String userId);
 
-  // 6. Kafka Consumer가 호출
-  void handleReceivedMessage(ChatMessageDto messageDto);
+  // 6. Kafka 배치 리스너가 호출 (poll 한 번 분량을 한꺼번에)
+  void handleReceivedMessages(List<ChatMessage> messages);
 
   void leaveChatRoom(String roomId, String userId);
 
@@ -1,15 +1,32 @@
 package daul.chatservice.service;
 
+import daul.chatservice.dto.ChatHistoryCursor;
 import daul.chatservice.dto.ChatMessageDto;
 import daul.chatservice.entity.ChatMessage;
 import daul.chatservice.entity.ChatRoom;
+import daul.chatservice.entity.RoomMember;
 import daul.chatservice.repository.ChatMessageRepository;
 import daul.chatservice.repository.ChatRoomRepository;
+import daul.chatservice.repository.RoomMemberRepository;
+import com.mongodb.bulk.BulkWriteError;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -25,12 +42,21 @@ public class ChatServiceImpl implements ChatService {
 
   private final ChatRoomRepository chatRoomRepository;
   private final ChatMessageRepository chatMessageRepository;
+  private final RoomMemberRepository roomMemberRepository;
   private final KafkaProducerService kafkaProducerService;
   private final SimpMessageSendingOperations messagingTemplate;
   private final MongoTemplate mongoTemplate;
 
   private static final String CHAT_TOPIC = "chat-events";
   private static final String NOTIFICATION_TOPIC = "notification-events";
+  private static final int MAX_HISTORY_LIMIT = 100;
+  // (roomId, createdAt desc, _id desc) 인덱스 순서
+  private static final Sort NEWEST_FIRST =
+      Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"));
+  private static final Comparator<ChatMessage> SENT_ORDER = Comparator
+      .comparing(ChatMessage::getCreatedAt)
+      .thenComparing(ChatMessage::getChatId);
+  private static final int DUPLICATE_KEY = 11000;
 
   @Override
   @Transactional
@@ -48,7 +74,12 @@ public class ChatServiceImpl implements ChatService {
     newRoom.setCreatedAt(LocalDateTime.now());
     newRoom.setIsOneToOne(participantIds.size() == 2);
 
-    return chatRoomRepository.save(newRoom);
+    ChatRoom savedRoom = chatRoomRepository.save(newRoom);
+    roomMemberRepository.insert(participantIds.stream()
+        .distinct()
+        .map(userId -> RoomMember.of(savedRoom.getRoomId(), userId))
+        .toList());
+    return savedRoom;
   }
 
   @Override
@@ -57,89 +88,283 @@ public class ChatServiceImpl implements ChatService {
     kafkaProducerService.sendChatMessageDto(CHAT_TOPIC, messageDto);
   }
 
+  /**
+   * Kafka 배치 한 번 분량의 메시지 처리
+   *
+   * 메시지는 bulk insert 한 번으로 저장하고, 채팅방 마지막 메시지는 방마다 한 번만 $set 한다.
+   * chatId 가 Kafka 레코드 위치로 정해지므로 재전송된 메시지는 중복 키로 건너뛴다.
+   * 안읽은 수 증가와 푸시/알림은 각각 끝난 뒤 메시지에 표시해 두고, 재전송분 중 표시가 없는 메시지는
+   * 이전 시도가 중간에 실패한 것이므로 남은 단계를 다시 한다.
+   * 저장/갱신이 실패하면 예외를 그대로 던진다 (오프셋이 커밋되지 않고 배치가 다시 처리된다).
+   */
   @Override
-  @Transactional
-  public void handleReceivedMessage(ChatMessageDto messageDto) {
-    ChatMessage message = messageDto.toEntity();
+  public void handleReceivedMessages(List<ChatMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
 
     // 1. DB 저장
-    ChatMessage savedMessage = chatMessageRepository.save(message);
-    log.info("💾 메시지 DB 저장 완료 - ChatId: {}", savedMessage.getChatId());
-
-    // 2. 채팅방 정보 업데이트
-    chatRoomRepository.findById(savedMessage.getRoomId()).ifPresent(room -> {
-      room.setLastMessageContent(savedMessage.getContent());
-      room.setLastMessageTime(savedMessage.getCreatedAt());
-      room.setLastMessageSenderId(savedMessage.getUserSignId());
-      chatRoomRepository.save(room);
+    List<ChatMessage> inserted = insertMessages(messages);
+    log.info("💾 메시지 DB 저장 완료 - {}개 (중복 {}개)",
+        inserted.size(), messages.size() - inserted.size());
+
+    // 2. 채팅방 정보 업데이트 (재전송분도 포함 - 조건부 $set 이라 안전)
+    updateLastMessages(messages);
+
+    // 후속 단계가 남은 메시지: 새로 저장된 메시지 + 이전 시도에서 끝나지 않은 재전송분
+    List<ChatMessage> toCount = new ArrayList<>(inserted);
+    List<ChatMessage> toDeliver = new ArrayList<>(inserted);
+    collectUnfinished(messages, inserted, toCount, toDeliver);
+
+    // 3. 안읽은 수 증가
+    incrementUnreadCounts(toCount);
+    markDone(toCount, "unreadCounted");
+
+    // 4. WebSocket 푸시, 5. 알림 이벤트 발행
+    for (ChatMessage message : toDeliver) {
+      messagingTemplate.convertAndSend("/topic/chat.room." + message.getRoomId(), message);
+      sendChatNotification(message);
+    }
+    markDone(toDeliver, "delivered");
+  }
+
+  // 이미 저장된 메시지(중복 키)는 빼고 새로 저장된 메시지만 돌려준다
+  private List<ChatMessage> insertMessages(List<ChatMessage> messages) {
+    messages.forEach(message -> {
+      message.setUnreadCounted(false);
+      message.setDelivered(false);
     });
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, ChatMessage.class).insert(messages).execute();
+      return messages;
+    } catch (BulkOperationException e) {
+      Set<Integer> duplicates = new HashSet<>();
+      for (BulkWriteError error : e.getErrors()) {
+        if (error.getCode() != DUPLICATE_KEY) {
+          throw e;
+        }
+        duplicates.add(error.getIndex());
+      }
+      List<ChatMessage> inserted = new ArrayList<>(messages.size() - duplicates.size());
+      for (int i = 0; i < messages.size(); i++) {
+        if (!duplicates.contains(i)) {
+          inserted.add(messages.get(i));
+        }
+      }
+      return inserted;
+    }
+  }
 
-    // 3. WebSocket으로 실시간 푸시
-    String destination = "/topic/chat.room." + savedMessage.getRoomId();
+  // 재전송분 중 저장된 문서에 완료 표시가 없는 단계를 골라 담는다
+  private void collectUnfinished(List<ChatMessage> messages, List<ChatMessage> inserted,
+      List<ChatMessage> toCount, List<ChatMessage> toDeliver) {
+    if (inserted.size() == messages.size()) {
+      return;
+    }
+    Set<String> insertedIds = inserted.stream().map(ChatMessage::getChatId)
+        .collect(Collectors.toSet());
+    Map<String, ChatMessage> redelivered = messages.stream()
+        .filter(message -> !insertedIds.contains(message.getChatId()))
+        .collect(Collectors.toMap(ChatMessage::getChatId, message -> message, (a, b) -> a));
+
+    Query unfinished = Query.query(Criteria.where("_id").in(redelivered.keySet()).orOperator(
+        Criteria.where("unreadCounted").is(false),
+        Criteria.where("delivered").is(false)));
+    unfinished.fields().include("_id", "unreadCounted", "delivered");
+    for (ChatMessage stored : mongoTemplate.find(unfinished, ChatMessage.class)) {
+      ChatMessage message = redelivered.get(stored.getChatId());
+      if (Boolean.FALSE.equals(stored.getUnreadCounted())) {
+        toCount.add(message);
+      }
+      if (Boolean.FALSE.equals(stored.getDelivered())) {
+        toDeliver.add(message);
+      }
+    }
+    if (toCount.size() > inserted.size() || toDeliver.size() > inserted.size()) {
+      log.info("🔁 이전 처리에서 끝나지 않은 메시지 재처리 - 안읽은 수 {}개, 푸시 {}개",
+          toCount.size() - inserted.size(), toDeliver.size() - inserted.size());
+    }
+  }
+
+  private void markDone(List<ChatMessage> messages, String field) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    mongoTemplate.updateMulti(
+        Query.query(Criteria.where("_id").in(messages.stream().map(ChatMessage::getChatId).toList())),
+        new Update().set(field, true),
+        ChatMessage.class);
+  }
+
+  // 방마다 배치 안에서 가장 나중 메시지로 한 번씩만 $set
+  private void updateLastMessages(List<ChatMessage> messages) {
+    Map<String, ChatMessage> lastByRoom = messages.stream().collect(Collectors.toMap(
+        ChatMessage::getRoomId, message -> message, BinaryOperator.maxBy(SENT_ORDER)));
 
-    log.info("📡 WebSocket 브로드캐스트 시작 - Destination: {}", destination);
-    messagingTemplate.convertAndSend(destination, savedMessage);
-    log.info("✅ WebSocket 푸시 완료 - RoomId: {}", savedMessage.getRoomId());
+    BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChatRoom.class);
+    lastByRoom.values().forEach(message ->
+        ops.updateOne(olderLastMessage(message), lastMessageUpdate(message)));
+    ops.execute();
+  }
+
+  /**
+   * 마지막 메시지가 아직 없거나 이 메시지보다 이전인 채팅방
+   * 다른 파티션의 컨슈머나 재처리로 순서가 뒤바뀌어 도착해도 마지막 메시지가 과거로 돌아가지 않는다.
+   */
+  private static Query olderLastMessage(ChatMessage message) {
+    return Query.query(Criteria.where("_id").is(message.getRoomId()).orOperator(
+        Criteria.where("lastMessageTime").is(null),
+        Criteria.where("lastMessageTime").lt(message.getCreatedAt())));
+  }
+
+  // 문서 전체를 다시 쓰지 않고 마지막 메시지 필드만 바꾼다 (participantIds 등은 건드리지 않음)
+  private static Update lastMessageUpdate(ChatMessage message) {
+    return new Update()
+        .set("lastMessageContent", message.getContent())
+        .set("lastMessageTime", message.getCreatedAt())
+        .set("lastMessageSenderId", message.getUserSignId());
+  }
 
-    // 4. 알림 서비스로 이벤트 발행
-    sendChatNotification(savedMessage);
+  // (방, 보낸 사람) 마다 보낸 사람을 뺀 참여자의 안읽은 수를 보낸 개수만큼 증가
+  private void incrementUnreadCounts(List<ChatMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    Map<String, Map<String, Long>> countsByRoom = messages.stream().collect(Collectors.groupingBy(
+        ChatMessage::getRoomId,
+        Collectors.groupingBy(message -> Objects.requireNonNullElse(message.getUserSignId(), ""),
+            Collectors.counting())));
+
+    BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, RoomMember.class);
+    countsByRoom.forEach((roomId, countsBySender) -> countsBySender.forEach((senderId, count) ->
+        ops.updateMulti(
+            Query.query(Criteria.where("roomId").is(roomId).and("userId").ne(senderId)),
+            new Update().inc("unreadCount", count))));
+    ops.execute();
   }
 
+  /**
+   * (roomId, createdAt desc, _id desc) 인덱스를 따라 limit 개만 읽는다.
+   * 같은 시각의 메시지는 chatId 로 순서를 정해 페이지 경계에서 빠지거나 겹치지 않는다.
+   */
   @Override
-  public List<ChatMessage> getChatHistory(String roomId, int page, int size) {
-    return chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId);
+  public List<ChatMessage> getChatHistory(String roomId, ChatHistoryCursor before, int limit) {
+    Criteria criteria = Criteria.where("roomId").is(roomId);
+    if (before != null) {
+      criteria = criteria.orOperator(
+          Criteria.where("createdAt").lt(before.createdAt()),
+          Criteria.where("createdAt").is(before.createdAt()).and("_id").lt(before.chatId()));
+    }
+
+    Query query = new Query(criteria)
+        .with(NEWEST_FIRST)
+        .limit(Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT)));
+
+    return mongoTemplate.find(query, ChatMessage.class);
   }
 
+  /**
+   * 방의 최신 메시지까지 읽음 처리 (참여자 워터마크 한 건만 갱신)
+   * 워터마크는 앞으로만 움직이며, 실제로 움직였을 때만 읽음 알림을 보낸다.
+   */
   @Override
   @Transactional
   public void markMessageAsRead(String roomId, String userId) {
     try {
       log.info("📖 메시지 읽음 처리 시작 - RoomId: {}, UserId: {}", roomId, userId);
 
-      // MongoDB의 readBy 배열에 userId 추가 (중복 방지)
-      Query query = new Query();
-      query.addCriteria(Criteria.where("roomId").is(roomId)
-          .and("readBy").ne(userId)  // 이미 읽은 메시지는 제외
-          .and("userSignId").ne(userId)  // ⭐ 본인이 보낸 메시지는 제외 (중요!)
-          .and("deleted").is(false)); // 삭제되지 않은 메시지만
-
-      Update update = new Update();
-      update.addToSet("readBy", userId);  // 배열에 userId 추가 (중복 방지)
-
-      var result = mongoTemplate.updateMulti(query, update, ChatMessage.class);
-
-      log.info("✅ 읽음 처리 완료 - 업데이트된 메시지: {}개", result.getModifiedCount());
+      Query latestQuery = Query.query(Criteria.where("roomId").is(roomId))
+          .with(NEWEST_FIRST)
+          .limit(1);
+      latestQuery.fields().include("_id", "createdAt");
+      ChatMessage latest = mongoTemplate.findOne(latestQuery, ChatMessage.class);
+      if (latest == null) {
+        return;
+      }
 
-      // ⭐ 실시간 읽음 알림: 다른 사용자에게 "상대방이 읽었음" 브로드캐스트
-      if (result.getModifiedCount() > 0) {
-        String destination = "/topic/chat.room." + roomId;
+      Criteria memberId = Criteria.where("_id").is(RoomMember.idOf(roomId, userId));
+      Query behind = Query.query(new Criteria().andOperator(memberId, new Criteria().orOperator(
+          Criteria.where("lastReadAt").is(null),
+          Criteria.where("lastReadAt").lt(latest.getCreatedAt()),
+          Criteria.where("lastReadAt").is(latest.getCreatedAt())
+              .and("lastReadChatId").lt(latest.getChatId()))));
+      var result = mongoTemplate.updateFirst(behind, new Update()
+          .set("lastReadChatId", latest.getChatId())
+          .set("lastReadAt", latest.getCreatedAt()), RoomMember.class);
+      if (result.getModifiedCount() == 0) {
+        return; // 이미 최신까지 읽은 상태
+      }
 
-        ReadReceiptEvent readEvent = ReadReceiptEvent.builder()
-            .type("READ")
-            .roomId(roomId)
-            .userSignId(userId)
-            .readAt(LocalDateTime.now())
-            .build();
+      // latest 조회 뒤 저장·$inc 된 메시지가 있을 수 있으므로 0 이 아니라 새 워터마크 이후 메시지 수로 맞춘다.
+      // 그 사이 다른 읽음 처리가 워터마크를 더 옮겼으면 그쪽 값이 맞으므로 덮어쓰지 않는다.
+      // (이 집계 뒤에 $inc 가 도착한 메시지는 다음에 워터마크가 움직일 때 다시 센 값으로 맞춰진다)
+      long unread = countUnreadAfter(roomId, userId, latest.getCreatedAt(), latest.getChatId());
+      mongoTemplate.updateFirst(
+          Query.query(new Criteria().andOperator(memberId,
+              Criteria.where("lastReadChatId").is(latest.getChatId()))),
+          Update.update("unreadCount", unread),
+          RoomMember.class);
+      log.info("✅ 읽음 처리 완료 - LastReadChatId: {}", latest.getChatId());
+
+      // ⭐ 실시간 읽음 알림: 다른 사용자는 워터마크로 메시지별 안읽은 인원을 다시 계산한다
+      String destination = "/topic/chat.room." + roomId;
+
+      ReadReceiptEvent readEvent = ReadReceiptEvent.builder()
+          .type("READ")
+          .roomId(roomId)
+          .userSignId(userId)
+          .readAt(LocalDateTime.now())
+          .lastReadChatId(latest.getChatId())
+          .lastReadAt(latest.getCreatedAt())
+          .build();
 
-        messagingTemplate.convertAndSend(destination, readEvent);
-        log.info("📢 읽음 알림 브로드캐스트 완료 - UserId: {}", userId);
-      }
+      messagingTemplate.convertAndSend(destination, readEvent);
+      log.info("📢 읽음 알림 브로드캐스트 완료 - UserId: {}", userId);
 
     } catch (Exception e) {
       log.error("❌ 읽음 처리 실패: {}", e.getMessage(), e);
     }
   }
 
+  @Override
+  public List<RoomMember> getReadStates(String roomId) {
+    return roomMemberRepository.findByRoomId(roomId);
+  }
+
+  /**
+   * 채팅방 목록 + 방별 안읽은 수 (room_members 를 한 번에 읽어 채운다)
+   */
   @Override
   public List<ChatRoom> getUserChatRooms(String userId) {
-    return chatRoomRepository.findByParticipantIdsContaining(userId);
+    List<ChatRoom> rooms = chatRoomRepository.findByParticipantIdsContaining(userId);
+    Map<String, Long> unreadCounts = roomMemberRepository.findByUserId(userId).stream()
+        .collect(Collectors.toMap(RoomMember::getRoomId, RoomMember::getUnreadCount));
+    rooms.forEach(room -> room.setUnreadCount(unreadCounts.getOrDefault(room.getRoomId(), 0L)));
+    return rooms;
   }
 
   /**
-   * ⭐ 안읽은 메시지 개수 조회
+   * ⭐ 안읽은 메시지 개수 조회 (워터마크 이후 다른 사람이 보낸 메시지 수)
    */
   public long getUnreadMessageCount(String roomId, String userId) {
-    return chatMessageRepository.countByRoomIdAndReadByNotContains(roomId, userId);
+    RoomMember member = roomMemberRepository.findById(RoomMember.idOf(roomId, userId))
+        .orElse(null);
+    if (member == null) {
+      return 0;
+    }
+    return countUnreadAfter(roomId, userId, member.getLastReadAt(), member.getLastReadChatId());
+  }
+
+  // 워터마크 (lastReadAt, lastReadChatId) 이후 다른 사람이 보낸 메시지 수 - (roomId, createdAt, _id) 인덱스 범위
+  private long countUnreadAfter(String roomId, String userId, LocalDateTime lastReadAt,
+      String lastReadChatId) {
+    Criteria criteria = Criteria.where("roomId").is(roomId).and("userSignId").ne(userId);
+    if (lastReadAt != null) {
+      criteria = criteria.orOperator(
+          Criteria.where("createdAt").gt(lastReadAt),
+          Criteria.where("createdAt").is(lastReadAt).and("_id").gt(lastReadChatId));
+    }
+    return mongoTemplate.count(Query.query(criteria), ChatMessage.class);
   }
 
   /**
@@ -186,16 +411,20 @@ public class ChatServiceImpl implements ChatService {
     try {
       log.info("🚪 채팅방 나가기 시작 - RoomId: {}, UserId: {}", roomId, userId);
 
-      ChatRoom room = chatRoomRepository.findById(roomId)
-          .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
-
-      // 1. participantIds에서 사용자 제거
-      if (!room.getParticipantIds().contains(userId)) {
+      // 1. participantIds 에서 사용자 제거 ($pull 후의 문서를 받아 남은 참여자를 판단 - 동시에 나가도 정확)
+      ChatRoom room = mongoTemplate.findAndModify(
+          Query.query(Criteria.where("_id").is(roomId).and("participantIds").is(userId)),
+          new Update().pull("participantIds", userId),
+          FindAndModifyOptions.options().returnNew(true),
+          ChatRoom.class);
+      if (room == null) {
+        if (!chatRoomRepository.existsById(roomId)) {
+          throw new RuntimeException("채팅방을 찾을 수 없습니다.");
+        }
         log.warn("⚠️ 이미 나간 채팅방입니다 - UserId: {}", userId);
         return;
       }
-
-      room.getParticipantIds().remove(userId);
+      roomMemberRepository.deleteById(RoomMember.idOf(roomId, userId));
 
       // 2. 퇴장 메시지 전송 (선택사항)
       ChatMessageDto leaveMessage = ChatMessageDto.builder()
@@ -208,17 +437,18 @@ public class ChatServiceImpl implements ChatService {
 
       sendMessageToKafka(leaveMessage);
 
-      // 3. 남은 참여자가 없으면 채팅방 삭제
-      if (room.getParticipantIds().isEmpty()) {
+      // 3. 남은 참여자가 없으면 채팅방 삭제 (삭제 시점에도 비어 있을 때만)
+      List<String> remaining = room.getParticipantIds();
+      if (remaining == null || remaining.isEmpty()) {
         log.info("🗑️ 모든 참여자가 나갔으므로 채팅방 삭제 - RoomId: {}", roomId);
-        chatRoomRepository.delete(room);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(roomId)
+            .and("participantIds").size(0)), ChatRoom.class);
 
         // 메시지도 모두 삭제
         chatMessageRepository.deleteByRoomId(roomId);
+        roomMemberRepository.deleteByRoomId(roomId);
       } else {
-        // 참여자가 남아있으면 채팅방 정보만 업데이트
-        chatRoomRepository.save(room);
-        log.info("✅ 채팅방 나가기 완료 - 남은 참여자: {}명", room.getParticipantIds().size());
+        log.info("✅ 채팅방 나가기 완료 - 남은 참여자: {}명", remaining.size());
       }
 
     } catch (Exception e) {
@@ -236,5 +466,8 @@ public class ChatServiceImpl implements ChatService {
     private String roomId;
     private String userSignId;         // ⭐ userId → userSignId (프론트와 일치)
     private LocalDateTime readAt;
+    // 읽은 사용자의 워터마크 (이 메시지까지 읽음)
+    private String lastReadChatId;
+    private LocalDateTime lastReadAt;
   }
 }
\ No newline at end of file
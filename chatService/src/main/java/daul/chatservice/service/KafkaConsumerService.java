@@ -1,9 +1,16 @@
 package daul.chatservice.service;
 
+import daul.chatservice.config.KafkaConfig;
 import daul.chatservice.dto.ChatMessageDto;
 import daul.chatservice.entity.ChatMessage;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
@@ -14,20 +21,40 @@ public class KafkaConsumerService {
   private final ChatService chatService;
 
   /**
-   * chat-events 토픽에서 메시지 수신
-   * ⭐ ChatMessage 대신 ChatMessageDto로 수신 (Kafka는 DTO를 전송)
+   * chat-events 토픽에서 poll 한 번 분량의 메시지를 한꺼번에 처리
+   * 처리 중 예외는 컨테이너로 그대로 던져 오프셋이 커밋되지 않고 배치가 다시 처리되게 한다.
    */
-  @KafkaListener(topics = "chat-events", groupId = "chat-service-group")
-  public void consumeChatMessage(ChatMessageDto messageDto) {  // ⭐ 변경: ChatMessage → ChatMessageDto
-    try {
-      log.info("📩 Kafka 메시지 수신 - RoomId: {}, SenderId: {}",
-          messageDto.getRoomId(), messageDto.getUserSignId());
+  @KafkaListener(topics = "chat-events", groupId = "chat-service-group",
+      containerFactory = KafkaConfig.BATCH_LISTENER_FACTORY)
+  public void consumeChatMessages(List<ConsumerRecord<String, ChatMessageDto>> records) {
+    log.info("📩 Kafka 메시지 수신 - {}개", records.size());
 
-      // ⭐ 이미 DTO 형태로 왔으므로 바로 처리
-      chatService.handleReceivedMessage(messageDto);
+    List<ChatMessage> messages = new ArrayList<>(records.size());
+    for (ConsumerRecord<String, ChatMessageDto> record : records) {
+      if (record.value() == null) {
+        // 역직렬화 실패 (ErrorHandlingDeserializer) - 다시 읽어도 같으므로 건너뛴다
+        log.warn("⚠️ 읽을 수 없는 Kafka 메시지 건너뜀 - Partition: {}, Offset: {}",
+            record.partition(), record.offset());
+        continue;
+      }
+      messages.add(record.value().toEntity(chatIdOf(record), createdAtOf(record)));
+    }
+
+    chatService.handleReceivedMessages(messages);
+  }
+
+  /**
+   * 토픽-파티션-오프셋 (재전송돼도 같은 id, 같은 파티션 안에서는 문자열 순서가 오프셋 순서와 같다)
+   */
+  static String chatIdOf(ConsumerRecord<?, ?> record) {
+    return String.format("%s-%d-%019d", record.topic(), record.partition(), record.offset());
+  }
 
-    } catch (Exception e) {
-      log.error("❌ Kafka 메시지 처리 실패: {}", e.getMessage(), e);
+  // 발행 시각 (레코드 타임스탬프가 없으면 수신 시각)
+  private static LocalDateTime createdAtOf(ConsumerRecord<?, ?> record) {
+    if (record.timestamp() < 0) {
+      return LocalDateTime.now();
     }
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,295 @@
+package daul.chatservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import daul.chatservice.config.KafkaConfig;
+import daul.chatservice.dto.ChatMessageDto;
+import daul.chatservice.entity.ChatMessage;
+import daul.chatservice.entity.ChatRoom;
+import daul.chatservice.entity.RoomMember;
+import daul.chatservice.repository.ChatMessageRepository;
+import daul.chatservice.repository.ChatRoomRepository;
+import daul.chatservice.repository.RoomMemberRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+/**
+ * chat-events 소비 처리량: 메시지 단건 처리(이전 방식) vs 배치 처리(consumeChatMessages)
+ *
+ * 배치 쪽은 실제 @KafkaListener 와 batchKafkaListenerContainerFactory, application.yml 의 컨슈머 설정
+ * (max-poll-records, ErrorHandlingDeserializer) 그대로 돌린다. 단건 쪽은 이전 방식을 흉내 낸 RECORD 컨테이너와
+ * 레코드마다 저장/마지막 메시지 갱신/안읽은 수 증가/푸시/알림을 하던 예전 처리(handleOne).
+ * Kafka 는 임베디드 브로커, Mongo 는 호출 한 번마다 MONGO_RTT_MILLIS 만큼 지연되는 대역을 쓴다.
+ * (bulk 는 execute 한 번이 왕복 한 번) 기본 test 에서는 빠지고 ./gradlew :chatService:benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+    classes = {KafkaAutoConfiguration.class, KafkaConfig.class, KafkaConsumerService.class,
+        ChatConsumerThroughputBenchmark.BenchmarkServices.class},
+    properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        // 메시지를 다 쌓아둔 뒤 리스너를 시작해 poll 한 번에 max-poll-records 만큼 받게 한다
+        "spring.kafka.listener.auto-startup=false"
+    })
+@EmbeddedKafka(partitions = 3, topics = {
+    ChatConsumerThroughputBenchmark.BATCH_TOPIC, ChatConsumerThroughputBenchmark.RECORD_TOPIC})
+class ChatConsumerThroughputBenchmark {
+
+  static final String BATCH_TOPIC = "chat-events";
+  static final String RECORD_TOPIC = "bench-record";
+
+  private static final int MESSAGES = 3000;
+  private static final int ROOMS = 30;
+  private static final long MONGO_RTT_MILLIS = 1;
+
+  @Autowired
+  private EmbeddedKafkaBroker broker;
+  @Autowired
+  private KafkaListenerEndpointRegistry registry;
+  @Autowired
+  private Stats batchStats;
+
+  @Test
+  void 배치_소비가_모든_메시지를_한_번씩_전달하고_단건보다_빠르다() throws Exception {
+    produce(broker, RECORD_TOPIC);
+    produce(broker, BATCH_TOPIC);
+
+    Stats recordStats = new Stats();
+    consumeByRecord(broker, recordStats);
+
+    registry.getListenerContainers().forEach(MessageListenerContainer::start);
+    try {
+      assertThat(batchStats.remaining.await(2, TimeUnit.MINUTES)).as("배치 소비 시간 초과").isTrue();
+    } finally {
+      registry.getListenerContainers().forEach(MessageListenerContainer::stop);
+    }
+
+    System.out.printf("단건: %.0f msg/s (Mongo 왕복 %d회)%n",
+        recordStats.rate(), recordStats.roundTrips.get());
+    System.out.printf("배치: %.0f msg/s (Mongo 왕복 %d회, 배치 %d번)%n",
+        batchStats.rate(), batchStats.roundTrips.get(), batchStats.batches.get());
+
+    assertThat(batchStats.delivered).hasSize(MESSAGES);
+    // 실제 팩토리 설정으로 배치가 만들어졌는지 (레코드마다 리스너가 불리면 MESSAGES 번)
+    assertThat(batchStats.batches.get()).isLessThan(MESSAGES / 10);
+    assertThat(batchStats.rate()).isGreaterThan(recordStats.rate());
+  }
+
+  private static void produce(EmbeddedKafkaBroker broker, String topic) {
+    Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+    KafkaTemplate<String, ChatMessageDto> template = new KafkaTemplate<>(
+        new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new JsonSerializer<>()));
+    for (int i = 0; i < MESSAGES; i++) {
+      String roomId = "room-" + (i % ROOMS);
+      ChatMessageDto message = ChatMessageDto.builder()
+          .roomId(roomId)
+          .userSignId("user-" + (i % 7))
+          .name("user-" + (i % 7))
+          .content("message " + i)
+          .type("TALK")
+          .build();
+      template.send(topic, roomId, message);
+    }
+    template.flush();
+    template.destroy();
+  }
+
+  // 이전 방식: 레코드마다 handleOne
+  private static void consumeByRecord(EmbeddedKafkaBroker broker, Stats stats)
+      throws InterruptedException {
+    Backends backends = backends(stats);
+    ContainerProperties containerProps = new ContainerProperties(RECORD_TOPIC);
+    containerProps.setAckMode(AckMode.RECORD);
+    containerProps.setMessageListener((MessageListener<String, ChatMessageDto>) record ->
+        handleOne(backends, record.value()));
+
+    Map<String, Object> props =
+        KafkaTestUtils.consumerProps(RECORD_TOPIC + "-group", "false", broker);
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+    ConcurrentMessageListenerContainer<String, ChatMessageDto> container =
+        new ConcurrentMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(props,
+            new StringDeserializer(), new JsonDeserializer<>(ChatMessageDto.class, false)),
+            containerProps);
+    container.setConcurrency(3);
+    container.start();
+    try {
+      assertThat(stats.remaining.await(2, TimeUnit.MINUTES)).as("단건 소비 시간 초과").isTrue();
+    } finally {
+      container.stop();
+    }
+  }
+
+  /**
+   * Mongo 대역 호출 수와 WebSocket 으로 나간 메시지
+   */
+  static final class Stats {
+
+    final AtomicLong roundTrips = new AtomicLong();
+    final AtomicLong batches = new AtomicLong();
+    final Set<String> delivered = ConcurrentHashMap.newKeySet();
+    final CountDownLatch remaining = new CountDownLatch(MESSAGES);
+    private final AtomicLong startedAt = new AtomicLong();
+    private final AtomicLong finishedAt = new AtomicLong();
+
+    void roundTrip() {
+      startedAt.compareAndSet(0, System.nanoTime());
+      roundTrips.incrementAndGet();
+    }
+
+    void deliver(ChatMessage message) {
+      if (delivered.add(message.getChatId())) {
+        finishedAt.set(System.nanoTime());
+        remaining.countDown();
+      }
+    }
+
+    // 첫 Mongo 호출부터 마지막 전달까지 초당 메시지 수 (컨슈머 그룹 합류 시간 제외)
+    double rate() {
+      return delivered.size() / ((finishedAt.get() - startedAt.get()) / 1e9);
+    }
+  }
+
+  // 배치 처리 도입 전 ChatServiceImpl 의 메시지 단건 처리 (Mongo 왕복 3번 + 푸시 + 알림)
+  private static void handleOne(Backends backends, ChatMessageDto messageDto) {
+    ChatMessage saved = backends.messages().save(messageDto.toEntity());
+
+    backends.mongoTemplate().updateFirst(
+        Query.query(Criteria.where("_id").is(saved.getRoomId()).orOperator(
+            Criteria.where("lastMessageTime").is(null),
+            Criteria.where("lastMessageTime").lt(saved.getCreatedAt()))),
+        new Update()
+            .set("lastMessageContent", saved.getContent())
+            .set("lastMessageTime", saved.getCreatedAt())
+            .set("lastMessageSenderId", saved.getUserSignId()),
+        ChatRoom.class);
+    backends.mongoTemplate().updateMulti(
+        Query.query(Criteria.where("roomId").is(saved.getRoomId())
+            .and("userId").ne(saved.getUserSignId())),
+        new Update().inc("unreadCount", 1),
+        RoomMember.class);
+
+    backends.messagingTemplate().convertAndSend("/topic/chat.room." + saved.getRoomId(), saved);
+    backends.kafkaProducer().sendNotificationEvent("notification-events",
+        ChatServiceImpl.ChatNotificationEvent.builder()
+            .type("CHAT_MESSAGE")
+            .senderId(saved.getUserSignId())
+            .senderName(saved.getName())
+            .roomId(saved.getRoomId())
+            .messageContent(saved.getContent())
+            .createdAt(saved.getCreatedAt())
+            .build());
+  }
+
+  /**
+   * 호출 한 번마다 Stats 에 기록하는 Mongo/WebSocket/Kafka 대역
+   */
+  private record Backends(ChatRoomRepository rooms, ChatMessageRepository messages,
+      RoomMemberRepository members, KafkaProducerService kafkaProducer,
+      SimpMessageSendingOperations messagingTemplate, MongoTemplate mongoTemplate) {
+
+  }
+
+  private static Backends backends(Stats stats) {
+    Answer<Object> roundTrip = invocation -> {
+      stats.roundTrip();
+      Thread.sleep(MONGO_RTT_MILLIS);
+      return switch (invocation.getMethod().getName()) {
+        case "save", "insert" -> invocation.getArgument(0);
+        default -> null;
+      };
+    };
+
+    // bulk 는 쌓는 동안은 그대로, execute 할 때 왕복 한 번. 메시지 bulk insert 한 번이 배치 하나
+    BulkOperations bulk = mock(BulkOperations.class, withSettings().stubOnly()
+        .defaultAnswer(invocation -> {
+          String method = invocation.getMethod().getName();
+          if (method.equals("execute")) {
+            return roundTrip.answer(invocation);
+          }
+          if (method.equals("insert") && invocation.getArgument(0) instanceof List) {
+            stats.batches.incrementAndGet();
+          }
+          return invocation.getMock();
+        }));
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly()
+        .defaultAnswer(invocation -> invocation.getMethod().getName().equals("bulkOps")
+            ? bulk : roundTrip.answer(invocation)));
+    SimpMessageSendingOperations messagingTemplate = mock(SimpMessageSendingOperations.class,
+        withSettings().stubOnly().defaultAnswer(invocation -> {
+          if (invocation.getMethod().getName().equals("convertAndSend")
+              && invocation.getArguments().length == 2
+              && invocation.getArgument(1) instanceof ChatMessage message) {
+            stats.deliver(message);
+          }
+          return null;
+        }));
+
+    return new Backends(
+        mock(ChatRoomRepository.class, withSettings().stubOnly().defaultAnswer(roundTrip)),
+        mock(ChatMessageRepository.class, withSettings().stubOnly().defaultAnswer(roundTrip)),
+        mock(RoomMemberRepository.class, withSettings().stubOnly().defaultAnswer(roundTrip)),
+        mock(KafkaProducerService.class, withSettings().stubOnly()),
+        messagingTemplate,
+        mongoTemplate);
+  }
+
+  private static ChatService chatService(Stats stats) {
+    Backends backends = backends(stats);
+    return new ChatServiceImpl(backends.rooms(), backends.messages(), backends.members(),
+        backends.kafkaProducer(), backends.messagingTemplate(), backends.mongoTemplate());
+  }
+
+  // KafkaConsumerService 가 주입받는 ChatService (Mongo 대역 위의 실제 ChatServiceImpl)
+  @TestConfiguration
+  static class BenchmarkServices {
+
+    @Bean
+    Stats batchStats() {
+      return new Stats();
+    }
+
+    @Bean
+    ChatService chatService(Stats batchStats) {
+      return ChatConsumerThroughputBenchmark.chatService(batchStats);
+    }
+  }
+}
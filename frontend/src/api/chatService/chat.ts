@@ -1,7 +1,7 @@
 // src/api/chatService/chat.ts
 
 import { CHATSERVICE_API } from "@/config/env";
-import type { ChatRoom, ChatMessage } from "@/types/chatService/chat";
+import type { ChatRoom, ChatMessage, RoomReadState } from "@/types/chatService/chat";
 
 // 공통 인증 헤더 + userSignId 헤더 포함
 const getHeaders = (userSignId?: string) => {
@@ -64,19 +64,25 @@ export async function getChatRooms(userSignId: string): Promise<ChatRoom[]> {
 }
 
 /**
- * 채팅 히스토리 조회
+ * 채팅 히스토리 조회 (최신순)
+ * before 메시지보다 이전 메시지를 limit 개 가져온다. before 가 없으면 최신 메시지부터.
  */
 export async function getChatHistory(
     roomId: string,
-    page = 0,
-    size = 50
+    before?: ChatMessage,
+    limit = 50
 ): Promise<ChatMessage[]> {
   const token = localStorage.getItem("accessToken");
   const headers: Record<string, string> = { "Content-Type": "application/json" };
   if (token) headers["Authorization"] = `Bearer ${token}`;
 
+  const params = new URLSearchParams({ limit: String(limit) });
+  if (before) {
+    params.set("before", `${before.createdAt},${before.chatId}`);
+  }
+
   const response = await fetch(
-      `${CHATSERVICE_API}/rooms/${roomId}/messages?page=${page}&size=${size}`,
+      `${CHATSERVICE_API}/rooms/${roomId}/messages?${params}`,
       { headers }
   );
 
@@ -105,6 +111,24 @@ export async function markMessagesAsRead(
   }
 }
 
+/**
+ * 참여자별 마지막으로 읽은 메시지 조회
+ */
+export async function getReadStates(
+    roomId: string,
+    userSignId: string
+): Promise<RoomReadState[]> {
+  const response = await fetch(`${CHATSERVICE_API}/rooms/${roomId}/read-states`, {
+    headers: getHeaders(userSignId),
+  });
+
+  if (!response.ok) {
+    throw new Error("읽음 상태 조회 실패");
+  }
+
+  return response.json();
+}
+
 export async function leaveChatRoom(
     roomId: string,
     userSignId: string
@@ -43,7 +43,8 @@ export default function PostCard({ post }: PostCardProps) {
     .trim();
   };
 
-  const plainText = stripHtml(post.content);
+  // 목록 API 는 서버에서 만든 요약(excerpt)을 내려주고, 없을 때만 본문에서 직접 추출
+  const plainText = post.excerpt ?? (post.content ? stripHtml(post.content) : '');
   const previewText = plainText.length > 120 ? plainText.substring(0, 120) + "..." : plainText;
 
   const dateStr = new Date(post.createdAt).toLocaleDateString('ko-KR', {
@@ -2,8 +2,8 @@
 
 import React, { useState, useEffect, useRef, useCallback } from 'react';
 import { useWebSocket } from '@/hooks/useWebSocket';
-import { getChatHistory, markMessagesAsRead, leaveChatRoom } from '@/api/chatService/chat'; // leaveChatRoom import
-import type { ChatMessage, ChatMessageDto } from '@/types/chatService/chat';
+import { getChatHistory, markMessagesAsRead, leaveChatRoom, getReadStates } from '@/api/chatService/chat'; // leaveChatRoom import
+import type { ChatMessage, ChatMessageDto, ReadReceiptEvent, RoomReadState } from '@/types/chatService/chat';
 import { Send, ArrowLeft, MoreVertical, LogOut } from 'lucide-react'; // MoreVertical, LogOut import
 import styles from '@/styles/chatService/ChatRoom.module.css';
 
@@ -26,7 +26,8 @@ export default function ChatRoom({
   const [inputMessage, setInputMessage] = useState('');
   const [isLoading, setIsLoading] = useState(true);
   const [hasMore, setHasMore] = useState(true);
-  const [page, setPage] = useState(0);
+  // ⭐ 참여자별 마지막으로 읽은 메시지 (userId → 워터마크)
+  const [readStates, setReadStates] = useState<Record<string, RoomReadState>>({});
   const [isMenuOpen, setIsMenuOpen] = useState(false); // ⭐ 추가: 메뉴 상태
   const [isComposing, setIsComposing] = useState(false); // 👈 한글 조합 중인지 추적
   const menuRef = useRef<HTMLDivElement>(null); // ⭐ 추가: 메뉴 참조
@@ -61,7 +62,22 @@ export default function ChatRoom({
   }, [menuRef]);
 
   const handleNewMessage = useCallback(
-      (newMessage: ChatMessage) => {
+      (event: ChatMessage | ReadReceiptEvent) => {
+        // ⭐ 읽음 이벤트: 해당 참여자의 워터마크만 갱신
+        if (event.type === 'READ') {
+          const receipt = event as ReadReceiptEvent;
+          setReadStates(prev => ({
+            ...prev,
+            [receipt.userSignId]: {
+              userId: receipt.userSignId,
+              lastReadChatId: receipt.lastReadChatId,
+              lastReadAt: receipt.lastReadAt,
+            },
+          }));
+          return;
+        }
+
+        const newMessage = event as ChatMessage;
         console.log('📨 새 메시지 수신:', newMessage);
 
         // ⭐ 중복 방지: 같은 메시지가 이미 있는지 확인
@@ -88,22 +104,8 @@ export default function ChatRoom({
         setTimeout(scrollToBottom, 100);
 
         if (newMessage.userSignId !== currentUserId) {
-          // ⭐ 읽음 처리 후 로컬 상태 갱신 로직
           markMessagesAsRead(roomId, currentUserId)
-          .then(() => {
-            console.log('✅ 새 메시지 수신 후 읽음 처리 완료');
-            setMessages(prevMessages =>
-                prevMessages.map(msg => {
-                  if (msg.userSignId !== currentUserId && !msg.readBy?.includes(currentUserId)) {
-                    return {
-                      ...msg,
-                      readBy: [...(msg.readBy || []), currentUserId],
-                    };
-                  }
-                  return msg;
-                })
-            );
-          })
+          .then(() => console.log('✅ 새 메시지 수신 후 읽음 처리 완료'))
           .catch(console.error);
         }
       },
@@ -121,13 +123,14 @@ export default function ChatRoom({
     console.log('🔌 WebSocket 연결:', isConnected);
   }, [isConnected]);
 
-  const loadChatHistory = useCallback(async (pageNum: number = 0) => {
-    if (!hasMore && pageNum > 0) return;
+  // before: 현재 가장 오래된 메시지 (없으면 첫 로드)
+  const loadChatHistory = useCallback(async (before?: ChatMessage) => {
+    if (!hasMore && before) return;
 
     setIsLoading(true);
     try {
-      console.log('📚 히스토리 로드:', roomId, 'page:', pageNum);
-      const history = await getChatHistory(roomId, pageNum, 30);
+      console.log('📚 히스토리 로드:', roomId, 'before:', before?.chatId);
+      const history = await getChatHistory(roomId, before, 30);
       console.log('✅ 메시지', history.length, '개');
 
       if (history.length === 0) {
@@ -135,7 +138,7 @@ export default function ChatRoom({
         return;
       }
 
-      if (pageNum === 0) {
+      if (!before) {
         // 첫 로드
         setMessages(Array.isArray(history) ? history.reverse() : []);
       } else {
@@ -148,39 +151,28 @@ export default function ChatRoom({
       }
     } catch (err) {
       console.error('❌ 로드 실패:', err);
-      if (pageNum === 0) {
+      if (!before) {
         setMessages([]);
       }
     } finally {
       setIsLoading(false);
-      if (pageNum === 0) {
+      if (!before) {
         setTimeout(scrollToBottom, 100);
       }
     }
   }, [roomId, hasMore, scrollToBottom]);
 
   useEffect(() => {
-    loadChatHistory(0);
+    loadChatHistory();
 
-    // 채팅방 진입 시 읽음 처리
+    // 채팅방 진입 시 읽음 처리 후 참여자별 읽음 상태 로드
     const markAsRead = async () => {
       try {
         await markMessagesAsRead(roomId, currentUserId);
         console.log('✅ 채팅방 진입 시 읽음 처리 완료');
 
-        // ⭐ 읽음 처리 후 로컬 상태 갱신
-        setMessages(prevMessages =>
-            prevMessages.map(msg => {
-              if (msg.userSignId !== currentUserId && !msg.readBy?.includes(currentUserId)) {
-                return {
-                  ...msg,
-                  readBy: [...(msg.readBy || []), currentUserId],
-                };
-              }
-              return msg;
-            })
-        );
-
+        const states = await getReadStates(roomId, currentUserId);
+        setReadStates(Object.fromEntries(states.map(state => [state.userId, state])));
       } catch (error) {
         console.error('❌ 읽음 처리 실패:', error);
       }
@@ -189,32 +181,28 @@ export default function ChatRoom({
     markAsRead();
   }, [roomId, currentUserId]);
 
-  // 무한 스크롤: 스크롤이 맨 위에 도달하면 다음 페이지 로드
+  // 무한 스크롤: 스크롤이 맨 위에 도달하면 가장 오래된 메시지 이전을 로드
   useEffect(() => {
     const container = messagesContainerRef.current;
     if (!container) return;
 
     const handleScroll = () => {
-      if (container.scrollTop === 0 && hasMore && !isLoading) {
+      if (container.scrollTop === 0 && hasMore && !isLoading && messages.length > 0) {
         const currentScrollHeight = container.scrollHeight;
 
-        setPage(prev => {
-          const nextPage = prev + 1;
-          loadChatHistory(nextPage).then(() => {
-            // 스크롤 위치 유지
-            requestAnimationFrame(() => {
-              const newScrollHeight = container.scrollHeight;
-              container.scrollTop = newScrollHeight - currentScrollHeight;
-            });
+        loadChatHistory(messages[0]).then(() => {
+          // 스크롤 위치 유지
+          requestAnimationFrame(() => {
+            const newScrollHeight = container.scrollHeight;
+            container.scrollTop = newScrollHeight - currentScrollHeight;
           });
-          return nextPage;
         });
       }
     };
 
     container.addEventListener('scroll', handleScroll);
     return () => container.removeEventListener('scroll', handleScroll);
-  }, [hasMore, isLoading, loadChatHistory]);
+  }, [hasMore, isLoading, messages, loadChatHistory]);
 
   const handleSendMessage = useCallback(() => {
     const trimmed = inputMessage.trim();
@@ -310,14 +298,22 @@ export default function ChatRoom({
     return false;
   };
 
+  // 워터마크가 메시지보다 앞이면 아직 안 읽은 것 (같은 시각이면 chatId 순서로 비교 - 서버 정렬과 동일)
+  const hasRead = (state: RoomReadState, msg: ChatMessage) => {
+    if (!state.lastReadAt || !state.lastReadChatId) return false;
+    const readTime = new Date(state.lastReadAt).getTime();
+    const msgTime = new Date(msg.createdAt).getTime();
+    if (readTime !== msgTime) return readTime > msgTime;
+    return state.lastReadChatId >= msg.chatId;
+  };
+
   const getUnreadCountForMine = (msg: ChatMessage) => {
-    // 내 메시지이고, readBy 배열의 길이가 1(자기 자신) 이하라면 아무도 읽지 않은 것임
-    if (msg.userSignId === currentUserId) {
-      if (!msg.readBy || msg.readBy.length <= 1) {
-        return '1';
-      }
-    }
-    return '';
+    // 내 메시지를 아직 읽지 않은 다른 참여자 수
+    if (msg.userSignId !== currentUserId) return '';
+    const unread = Object.values(readStates)
+        .filter(state => state.userId !== currentUserId && !hasRead(state, msg))
+        .length;
+    return unread > 0 ? String(unread) : '';
   }
 
   return (
@@ -9,7 +9,8 @@ export interface PostEntity {
   postId: number;
   authorId: string;
   title: string;
-  content: string;
+  content: string; // 목록 응답에서는 비어 있음
+  excerpt?: string; // 목록 응답에는 content 대신 요약만 내려옴
   thumbnail?: string;
   isPublished: boolean;
   viewCount: number;
@@ -9,10 +9,26 @@ export interface ChatMessage {
   content: string;
   imageUrl?: string;
   createdAt: string;
-  readBy: string[];  // ⭐ 읽은 사용자 목록
   deleted: boolean;
 }
 
+// ⭐ 참여자별 마지막으로 읽은 메시지 (워터마크)
+export interface RoomReadState {
+  userId: string;
+  lastReadChatId?: string;
+  lastReadAt?: string;
+}
+
+// 읽음 처리 시 /topic/chat.room.{roomId} 로 오는 이벤트
+export interface ReadReceiptEvent {
+  type: "READ";
+  roomId: string;
+  userSignId: string;
+  readAt: string;
+  lastReadChatId: string;
+  lastReadAt: string;
+}
+
 export interface ChatRoom {
   roomId: string;
   roomName: string;